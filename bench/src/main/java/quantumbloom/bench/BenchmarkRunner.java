@@ -0,0 +1,54 @@
+package quantumbloom.bench;
+
+import java.io.File;
+import java.io.IOException;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the JMH suite with JMH's usual command-line options, writing results
+ * as JSON to {@code results/quantumbloom-<version>.json} unless {@code -rf}
+ * or {@code -rff} say otherwise, so runs of different releases can be compared.
+ * Forks load the Vector API module so the SIMD kernels are measured, unless
+ * {@code -jvmArgsAppend} is given.
+ *
+ * <pre>
+ * java -jar bench/target/benchmarks.jar               # everything
+ * java -jar bench/target/benchmarks.jar Heatmap -f 2  # one class, two forks
+ * </pre>
+ */
+public final class BenchmarkRunner {
+
+    private BenchmarkRunner() { }
+
+    public static void main(String[] args) throws RunnerException, CommandLineOptionException, IOException {
+        CommandLineOptions command = new CommandLineOptions(args);
+        if (command.shouldHelp() || command.shouldList() || command.shouldListWithParams()
+                || command.shouldListProfilers() || command.shouldListResultFormats()) {
+            org.openjdk.jmh.Main.main(args);
+            return;
+        }
+        OptionsBuilder builder = new OptionsBuilder();
+        builder.parent(command);
+        if (!command.getResultFormat().hasValue()) {
+            builder.resultFormat(ResultFormatType.JSON);
+        }
+        if (!command.getResult().hasValue()) {
+            String version = BenchmarkRunner.class.getPackage().getImplementationVersion();
+            File results = new File("results", "quantumbloom-" + (version == null ? "dev" : version) + ".json");
+            results.getParentFile().mkdirs();
+            builder.result(results.getPath());
+        }
+        if (!command.getJvmArgsAppend().hasValue()) {
+            builder.jvmArgsAppend("--add-modules", "jdk.incubator.vector");
+        }
+        Options options = builder.build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,49 @@
+package quantumbloom.bench;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import quantumbloom.core.Spectrum;
+import quantumbloom.core.TridiagonalEigensolver;
+
+/**
+ * Lowest 12 levels of the double well V = ((x/5)² - 1)² on [-10, 10], from
+ * grids of 10⁴ to 10⁶ points.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 3, time = 2)
+@Fork(1)
+public class EigensolverBenchmark {
+
+    @Param({"10000", "100000", "1000000"})
+    int points;
+
+    private double[] potential;
+
+    @Setup
+    public void setUp() {
+        potential = TridiagonalEigensolver.grid(-10, 10, points);
+        for (int i = 0; i < points; i++) {
+            double u = potential[i] / 5;
+            potential[i] = (u * u - 1) * (u * u - 1);
+        }
+    }
+
+    @Benchmark
+    public Spectrum solve() {
+        return TridiagonalEigensolver.solve(potential, -10, 10, 12);
+    }
+}
@@ -0,0 +1,75 @@
+package quantumbloom.bench;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import quantumbloom.core.EigenstateCache;
+import quantumbloom.core.QuantumSystem;
+
+/**
+ * ψ(x, t) for every system: at a single point, as the marker readout asks for
+ * it, and over a full grid, both directly and through the eigenstate cache.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EvaluationBenchmark {
+
+    private static final double L = 10.0;
+    private static final double TIME = 1.25;
+
+    @Param({"ParticleInABox", "HarmonicOscillator", "Superposition", "WavePacket"})
+    String system;
+
+    @Param({"201", "1024", "4096"})
+    int size;
+
+    private QuantumSystem s;
+    private final EigenstateCache basis = new EigenstateCache(64L << 20);
+    private final double[] point = {1.5}, pointRe = new double[1], pointIm = new double[1];
+    private double[] xs, re, im;
+
+    @Setup
+    public void setUp() {
+        s = Systems.create(system, 3, L);
+        xs = EigenstateCache.grid(size, L);
+        re = new double[size];
+        im = new double[size];
+        // A wave packet propagates to TIME once here; afterwards evaluation only samples it
+        s.evaluate(point, TIME, pointRe, pointIm);
+    }
+
+    @Benchmark
+    public double singlePoint() {
+        s.evaluate(point, TIME, pointRe, pointIm);
+        return Math.hypot(pointRe[0], pointIm[0]);
+    }
+
+    @Benchmark
+    public void fullGrid(Blackhole bh) {
+        s.evaluate(xs, TIME, re, im);
+        bh.consume(re);
+        bh.consume(im);
+    }
+
+    @Benchmark
+    public void cachedGrid(Blackhole bh) {
+        basis.evolve(s, L, size, TIME, re, im);
+        bh.consume(re);
+        bh.consume(im);
+    }
+}
@@ -0,0 +1,64 @@
+package quantumbloom.bench;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import quantumbloom.core.EigenstateCache;
+import quantumbloom.core.ExpectationEngine;
+import quantumbloom.core.GridEvaluator;
+import quantumbloom.core.QuantumSystem;
+
+/**
+ * A full ⟨x⟩(t) curve: the ⟨m|x|n⟩ integrals plus the time samples. L alternates
+ * between two values so every call recomputes while the eigenstate tables stay cached.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ExpectationBenchmark {
+
+    @Param({"201", "1001", "4001"})
+    int size;
+
+    @Param({"1", "4"})
+    int parallelism;
+
+    private QuantumSystem s;
+    private GridEvaluator grid;
+    private ExpectationEngine engine;
+    private boolean flip;
+
+    @Setup
+    public void setUp() {
+        s = Systems.create("Superposition", 1, 10.0);
+        grid = new GridEvaluator(parallelism);
+        engine = new ExpectationEngine(new EigenstateCache(64L << 20), grid);
+    }
+
+    @TearDown
+    public void tearDown() {
+        grid.shutdown();
+    }
+
+    @Benchmark
+    public double[] positionCurve() {
+        flip = !flip;
+        double L = flip ? 10.0 : 10.5;
+        s.configure(1, L, Systems.WEIGHTS);
+        return engine.positionCurve(s, L, size, 0, 0.1, 201);
+    }
+}
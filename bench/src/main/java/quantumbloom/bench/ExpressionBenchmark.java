@@ -0,0 +1,60 @@
+package quantumbloom.bench;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import quantumbloom.core.Expression;
+import quantumbloom.core.TridiagonalEigensolver;
+
+/**
+ * A user potential over 10⁶ points: the compiled {@link Expression} against
+ * the same formula written as a Java loop.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ExpressionBenchmark {
+
+    @Param({"V0*exp(-(x-a)^2/w^2) + 0.5*x^2", "V0*((x/a)^2 - 1)^2"})
+    String formula;
+
+    private Expression expression;
+    private double[] x, out;
+    private final double[] values = {2.0, 1.0, 0.5};
+
+    @Setup
+    public void setUp() {
+        expression = Expression.compile(formula);
+        x = TridiagonalEigensolver.grid(-10, 10, 1_000_000);
+        out = new double[x.length];
+    }
+
+    @Benchmark
+    public double[] compiled() {
+        expression.evaluate(x, values, out);
+        return out;
+    }
+
+    @Benchmark
+    public double[] handWritten() {
+        double v0 = values[0], a = values[1], w = values[2];
+        for (int i = 0; i < x.length; i++) {
+            double d = x[i] - a;
+            out[i] = v0 * Math.exp(-d * d / (w * w)) + 0.5 * x[i] * x[i];
+        }
+        return out;
+    }
+}
@@ -0,0 +1,92 @@
+package quantumbloom.bench;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import quantumbloom.core.DensityHeatmap;
+import quantumbloom.core.DensityPyramid;
+import quantumbloom.core.EigenstateCache;
+import quantumbloom.core.GridEvaluator;
+import quantumbloom.core.QuantumSystem;
+
+/**
+ * A full x–t density heatmap at several sizes. L alternates between two values
+ * so every call re-renders while the eigenstate tables stay cached.
+ *
+ * The pyramid benchmarks show a window 10^4 time units long: {@code pyramidPan}
+ * steps it along a cycle of 10^5 whose tiles stay cached, {@code pyramidCold}
+ * alternates L as well, so the visible tiles are evaluated on every call.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HeatmapBenchmark {
+
+    /** width x height in pixels; 200x100 is the Studio's canvas. */
+    @Param({"200x100", "400x200", "800x400"})
+    String size;
+
+    @Param({"1", "4"})
+    int parallelism;
+
+    private QuantumSystem s;
+    private GridEvaluator grid;
+    private DensityHeatmap heatmap;
+    private DensityPyramid pyramid;
+    private double panFrom;
+    private int width, height;
+    private boolean flip;
+
+    @Setup
+    public void setUp() {
+        String[] parts = size.split("x");
+        width = Integer.parseInt(parts[0]);
+        height = Integer.parseInt(parts[1]);
+        s = Systems.create("Superposition", 1, 10.0);
+        grid = new GridEvaluator(parallelism);
+        heatmap = new DensityHeatmap(new EigenstateCache(64L << 20), grid);
+        pyramid = new DensityPyramid(new EigenstateCache(64L << 20), grid, 32L << 20);
+    }
+
+    @TearDown
+    public void tearDown() {
+        grid.shutdown();
+    }
+
+    @Benchmark
+    public int[] render() {
+        flip = !flip;
+        double L = flip ? 10.0 : 10.5;
+        s.configure(1, L, Systems.WEIGHTS);
+        return heatmap.render(s, L, width, height, 25.0);
+    }
+
+    @Benchmark
+    public int[] pyramidPan() {
+        s.configure(1, 10.0, Systems.WEIGHTS);
+        panFrom = (panFrom + 1e3) % 1e5;
+        return pyramid.render(s, 10.0, width, height, panFrom, panFrom + 1e4);
+    }
+
+    @Benchmark
+    public int[] pyramidCold() {
+        flip = !flip;
+        double L = flip ? 10.0 : 10.5;
+        s.configure(1, L, Systems.WEIGHTS);
+        return pyramid.render(s, L, width, height, 5e4, 6e4);
+    }
+}
@@ -0,0 +1,70 @@
+package quantumbloom.bench;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import quantumbloom.core.EigenstateCache;
+import quantumbloom.core.HarmonicOscillator;
+import quantumbloom.core.HermiteFunctions;
+
+/**
+ * H_n(x) and the normalised ψ_n(x) over the plotted grid of the oscillator,
+ * point by point and as a whole ψ_0..ψ_n table. The raw polynomial overflows
+ * for the larger n; it is kept as the baseline.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HermiteBenchmark {
+
+    @Param({"1", "10", "50", "500", "3000"})
+    int n;
+
+    private double[] xs;
+    private HermiteFunctions hermite;
+    private double[][] table;
+
+    @Setup
+    public void setUp() {
+        xs = EigenstateCache.grid(201, 10.0);
+        hermite = new HermiteFunctions(n);
+        table = new double[n + 1][xs.length];
+    }
+
+    @Benchmark
+    public double grid() {
+        double sum = 0;
+        for (double x : xs) {
+            sum += HarmonicOscillator.hermitePolynomial(n, x);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public double normalized() {
+        double sum = 0;
+        for (double x : xs) {
+            sum += hermite.value(n, x);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public double[][] allLevels() {
+        hermite.table(xs, 0, table);
+        return table;
+    }
+}
@@ -0,0 +1,93 @@
+package quantumbloom.bench;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import quantumbloom.core.GridKernels;
+import quantumbloom.core.Kernels;
+
+/**
+ * Scalar against SIMD {@link GridKernels} on grids from the plot size up to
+ * the propagator size. The vector cases are skipped when the fork runs
+ * without the Vector API module.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class KernelBenchmark {
+
+    private static final int STATES = 32;
+
+    @Param({"scalar", "vector"})
+    String kernels;
+
+    @Param({"201", "4096", "65536"})
+    int size;
+
+    private GridKernels k;
+    private double[] re, im, cos, sin, out, matrix, phases;
+
+    @Setup
+    public void setUp() {
+        k = kernels.equals("vector") ? Kernels.vector() : Kernels.scalar();
+        if (k == null) {
+            throw new IllegalStateException("Vector API not available; run with --add-modules jdk.incubator.vector");
+        }
+        re = new double[size];
+        im = new double[size];
+        cos = new double[size];
+        sin = new double[size];
+        out = new double[size];
+        for (int i = 0; i < size; i++) {
+            re[i] = Math.sin(0.01 * i);
+            im[i] = Math.cos(0.02 * i);
+            cos[i] = Math.cos(1e-3 * i);
+            sin[i] = Math.sin(1e-3 * i);
+        }
+        matrix = new double[STATES * size];
+        for (int j = 0; j < matrix.length; j++) {
+            matrix[j] = Math.sin(1e-3 * j);
+        }
+        phases = new double[2 * STATES];
+        for (int j = 0; j < phases.length; j++) {
+            phases[j] = Math.cos(j);
+        }
+    }
+
+    @Benchmark
+    public void rotate(Blackhole bh) {
+        k.rotate(re, im, cos, sin, size);
+        bh.consume(re);
+    }
+
+    @Benchmark
+    public void density(Blackhole bh) {
+        k.density(re, im, out, size);
+        bh.consume(out);
+    }
+
+    @Benchmark
+    public void superpose(Blackhole bh) {
+        k.superpose(matrix, STATES, size, phases, re, im);
+        bh.consume(re);
+    }
+
+    @Benchmark
+    public double trapezoid() {
+        return k.trapezoid(re, im, cos, size, 1e-3);
+    }
+}
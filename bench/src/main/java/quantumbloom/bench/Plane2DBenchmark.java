@@ -0,0 +1,70 @@
+package quantumbloom.bench;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import quantumbloom.core.DensityImage2D;
+import quantumbloom.core.EigenstateCache;
+import quantumbloom.core.GridEvaluator;
+import quantumbloom.core.ProductState2D;
+import quantumbloom.core.QuantumSystem;
+
+/**
+ * One frame of a 2D density image: the degenerate pair of a box level (two
+ * product terms) and a coherent state (one product of two 1D expansions).
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class Plane2DBenchmark {
+
+    @Param({"ParticleInABox", "CoherentState"})
+    String system;
+
+    @Param({"256", "1024"})
+    int size;
+
+    @Param({"1", "4"})
+    int parallelism;
+
+    private GridEvaluator grid;
+    private DensityImage2D image;
+    private ProductState2D state;
+    private int[] pixels;
+    private double t;
+
+    @Setup
+    public void setUp() {
+        QuantumSystem s = Systems.create(system, 8, 10.0);
+        grid = new GridEvaluator(parallelism);
+        image = new DensityImage2D(new EigenstateCache(64L << 20), grid);
+        state = image.state(s, 10.0, Systems.WEIGHTS, size);
+        pixels = new int[size * size];
+    }
+
+    @TearDown
+    public void tearDown() {
+        grid.shutdown();
+    }
+
+    @Benchmark
+    public int[] render() {
+        t += 0.05;
+        image.render(state, t, pixels);
+        return pixels;
+    }
+}
@@ -0,0 +1,82 @@
+package quantumbloom.bench;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import quantumbloom.core.EigenstateCache;
+import quantumbloom.core.HarmonicOscillator;
+import quantumbloom.core.QuantumSystem;
+import quantumbloom.core.StateMatrix;
+import quantumbloom.core.Superposition;
+
+/**
+ * One frame of an N-state oscillator superposition with complex coefficients:
+ * through the cached {@link StateMatrix}, and recomputing the eigenstates.
+ * The matrix path should scale linearly in N.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SuperpositionBenchmark {
+
+    private static final double L = 10.0;
+
+    @Param({"2", "16", "128", "512"})
+    int states;
+
+    @Param({"201", "1024"})
+    int size;
+
+    private QuantumSystem s;
+    private StateMatrix matrix;
+    private double[] xs, re, im, phases;
+    private double time;
+
+    @Setup
+    public void setUp() {
+        int[] levels = new int[states];
+        double[] cRe = new double[states], cIm = new double[states];
+        for (int k = 0; k < states; k++) {
+            levels[k] = k;
+            cRe[k] = Math.cos(0.7 * k);
+            cIm[k] = Math.sin(0.7 * k);
+        }
+        s = new Superposition(new HarmonicOscillator(), levels, cRe, cIm);
+        s.configure(0, L, Systems.WEIGHTS);
+        matrix = new EigenstateCache(256L << 20).stateMatrix(s, L, size);
+        xs = EigenstateCache.grid(size, L);
+        re = new double[size];
+        im = new double[size];
+        phases = new double[2 * states];
+    }
+
+    @Benchmark
+    public void stateMatrix(Blackhole bh) {
+        time += 0.01;
+        matrix.evaluate(time, re, im, phases);
+        bh.consume(re);
+        bh.consume(im);
+    }
+
+    @Benchmark
+    public void recomputed(Blackhole bh) {
+        time += 0.01;
+        s.evaluate(xs, time, re, im);
+        bh.consume(re);
+        bh.consume(im);
+    }
+}
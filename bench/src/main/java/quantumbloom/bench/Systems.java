@@ -0,0 +1,23 @@
+package quantumbloom.bench;
+
+import quantumbloom.core.QuantumSystem;
+
+/** Creates configured systems from the class names used as JMH parameters. */
+final class Systems {
+
+    static final double[] WEIGHTS = {1.0 / Math.sqrt(2), 1.0 / Math.sqrt(2)};
+
+    private Systems() { }
+
+    /** A new {@code quantumbloom.core.<simpleName>}, configured for n and L. */
+    static QuantumSystem create(String simpleName, int n, double L) {
+        try {
+            QuantumSystem s = (QuantumSystem) Class.forName("quantumbloom.core." + simpleName)
+                    .getDeclaredConstructor().newInstance();
+            s.configure(n, L, WEIGHTS);
+            return s;
+        } catch (ReflectiveOperationException ex) {
+            throw new IllegalArgumentException("No quantum system " + simpleName, ex);
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package quantumbloom.core;
+
+/**
+ * Gaussian wave packet in the infinite square well on [-L, L], expanded in box
+ * eigenstates instead of being propagated numerically.
+ *
+ * The packet starts at x₀ = -L/2 with width σ = L/10 and mean momentum
+ * p₀ = nπℏ/(2L), set by the quantum number slider. It bounces between the walls,
+ * spreads into a seemingly random pattern, and re-forms at the revival time
+ * T = 16mL²/(πℏ), when every phase e^{-iE_l t/ℏ} has come back to 1.
+ */
+public final class BoxWavePacket implements QuantumSystem {
+
+    /** Highest momentum index offered. */
+    public static final int MAX_MOMENTUM = 40;
+    /** Levels above n + this many carry less than 1e-12 of the norm. */
+    private static final int EXTRA_LEVELS = 40;
+    private static final int MAX_LEVELS = 200;
+    /** Points of the projection grid. */
+    private static final int PROJECTION_SIZE = 4096;
+
+    private final Expansion expansion = new Expansion(new ParticleInABox());
+    private int n = -1;
+    private double L = Double.NaN;
+
+    @Override
+    public String getName() {
+        return "Wave Packet (box states)";
+    }
+
+    @Override
+    public boolean usesQuantumNumber() {
+        return true;
+    }
+
+    @Override
+    public int getMaxQuantumNumber() {
+        return MAX_MOMENTUM;
+    }
+
+    @Override
+    public boolean usesWeights() {
+        return false;
+    }
+
+    @Override
+    public void configure(int n, double L, double[] weights) {
+        if (n != this.n || L != this.L) {
+            this.n = n;
+            this.L = L;
+            expand();
+        }
+        expansion.configure(L, weights);
+    }
+
+    /** c_l = ∫ φ_l(x) ψ₀(x) dx by the trapezoid rule; ψ₀ vanishes at both walls. */
+    private void expand() {
+        int count = Math.min(MAX_LEVELS, n + EXTRA_LEVELS);
+        double x0 = -L / 2, sigma = L / 10, p0 = n * Math.PI * HBAR / (2 * L);
+        double[] x = EigenstateCache.grid(PROJECTION_SIZE, L);
+        double dx = x[1] - x[0];
+        double amplitude = Math.pow(2 * Math.PI * sigma * sigma, -0.25);
+        double[] packetRe = new double[x.length], packetIm = new double[x.length];
+        for (int i = 0; i < x.length; i++) {
+            double d = x[i] - x0;
+            double envelope = amplitude * Math.exp(-d * d / (4 * sigma * sigma));
+            packetRe[i] = envelope * Math.cos(p0 * x[i] / HBAR);
+            packetIm[i] = envelope * Math.sin(p0 * x[i] / HBAR);
+        }
+        int[] levels = new int[count];
+        double[] re = new double[count], im = new double[count];
+        double[][] phi = new double[count][x.length];
+        expansion.basis().eigenfunctions(1, L, x, phi);
+        for (int l = 0; l < count; l++) {
+            double sumRe = 0, sumIm = 0;
+            for (int i = 0; i < x.length; i++) {
+                sumRe += phi[l][i] * packetRe[i];
+                sumIm += phi[l][i] * packetIm[i];
+            }
+            levels[l] = l + 1;
+            re[l] = sumRe * dx;
+            im[l] = sumIm * dx;
+        }
+        expansion.set(levels, re, im);
+    }
+
+    @Override
+    public double getEnergy(int level) {
+        return expansion.basis().getEnergy(level);
+    }
+
+    @Override
+    public boolean isLevelOccupied(int level) {
+        return expansion.contains(level);
+    }
+
+    @Override
+    public int[] getLevels() {
+        return expansion.levels();
+    }
+
+    @Override
+    public double[] getCoefficients() {
+        return expansion.coefficientsRe();
+    }
+
+    @Override
+    public double[] getCoefficientsImag() {
+        return expansion.coefficientsIm();
+    }
+
+    @Override
+    public void eigenfunction(int level, double L, double[] x, double[] out) {
+        expansion.basis().eigenfunction(level, L, x, out);
+    }
+
+    @Override
+    public void eigenfunctions(int first, double L, double[] x, double[][] out) {
+        expansion.basis().eigenfunctions(first, L, x, out);
+    }
+
+    @Override
+    public double potential(double x) {
+        return expansion.basis().potential(x);
+    }
+
+    @Override
+    public void evaluate(double[] x, double t, double[] re, double[] im) {
+        expansion.evaluate(x, t, re, im);
+    }
+
+    @Override
+    public String getKnowledge() {
+        return "🎱 Wave Packet in a Box 🎱\n" +
+                "Wavefunction: ψ = Σ c_l ψ_l e^(-iE_l t/ℏ) over " + getLevels().length + " box states\n" +
+                "Revival time: T = 16 m L²/(π ℏ) = " + String.format("%.1f", 16 * MASS * L * L / (Math.PI * HBAR)) + "\n" +
+                "The packet bounces off the walls and smears out, then reassembles exactly at the revival time, with fractional revivals in between. ⏳";
+    }
+}
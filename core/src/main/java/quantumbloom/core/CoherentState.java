@@ -0,0 +1,129 @@
+package quantumbloom.core;
+
+/**
+ * Glauber coherent state |α⟩ = e^{-|α|²/2} Σ_k αᵏ/√k! |k⟩ of the harmonic
+ * oscillator: a Gaussian that swings back and forth without spreading.
+ *
+ * The quantum number slider sets the mean level n = |α|² and the weight slider
+ * the phase of α. Levels more than 8√n + 8 away from n carry less than 1e-14 of
+ * the norm and are left out, so the expansion runs to a few hundred states.
+ */
+public final class CoherentState implements QuantumSystem {
+
+    /** Highest mean level offered. */
+    public static final int MAX_MEAN_LEVEL = 150;
+
+    private final Expansion expansion = new Expansion(new HarmonicOscillator());
+    private int n = -1;
+    private double phase = Double.NaN;
+
+    @Override
+    public String getName() {
+        return "Coherent State";
+    }
+
+    @Override
+    public boolean usesQuantumNumber() {
+        return true;
+    }
+
+    @Override
+    public int getMaxQuantumNumber() {
+        return MAX_MEAN_LEVEL;
+    }
+
+    @Override
+    public boolean usesWeights() {
+        return true;
+    }
+
+    @Override
+    public void configure(int n, double L, double[] weights) {
+        double phase = 2 * Math.PI * weights[0] * weights[0];
+        if (n != this.n || phase != this.phase) {
+            this.n = n;
+            this.phase = phase;
+            expand();
+        }
+        expansion.configure(L, weights);
+    }
+
+    /** c_k = exp(-n/2 + k ln|α| - ½ ln k!) e^{ikφ}, with ln k! summed up from k = 1. */
+    private void expand() {
+        int width = (int) Math.ceil(8 * Math.sqrt(n) + 8);
+        int first = Math.max(0, n - width), last = Math.min(HarmonicOscillator.MAX_LEVEL, n + width);
+        int[] levels = new int[last - first + 1];
+        double[] re = new double[levels.length], im = new double[levels.length];
+        double logAlpha = 0.5 * Math.log(n), logFactorial = 0;
+        for (int k = 1; k < first; k++) {
+            logFactorial += Math.log(k);
+        }
+        for (int k = first; k <= last; k++) {
+            if (k > 0) logFactorial += Math.log(k);
+            double power = k == 0 ? 0 : k * logAlpha;
+            double magnitude = Math.exp(-0.5 * n + power - 0.5 * logFactorial);
+            levels[k - first] = k;
+            re[k - first] = magnitude * Math.cos(k * phase);
+            im[k - first] = magnitude * Math.sin(k * phase);
+        }
+        expansion.set(levels, re, im);
+    }
+
+    @Override
+    public int getMaxLevel() {
+        return expansion.basis().getMaxLevel();
+    }
+
+    @Override
+    public double getEnergy(int level) {
+        return expansion.basis().getEnergy(level);
+    }
+
+    @Override
+    public boolean isLevelOccupied(int level) {
+        return expansion.contains(level);
+    }
+
+    @Override
+    public int[] getLevels() {
+        return expansion.levels();
+    }
+
+    @Override
+    public double[] getCoefficients() {
+        return expansion.coefficientsRe();
+    }
+
+    @Override
+    public double[] getCoefficientsImag() {
+        return expansion.coefficientsIm();
+    }
+
+    @Override
+    public void eigenfunction(int level, double L, double[] x, double[] out) {
+        expansion.basis().eigenfunction(level, L, x, out);
+    }
+
+    @Override
+    public void eigenfunctions(int first, double L, double[] x, double[][] out) {
+        expansion.basis().eigenfunctions(first, L, x, out);
+    }
+
+    @Override
+    public double potential(double x) {
+        return expansion.basis().potential(x);
+    }
+
+    @Override
+    public void evaluate(double[] x, double t, double[] re, double[] im) {
+        expansion.evaluate(x, t, re, im);
+    }
+
+    @Override
+    public String getKnowledge() {
+        return "🎯 Coherent State 🎯\n" +
+                "Wavefunction: |α⟩ = e^(-|α|²/2) Σ αⁿ/√n! |n⟩, with |α|² = " + n + "\n" +
+                "Energy: ⟨E⟩ = ℏ ω (|α|² + 1/2)\n" +
+                "The most classical state of the oscillator: a Gaussian that swings like a pendulum with amplitude √2 |α| and never spreads out. Move the weight slider to change where it starts! 🕰️";
+    }
+}
@@ -0,0 +1,75 @@
+package quantumbloom.core;
+
+/**
+ * Space-time probability density |ψ(x, t)|² rendered into a primitive ARGB
+ * buffer, one pixel per (x, t) cell: x ∈ [-L, L] across, t ∈ [0, tMax) down.
+ *
+ * The buffer only depends on the configured state, so it is kept until the
+ * system, L, size or time window change and repeated calls are free.
+ */
+public class DensityHeatmap {
+
+    private static final int BACKGROUND_R = 255, BACKGROUND_G = 245, BACKGROUND_B = 230;
+    private static final double BACKGROUND_ALPHA = 0.8;
+    private static final int INK_R = 255, INK_G = 128, INK_B = 191;
+
+    private final EigenstateCache basis;
+    private final GridEvaluator grid;
+    private final StateKey key = new StateKey();
+    private int width = -1, height = -1;
+    private double tMax = Double.NaN;
+    private int[] pixels = {};
+
+    public DensityHeatmap(EigenstateCache basis, GridEvaluator grid) {
+        this.basis = basis;
+        this.grid = grid;
+    }
+
+    /**
+     * Returns the {@code width × height} non-premultiplied ARGB pixels, row by row.
+     * A new array is returned whenever the inputs change and returned arrays are
+     * never written again, so they can be handed to another thread; callers must
+     * not modify them.
+     */
+    public int[] render(QuantumSystem s, double L, int width, int height, double tMax) {
+        if (key.matches(s, L) && this.width == width && this.height == height && this.tMax == tMax) {
+            return pixels;
+        }
+        key.set(s, L);
+        this.width = width;
+        this.height = height;
+        this.tMax = tMax;
+
+        StateMatrix state = basis.stateMatrix(s, L, width);
+        int[] out = new int[width * height];
+        // Rows are independent time slices, filled in parallel blocks
+        grid.forEachRow(height, (from, to) -> {
+            double[] re = new double[width];
+            double[] im = new double[width];
+            double[] prob = new double[width];
+            double[] phases = new double[2 * state.count()];
+            GridKernels kernels = Kernels.active();
+            for (int row = from; row < to; row++) {
+                state.evaluate(row * tMax / height, re, im, phases);
+                kernels.density(re, im, prob, width);
+                int offset = row * width;
+                for (int col = 0; col < width; col++) {
+                    out[offset + col] = shade(Math.min(prob[col] * 5, 1.0));
+                }
+            }
+        });
+        pixels = out;
+        return pixels;
+    }
+
+    /** The ink colour at opacity {@code a} composited over the translucent background. */
+    static int shade(double a) {
+        double outA = a + BACKGROUND_ALPHA * (1 - a);
+        double under = BACKGROUND_ALPHA * (1 - a);
+        int r = (int) Math.round((INK_R * a + BACKGROUND_R * under) / outA);
+        int g = (int) Math.round((INK_G * a + BACKGROUND_G * under) / outA);
+        int b = (int) Math.round((INK_B * a + BACKGROUND_B * under) / outA);
+        int alpha = (int) Math.round(outA * 255);
+        return (alpha << 24) | (r << 16) | (g << 8) | b;
+    }
+}
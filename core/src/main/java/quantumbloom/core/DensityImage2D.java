@@ -0,0 +1,147 @@
+package quantumbloom.core;
+
+import java.util.Arrays;
+
+/**
+ * |ψ(x, y, t)|² of a {@link ProductState2D} rendered into a primitive ARGB
+ * buffer, one pixel per grid point: x ∈ [-L, L] across, y from L at the top
+ * to -L at the bottom.
+ *
+ * Row j of ψ is Σ_k Y_k(y_j) X_k(x), one complex multiply-add of whole rows
+ * per term. The factors X_k are stacked as 2 · terms real rows (real and
+ * imaginary parts) and each image row is a single
+ * {@link GridKernels#superpose} call with Y_k(y_j) folded into the phases, so
+ * the SIMD kernels do the work. A single product needs no sum at all:
+ * |X Y|² = |X|² |Y|², an outer product of the two factor densities. Rows are
+ * filled in parallel bands, then shaded against the frame's peak density
+ * through a 256-entry colour table.
+ *
+ * The product state is rebuilt only when the system, L, weights or size
+ * change. Not thread-safe; the buffers are reused from frame to frame.
+ */
+public class DensityImage2D {
+
+    /** Largest grid along each axis. */
+    public static final int MAX_SIZE = 1024;
+
+    /** Image rows per parallel task; the task's scratch rows are allocated once per band. */
+    private static final int BAND = 16;
+    private static final int[] COLOURS = new int[256];
+
+    static {
+        for (int i = 0; i < COLOURS.length; i++) {
+            COLOURS[i] = DensityHeatmap.shade(i / 255.0);
+        }
+    }
+
+    private final EigenstateCache basis;
+    private final GridEvaluator grid;
+    private final StateKey key = new StateKey();
+    private double[] weights = {};
+    private ProductState2D state;
+
+    private double[][] xRe = {}, xIm = {}, yRe = {}, yIm = {};
+    private double[] factors = {}, phases = {}, bandPeaks = {}, xDensity = {};
+    private float[] density = {};
+
+    public DensityImage2D(EigenstateCache basis, GridEvaluator grid) {
+        this.basis = basis;
+        this.grid = grid;
+    }
+
+    /**
+     * The 2D counterpart of the configured state of {@code s} on a
+     * {@code size × size} grid, see {@link ProductState2D#of}; null without a
+     * stationary expansion.
+     */
+    public ProductState2D state(QuantumSystem s, double L, double[] weights, int size) {
+        if (size < 2 || size > MAX_SIZE) {
+            throw new IllegalArgumentException("Grid size must be in [2, " + MAX_SIZE + "], got " + size);
+        }
+        if (state != null && state.size() == size && key.matches(s, L) && Arrays.equals(this.weights, weights)) {
+            return state;
+        }
+        state = ProductState2D.of(s, L, weights, size, basis);
+        key.set(s, L);
+        this.weights = weights.clone();
+        return state;
+    }
+
+    /**
+     * Writes the {@code size²} non-premultiplied ARGB pixels of {@code state}
+     * at {@code t} into {@code out}, row by row.
+     */
+    public void render(ProductState2D state, double t, int[] out) {
+        int size = state.size(), terms = state.terms();
+        if (xRe.length != terms || xRe[0].length != size) {
+            xRe = new double[terms][size];
+            xIm = new double[terms][size];
+            yRe = new double[terms][size];
+            yIm = new double[terms][size];
+            factors = new double[2 * terms * size];
+            xDensity = new double[size];
+        }
+        if (phases.length < 2 * state.maxCount()) phases = new double[2 * state.maxCount()];
+        if (density.length < size * size) density = new float[size * size];
+        int bands = (size + BAND - 1) / BAND;
+        if (bandPeaks.length < bands) bandPeaks = new double[bands];
+
+        state.evaluate(t, xRe, xIm, yRe, yIm, phases);
+        for (int k = 0; k < terms; k++) {
+            System.arraycopy(xRe[k], 0, factors, 2 * k * size, size);
+            System.arraycopy(xIm[k], 0, factors, (2 * k + 1) * size, size);
+        }
+        Kernels.active().density(xRe[0], xIm[0], xDensity, size);
+
+        // Density rows and the peak of each band
+        grid.forEachRow(bands, (from, to) -> {
+            double[] re = new double[size], im = new double[size], prob = new double[size];
+            double[] rowPhases = new double[4 * terms];
+            GridKernels kernels = Kernels.active();
+            for (int band = from; band < to; band++) {
+                double peak = 0;
+                for (int row = band * BAND, end = Math.min(size, row + BAND); row < end; row++) {
+                    // Row 0 is the top of the image, y = L
+                    int j = size - 1 - row;
+                    int offset = row * size;
+                    if (terms == 1) {
+                        double y = yRe[0][j] * yRe[0][j] + yIm[0][j] * yIm[0][j];
+                        for (int i = 0; i < size; i++) {
+                            float p = (float) (xDensity[i] * y);
+                            density[offset + i] = p;
+                            if (p > peak) peak = p;
+                        }
+                        continue;
+                    }
+                    for (int k = 0; k < terms; k++) {
+                        // Y·(Xr + i Xi): the real row takes (Yr, Yi), the imaginary row (-Yi, Yr)
+                        double a = yRe[k][j], b = yIm[k][j];
+                        rowPhases[4 * k] = a;
+                        rowPhases[4 * k + 1] = b;
+                        rowPhases[4 * k + 2] = -b;
+                        rowPhases[4 * k + 3] = a;
+                    }
+                    kernels.superpose(factors, 2 * terms, size, rowPhases, re, im);
+                    kernels.density(re, im, prob, size);
+                    for (int i = 0; i < size; i++) {
+                        float p = (float) prob[i];
+                        density[offset + i] = p;
+                        if (p > peak) peak = p;
+                    }
+                }
+                bandPeaks[band] = peak;
+            }
+        });
+
+        double peak = 0;
+        for (int band = 0; band < bands; band++) {
+            peak = Math.max(peak, bandPeaks[band]);
+        }
+        float scale = peak > 0 ? (float) (255 / peak) : 0;
+        grid.forEachRow(bands, (from, to) -> {
+            for (int i = from * BAND * size, end = Math.min(size, to * BAND) * size; i < end; i++) {
+                out[i] = COLOURS[Math.min(255, (int) (density[i] * scale))];
+            }
+        });
+    }
+}
@@ -0,0 +1,235 @@
+package quantumbloom.core;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Space-time probability density |ψ(x, t)|² over an unbounded time axis, kept
+ * as a tiled mip-map pyramid so a heatmap can pan and zoom from a fraction of
+ * a period to millions of time units at the same cost per view.
+ *
+ * Level k holds one row of |ψ|² across the full width every
+ * {@link #BASE_STEP} · 2^k time units, grouped in tiles of {@link #TILE_ROWS}
+ * rows. A window is drawn from the coarsest level with a row for every pixel
+ * row, so it touches two or three tiles whatever its length; tiles are
+ * evaluated on first use. A row of level k is the mean of
+ * 2^min(k, {@link #FILTER_LEVELS}) samples spread evenly over its time span.
+ * Up to {@link #FILTER_LEVELS} that is exactly the mean of the level-0 rows
+ * under it, so such a tile is built from the two tiles below when both are
+ * cached and evaluated otherwise, with the same result up to float rounding.
+ * Coarser levels keep the cost per tile bounded by taking the same
+ * 2^{@link #FILTER_LEVELS} samples per row, so their samples lie
+ * 2^(k - FILTER_LEVELS) level-0 steps apart. That is a mean over a sparse
+ * comb, not a filter over the span: oscillations faster than the sample
+ * spacing are not damped but alias into slow false beats, increasingly so at
+ * the coarse levels. Long windows therefore show the envelope of |ψ|² only
+ * where the state has no frequencies that high.
+ *
+ * Tiles sit in an LRU cache bounded in bytes and are dropped when the state,
+ * L or width change. Rows of a tile are filled in parallel on the
+ * {@link GridEvaluator}; the pyramid itself is not thread-safe.
+ */
+public class DensityPyramid {
+
+    /** Time between rows at level 0. */
+    public static final double BASE_STEP = 1.0 / 128;
+    public static final int TILE_ROWS = 64;
+    /** Coarsest level: 2^24 · {@link #BASE_STEP} = 131072 time units per row. */
+    public static final int MAX_LEVEL = 24;
+    /** Levels up to this one average all the level-0 rows under each row; coarser ones 2^FILTER_LEVELS samples. */
+    public static final int FILTER_LEVELS = 4;
+
+    private final EigenstateCache basis;
+    private final GridEvaluator grid;
+    private final long budgetBytes;
+    private final LinkedHashMap<Long, float[]> tiles = new LinkedHashMap<>(64, 0.75f, true);
+    private long usedBytes = 0;
+    private long evaluatedTiles = 0;
+
+    private final StateKey key = new StateKey();
+    private StateMatrix state;
+    private int width = -1;
+
+    // The window rendered last
+    private int height = -1;
+    private double from = Double.NaN, to = Double.NaN;
+    private int[] pixels = {};
+
+    public DensityPyramid(EigenstateCache basis, GridEvaluator grid, long budgetBytes) {
+        this.basis = basis;
+        this.grid = grid;
+        this.budgetBytes = budgetBytes;
+    }
+
+    /** Time between rows at {@code level}. */
+    public static double step(int level) {
+        return Math.scalb(BASE_STEP, level);
+    }
+
+    /** The coarsest level whose rows are at most {@code rowTime} apart; level 0 for shorter times. */
+    public static int levelFor(double rowTime) {
+        int level = 0;
+        while (level < MAX_LEVEL && step(level + 1) <= rowTime) {
+            level++;
+        }
+        return level;
+    }
+
+    /**
+     * Returns the {@code width × height} non-premultiplied ARGB pixels of
+     * t ∈ [from, to) down and x ∈ [-L, L] across, row by row, coloured like
+     * {@link DensityHeatmap}. Only the tiles under the window are evaluated.
+     * A new array is returned whenever the inputs change and returned arrays
+     * are never written again, so they can be handed to another thread;
+     * callers must not modify them.
+     */
+    public int[] render(QuantumSystem s, double L, int width, int height, double from, double to) {
+        if (!(to > from)) {
+            throw new IllegalArgumentException("Empty time window [" + from + ", " + to + ")");
+        }
+        boolean sameState = key.matches(s, L) && this.width == width;
+        if (sameState && this.height == height && this.from == from && this.to == to) {
+            return pixels;
+        }
+        if (!sameState) {
+            key.set(s, L);
+            this.width = width;
+            state = basis.stateMatrix(s, L, width);
+            clear();
+        }
+        this.height = height;
+        this.from = from;
+        this.to = to;
+
+        double rowTime = (to - from) / height;
+        int level = levelFor(rowTime);
+        double step = step(level);
+        int[] out = new int[width * height];
+        double[] sum = new double[width];
+        float[] tile = null;
+        long tileIndex = Long.MIN_VALUE;
+        for (int y = 0; y < height; y++) {
+            // Mean of the level rows under the pixel row: one or two, as rows are at most a pixel apart
+            double t0 = from + y * rowTime, t1 = t0 + rowTime;
+            long first = (long) Math.floor(t0 / step);
+            long last = Math.max(first, (long) Math.ceil(t1 / step) - 1);
+            Arrays.fill(sum, 0);
+            for (long row = first; row <= last; row++) {
+                long index = Math.floorDiv(row, TILE_ROWS);
+                if (index != tileIndex) {
+                    tile = tile(level, index);
+                    tileIndex = index;
+                }
+                int at = Math.floorMod(row, TILE_ROWS) * width;
+                for (int col = 0; col < width; col++) {
+                    sum[col] += tile[at + col];
+                }
+            }
+            double rows = last - first + 1;
+            int offset = y * width;
+            for (int col = 0; col < width; col++) {
+                out[offset + col] = DensityHeatmap.shade(Math.min(sum[col] / rows * 5, 1.0));
+            }
+        }
+        pixels = out;
+        return pixels;
+    }
+
+    /** Tiles evaluated or downsampled since this pyramid was created. */
+    public long getEvaluatedTiles() {
+        return evaluatedTiles;
+    }
+
+    /** Bytes currently held by cached tiles. */
+    public long getUsedBytes() {
+        return usedBytes;
+    }
+
+    public void clear() {
+        tiles.clear();
+        usedBytes = 0;
+    }
+
+    /** Tile {@code index} of {@code level}, built on first use. */
+    private float[] tile(int level, long index) {
+        Long key = tileKey(level, index);
+        float[] tile = tiles.get(key);
+        if (tile != null) return tile;
+        boolean filtered = level > 0 && level <= FILTER_LEVELS;
+        float[] below0 = filtered ? tiles.get(tileKey(level - 1, 2 * index)) : null;
+        float[] below1 = filtered ? tiles.get(tileKey(level - 1, 2 * index + 1)) : null;
+        tile = below0 != null && below1 != null ? downsample(below0, below1) : evaluate(level, index);
+        evaluatedTiles++;
+        tiles.put(key, tile);
+        usedBytes += 4L * tile.length;
+        evict();
+        return tile;
+    }
+
+    /** The level above two adjacent tiles: each row the mean of two of theirs. */
+    private float[] downsample(float[] upper, float[] lower) {
+        float[] tile = new float[TILE_ROWS * width];
+        for (int row = 0; row < TILE_ROWS; row++) {
+            float[] source = row < TILE_ROWS / 2 ? upper : lower;
+            int at = 2 * (row % (TILE_ROWS / 2)) * width, out = row * width;
+            for (int col = 0; col < width; col++) {
+                tile[out + col] = 0.5f * (source[at + col] + source[at + width + col]);
+            }
+        }
+        return tile;
+    }
+
+    /**
+     * Evaluates a tile: each row the mean of 2^min(level, {@link #FILTER_LEVELS})
+     * samples at the centres of equal parts of its span, which below the cap
+     * are the centre times of the level-0 rows.
+     */
+    private float[] evaluate(int level, long index) {
+        int width = this.width;
+        StateMatrix state = this.state;
+        float[] tile = new float[TILE_ROWS * width];
+        double start = index * TILE_ROWS * step(level);
+        int samples = 1 << Math.min(level, FILTER_LEVELS);
+        double spacing = step(level) / samples;
+        grid.forEachRow(TILE_ROWS, (from, to) -> {
+            double[] re = new double[width];
+            double[] im = new double[width];
+            double[] prob = new double[width];
+            double[] sum = new double[width];
+            double[] phases = new double[2 * state.count()];
+            GridKernels kernels = Kernels.active();
+            for (int row = from; row < to; row++) {
+                for (int col = 0; col < width; col++) {
+                    sum[col] = 0;
+                }
+                for (int k = 0; k < samples; k++) {
+                    double t = start + (row * samples + k + 0.5) * spacing;
+                    state.evaluate(t, re, im, phases);
+                    kernels.density(re, im, prob, width);
+                    for (int col = 0; col < width; col++) {
+                        sum[col] += prob[col];
+                    }
+                }
+                int offset = row * width;
+                for (int col = 0; col < width; col++) {
+                    tile[offset + col] = (float) (sum[col] / samples);
+                }
+            }
+        });
+        return tile;
+    }
+
+    private static Long tileKey(int level, long index) {
+        return ((long) level << 58) ^ (index & ((1L << 58) - 1));
+    }
+
+    private void evict() {
+        Iterator<Map.Entry<Long, float[]>> it = tiles.entrySet().iterator();
+        while (usedBytes > budgetBytes && tiles.size() > 1 && it.hasNext()) {
+            usedBytes -= 4L * it.next().getValue().length;
+            it.remove();
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package quantumbloom.core;
+
+/**
+ * Symmetric double well V = V₀ ((x/a)² - 1)² with minima at ±a = ±L/2, a
+ * barrier of {@link #BARRIER} in between and hard walls at ±L. Below the
+ * barrier the levels come in nearly degenerate even/odd pairs; their splitting
+ * is the tunnelling rate from one well to the other. Solved numerically.
+ */
+public final class DoubleWell implements QuantumSystem {
+
+    /** V₀, the height of the barrier at x = 0. */
+    public static final double BARRIER = 1.0;
+
+    private final NumericalLevels numerical = new NumericalLevels("Double Well", (x, L, out) -> {
+        for (int i = 0; i < x.length; i++) {
+            out[i] = well(x[i], L);
+        }
+    });
+    private int n = 1;
+    private double L = 10.0;
+    private final int[] levels = {1};
+    private final double[] coefficients = {1.0};
+    private final double[] coefficientsImag = {0.0};
+
+    @Override
+    public String getName() {
+        return "Double Well";
+    }
+
+    @Override
+    public boolean usesQuantumNumber() {
+        return true;
+    }
+
+    @Override
+    public boolean usesWeights() {
+        return false;
+    }
+
+    @Override
+    public void configure(int n, double L, double[] weights) {
+        this.n = n;
+        this.L = L;
+        numerical.configure(L);
+        levels[0] = n;
+    }
+
+    @Override
+    public int getMaxLevel() {
+        return numerical.levels();
+    }
+
+    @Override
+    public double getEnergy(int level) {
+        return numerical.energy(level);
+    }
+
+    @Override
+    public boolean isLevelOccupied(int level) {
+        return level == n;
+    }
+
+    @Override
+    public int[] getLevels() {
+        return levels;
+    }
+
+    @Override
+    public double[] getCoefficients() {
+        return coefficients;
+    }
+
+    @Override
+    public double[] getCoefficientsImag() {
+        return coefficientsImag;
+    }
+
+    @Override
+    public void eigenfunction(int level, double L, double[] x, double[] out) {
+        numerical.eigenfunction(level, L, x, out);
+    }
+
+    @Override
+    public double potential(double x) {
+        return Math.abs(x) <= L ? well(x, L) : Double.POSITIVE_INFINITY;
+    }
+
+    private static double well(double x, double L) {
+        double u = 2 * x / L;
+        return BARRIER * (u * u - 1) * (u * u - 1);
+    }
+
+    @Override
+    public void evaluate(double[] x, double t, double[] re, double[] im) {
+        numerical.evaluate(n, x, t, re, im);
+    }
+
+    @Override
+    public String getKnowledge() {
+        int partner = n % 2 == 1 ? n + 1 : n - 1;
+        return "🐫 Double Well 🐫\n" +
+                "Potential: V = V₀ ((x/a)² - 1)², a = L/2, V₀ = " + BARRIER + "\n" +
+                "Energy: E_" + n + " = " + String.format("%.4f", getEnergy(n)) + " (solved numerically)\n" +
+                "Tunnelling splitting: |E_" + partner + " - E_" + n + "| = " + String.format("%.3g", Math.abs(getEnergy(partner) - getEnergy(n))) + "\n" +
+                "A particle in one well tunnels through the barrier to the other and back, at a rate set by the splitting of each even/odd pair. 🚇";
+    }
+}
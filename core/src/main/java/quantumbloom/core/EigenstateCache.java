@@ -0,0 +1,214 @@
+package quantumbloom.core;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Cache of spatial eigenfunction tables φ_level(x) sampled on the uniform grid
+ * {@link #grid(int, double)} over [-L, L], or on {@link #grid(int, double, double)}
+ * over part of it for zoomed views.
+ *
+ * Tables are keyed by ({@link QuantumSystem#getBasisKey() basis}, level, L,
+ * grid range, grid size) and evicted least recently used first once the
+ * cached doubles exceed the memory budget. Because only the
+ * phase factor e^{-iE t/ℏ} of each component changes with time, a frame is one
+ * complex multiply-add per point and component (see {@link #evolve}), done by a
+ * {@link StateMatrix} built from the tables of the configured state.
+ */
+public class EigenstateCache {
+
+    private record Key(String system, int level, double L, double from, double to, int size) { }
+
+    private final LinkedHashMap<Key, double[]> tables = new LinkedHashMap<>(16, 0.75f, true);
+    private final long budgetBytes;
+    private long usedBytes = 0;
+    private double[] lastGrid = {};
+    private double lastGridFrom = Double.NaN, lastGridTo = Double.NaN;
+
+    // Eigenstate matrix of the last state asked for, and its rows alone
+    private final StateKey stateKey = new StateKey();
+    private int stateSize = -1;
+    private double stateFrom = Double.NaN, stateTo = Double.NaN;
+    private StateMatrix state;
+    private String rowsSystem = "";
+    private int[] rowsLevels = {};
+    private double rowsL = Double.NaN, rowsFrom = Double.NaN, rowsTo = Double.NaN;
+    private int rowsSize = -1;
+    private double[] rows = {};
+    private double[] phases = {};
+
+    public EigenstateCache(long budgetBytes) {
+        this.budgetBytes = budgetBytes;
+    }
+
+    /** {@code size} evenly spaced positions covering [-halfWidth, halfWidth]. */
+    public static double[] grid(int size, double halfWidth) {
+        return grid(size, -halfWidth, halfWidth);
+    }
+
+    /** {@code size} evenly spaced positions covering [from, to]. */
+    public static double[] grid(int size, double from, double to) {
+        double[] xs = new double[size];
+        double step = (to - from) / (size - 1);
+        for (int i = 0; i < size; i++) {
+            xs[i] = from + i * step;
+        }
+        return xs;
+    }
+
+    /** φ_level(x) of {@code system} on {@code grid(size, L)}; computed on first use. */
+    public double[] table(QuantumSystem system, int level, double L, int size) {
+        return table(system, level, L, -L, L, size);
+    }
+
+    /** φ_level(x) of {@code system} for length/scale {@code L} on {@code grid(size, from, to)}. */
+    public double[] table(QuantumSystem system, int level, double L, double from, double to, int size) {
+        Key key = new Key(system.getBasisKey(), level, L, from, to, size);
+        double[] table = tables.get(key);
+        if (table == null) {
+            table = new double[size];
+            system.eigenfunction(level, L, grid(size, from, to), table);
+            tables.put(key, table);
+            usedBytes += 8L * size;
+            evict();
+        }
+        return table;
+    }
+
+    /**
+     * Writes ψ(x, t) of the configured state of {@code system} on
+     * {@code grid(size, L)} into {@code re} and {@code im}; {@code L} must be the
+     * length/scale the system was configured with. Systems without a stationary
+     * expansion are evaluated directly on the grid.
+     */
+    public void evolve(QuantumSystem system, double L, int size, double t, double[] re, double[] im) {
+        evolve(system, L, -L, L, size, t, re, im);
+    }
+
+    /**
+     * {@link #evolve(QuantumSystem, double, int, double, double[], double[])} on
+     * {@code grid(size, from, to)}, for a zoomed part of [-L, L].
+     */
+    public void evolve(QuantumSystem system, double L, double from, double to, int size, double t, double[] re, double[] im) {
+        if (!system.isStationaryExpansion()) {
+            if (lastGrid.length != size || lastGridFrom != from || lastGridTo != to) {
+                lastGrid = grid(size, from, to);
+                lastGridFrom = from;
+                lastGridTo = to;
+            }
+            system.evaluate(lastGrid, t, re, im);
+            return;
+        }
+        StateMatrix matrix = stateMatrix(system, L, from, to, size);
+        if (phases.length < 2 * matrix.count()) {
+            phases = new double[2 * matrix.count()];
+        }
+        matrix.evaluate(t, re, im, phases);
+    }
+
+    /**
+     * The configured state of {@code system} as a {@link StateMatrix} on
+     * {@code grid(size, L)}. It is rebuilt when the state changes; when only the
+     * coefficients changed, the eigenstate rows are reused. The result is
+     * immutable, so callers can evaluate it from other threads.
+     */
+    public StateMatrix stateMatrix(QuantumSystem system, double L, int size) {
+        return stateMatrix(system, L, -L, L, size);
+    }
+
+    /** {@link #stateMatrix(QuantumSystem, double, int)} on {@code grid(size, from, to)}. */
+    public StateMatrix stateMatrix(QuantumSystem system, double L, double from, double to, int size) {
+        if (state != null && stateSize == size && stateFrom == from && stateTo == to && stateKey.matches(system, L)) {
+            return state;
+        }
+        int[] levels = system.getLevels();
+        if (!(rowsSize == size && rowsL == L && rowsFrom == from && rowsTo == to
+                && rowsSystem.equals(system.getBasisKey()) && Arrays.equals(rowsLevels, levels))) {
+            rows = matrixRows(system, levels, L, from, to, size);
+            rowsSystem = system.getBasisKey();
+            rowsLevels = levels.clone();
+            rowsL = L;
+            rowsFrom = from;
+            rowsTo = to;
+            rowsSize = size;
+        }
+        double[] energies = new double[levels.length];
+        for (int k = 0; k < levels.length; k++) {
+            energies[k] = system.getEnergy(levels[k]);
+        }
+        state = new StateMatrix(levels.length, size, rows,
+                system.getCoefficients().clone(), system.getCoefficientsImag().clone(), energies);
+        stateKey.set(system, L);
+        stateSize = size;
+        stateFrom = from;
+        stateTo = to;
+        return state;
+    }
+
+    /**
+     * Row-major φ_level(x) for {@code levels}, copied from the per-level tables.
+     * Missing tables of a run of consecutive levels are computed together with
+     * {@link QuantumSystem#eigenfunctions}, a single pass for recurrence-based bases.
+     */
+    private double[] matrixRows(QuantumSystem system, int[] levels, double L, double from, double to, int size) {
+        double[] matrix = new double[levels.length * size];
+        double[] xs = null;
+        int k = 0;
+        while (k < levels.length) {
+            int end = k + 1;
+            while (end < levels.length && levels[end] == levels[end - 1] + 1) end++;
+            boolean cached = true;
+            for (int j = k; j < end && cached; j++) {
+                cached = tables.containsKey(new Key(system.getBasisKey(), levels[j], L, from, to, size));
+            }
+            if (!cached && end - k > 1) {
+                if (xs == null) xs = grid(size, from, to);
+                double[][] run = new double[end - k][size];
+                system.eigenfunctions(levels[k], L, xs, run);
+                for (int j = k; j < end; j++) {
+                    Key key = new Key(system.getBasisKey(), levels[j], L, from, to, size);
+                    if (tables.put(key, run[j - k]) == null) usedBytes += 8L * size;
+                }
+            }
+            for (int j = k; j < end; j++) {
+                System.arraycopy(table(system, levels[j], L, from, to, size), 0, matrix, j * size, size);
+            }
+            evict();
+            k = end;
+        }
+        return matrix;
+    }
+
+    /**
+     * The tables of every level in the configured state of {@code system}, in
+     * {@link QuantumSystem#getLevels()} order.
+     */
+    public double[][] tables(QuantumSystem system, double L, int size) {
+        int[] levels = system.getLevels();
+        double[][] tables = new double[levels.length][];
+        for (int k = 0; k < levels.length; k++) {
+            tables[k] = table(system, levels[k], L, size);
+        }
+        return tables;
+    }
+
+    /** Bytes currently held by cached tables. */
+    public long getUsedBytes() {
+        return usedBytes;
+    }
+
+    public void clear() {
+        tables.clear();
+        usedBytes = 0;
+    }
+
+    private void evict() {
+        Iterator<Map.Entry<Key, double[]>> it = tables.entrySet().iterator();
+        while (usedBytes > budgetBytes && tables.size() > 1 && it.hasNext()) {
+            usedBytes -= 8L * it.next().getValue().length;
+            it.remove();
+        }
+    }
+}
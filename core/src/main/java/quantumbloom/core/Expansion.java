@@ -0,0 +1,101 @@
+package quantumbloom.core;
+
+import java.util.Arrays;
+
+/**
+ * ψ = Σ c_k φ_k e^{-iE_k t/ℏ} over an arbitrary set of levels of a basis
+ * system, with complex coefficients. Systems built from a basis (superpositions,
+ * coherent states, box packets) keep one of these for their state and delegate
+ * energies and eigenfunctions to the basis.
+ *
+ * Levels are kept ascending so that runs of consecutive levels come out of
+ * {@link QuantumSystem#eigenfunctions} in one pass.
+ */
+final class Expansion {
+
+    private final QuantumSystem basis;
+    private int[] levels = {};
+    private double[] coefficientsRe = {}, coefficientsIm = {};
+    private double L = Double.NaN;
+    private double[][] rows = {};
+
+    Expansion(QuantumSystem basis) {
+        this.basis = basis;
+    }
+
+    QuantumSystem basis() {
+        return basis;
+    }
+
+    /**
+     * Sets the state; {@code levels} must be ascending. Coefficients are
+     * normalised so that Σ |c_k|² = 1, unless they are all zero.
+     */
+    void set(int[] levels, double[] re, double[] im) {
+        if (re.length != levels.length || im.length != levels.length) {
+            throw new IllegalArgumentException("Expected " + levels.length + " coefficients");
+        }
+        for (int k = 1; k < levels.length; k++) {
+            if (levels[k] <= levels[k - 1]) {
+                throw new IllegalArgumentException("Levels must be ascending: " + Arrays.toString(levels));
+            }
+        }
+        double norm = 0;
+        for (int k = 0; k < levels.length; k++) {
+            norm += re[k] * re[k] + im[k] * im[k];
+        }
+        double scale = norm > 0 ? 1 / Math.sqrt(norm) : 0;
+        this.levels = levels.clone();
+        coefficientsRe = new double[levels.length];
+        coefficientsIm = new double[levels.length];
+        for (int k = 0; k < levels.length; k++) {
+            coefficientsRe[k] = re[k] * scale;
+            coefficientsIm[k] = im[k] * scale;
+        }
+    }
+
+    /** Configures the basis for length/scale {@code L}. */
+    void configure(double L, double[] weights) {
+        this.L = L;
+        basis.configure(levels.length > 0 ? levels[0] : 1, L, weights);
+    }
+
+    int[] levels() {
+        return levels;
+    }
+
+    double[] coefficientsRe() {
+        return coefficientsRe;
+    }
+
+    double[] coefficientsIm() {
+        return coefficientsIm;
+    }
+
+    boolean contains(int level) {
+        return Arrays.binarySearch(levels, level) >= 0;
+    }
+
+    /** Σ_k c_k e^{-iE_k t/ℏ} φ_k(x) at every point of {@code x}. */
+    void evaluate(double[] x, double t, double[] re, double[] im) {
+        Arrays.fill(re, 0, x.length, 0.0);
+        Arrays.fill(im, 0, x.length, 0.0);
+        if (levels.length == 0) return;
+        int first = levels[0], span = levels[levels.length - 1] - first + 1;
+        if (rows.length != span || rows[0].length != x.length) {
+            rows = new double[span][x.length];
+        }
+        basis.eigenfunctions(first, L, x, rows);
+        for (int k = 0; k < levels.length; k++) {
+            double phase = basis.getEnergy(levels[k]) * t / QuantumSystem.HBAR;
+            double cos = Math.cos(phase), sin = Math.sin(phase);
+            double a = coefficientsRe[k] * cos + coefficientsIm[k] * sin;
+            double b = coefficientsIm[k] * cos - coefficientsRe[k] * sin;
+            double[] phi = rows[levels[k] - first];
+            for (int i = 0; i < x.length; i++) {
+                re[i] += a * phi[i];
+                im[i] += b * phi[i];
+            }
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package quantumbloom.core;
+
+/**
+ * Computes ⟨x⟩(t) for the configured state of a {@link QuantumSystem} from its
+ * position matrix elements ⟨m|x|n⟩.
+ *
+ * For ψ = Σ c_k φ_k e^{-iE_k t/ℏ} with complex c_k and real φ_k, write
+ * u_k = c_k e^{-iE_k t/ℏ}; then ⟨x⟩(t) = Σ_m Σ_n ⟨m|x|n⟩ Re(u_m* u_n), so a
+ * time sample costs N sin/cos pairs and a symmetric N × N quadratic form. The
+ * matrix elements are integrated once from the cached eigenfunction tables, and
+ * the curve is kept until the system, L, grid or state coefficients change.
+ */
+public class ExpectationEngine {
+
+    private final EigenstateCache basis;
+    private final GridEvaluator grid;
+
+    private final StateKey key = new StateKey();
+    private double tStart = Double.NaN, dt = Double.NaN;
+    private int size = -1;
+    private double[] curve = {};
+
+    public ExpectationEngine(EigenstateCache basis, GridEvaluator grid) {
+        this.basis = basis;
+        this.grid = grid;
+    }
+
+    /**
+     * ⟨x⟩ at {@code samples} times tStart, tStart + dt, ...; the matrix elements are
+     * integrated on {@code EigenstateCache.grid(size, L)}. The returned array is
+     * cached and must not be modified; a recompute returns a new array.
+     */
+    public double[] positionCurve(QuantumSystem s, double L, int size, double tStart, double dt, int samples) {
+        if (curve.length == samples && key.matches(s, L) && this.size == size && this.tStart == tStart && this.dt == dt) {
+            return curve;
+        }
+        key.set(s, L);
+        this.size = size;
+        this.tStart = tStart;
+        this.dt = dt;
+
+        int[] levels = s.getLevels();
+        double[] cRe = s.getCoefficients(), cIm = s.getCoefficientsImag();
+        int count = levels.length;
+        double[][] x = positionMatrix(s, levels, L, size);
+        double[] energies = new double[count];
+        for (int a = 0; a < count; a++) {
+            energies[a] = s.getEnergy(levels[a]);
+        }
+
+        double[] out = new double[samples];
+        grid.forEachRow(samples, (from, to) -> {
+            double[] uRe = new double[count], uIm = new double[count];
+            for (int j = from; j < to; j++) {
+                double t = tStart + j * dt;
+                for (int a = 0; a < count; a++) {
+                    double phase = energies[a] * t / QuantumSystem.HBAR;
+                    double cos = Math.cos(phase), sin = Math.sin(phase);
+                    uRe[a] = cRe[a] * cos + cIm[a] * sin;
+                    uIm[a] = cIm[a] * cos - cRe[a] * sin;
+                }
+                double value = 0;
+                for (int a = 0; a < count; a++) {
+                    double[] row = x[a];
+                    double offRe = 0, offIm = 0;
+                    for (int b = a + 1; b < count; b++) {
+                        offRe += row[b] * uRe[b];
+                        offIm += row[b] * uIm[b];
+                    }
+                    value += row[a] * (uRe[a] * uRe[a] + uIm[a] * uIm[a]) + 2 * (uRe[a] * offRe + uIm[a] * offIm);
+                }
+                out[j] = value;
+            }
+        });
+        curve = out;
+        return curve;
+    }
+
+    /**
+     * ⟨m|x|n⟩ for the levels of the configured state, by the trapezoid rule.
+     * Rows of the matrix are spread over the pool and each element is one
+     * {@link GridKernels#trapezoid} call, so the result does not depend on the
+     * thread count.
+     */
+    private double[][] positionMatrix(QuantumSystem s, int[] levels, double L, int size) {
+        int count = levels.length;
+        double[] xs = EigenstateCache.grid(size, L);
+        double h = 2 * L / (size - 1);
+        double[][] tables = basis.tables(s, L, size);
+        double[][] x = new double[count][count];
+        GridKernels kernels = Kernels.active();
+        grid.forEachRow(count, (from, to) -> {
+            for (int a = from; a < to; a++) {
+                for (int b = a; b < count; b++) {
+                    x[a][b] = kernels.trapezoid(xs, tables[a], tables[b], size, h);
+                }
+            }
+        });
+        for (int a = 0; a < count; a++) {
+            for (int b = 0; b < a; b++) {
+                x[a][b] = x[b][a];
+            }
+        }
+        return x;
+    }
+}
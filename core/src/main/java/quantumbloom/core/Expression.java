@@ -0,0 +1,484 @@
+package quantumbloom.core;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import quantumbloom.core.ExpressionParser.Binary;
+import quantumbloom.core.ExpressionParser.Call;
+import quantumbloom.core.ExpressionParser.Constant;
+import quantumbloom.core.ExpressionParser.Function;
+import quantumbloom.core.ExpressionParser.Negate;
+import quantumbloom.core.ExpressionParser.Node;
+import quantumbloom.core.ExpressionParser.Parameter;
+import quantumbloom.core.ExpressionParser.Variable;
+
+/**
+ * A user-entered formula f(x) such as {@code V0*exp(-(x-a)^2/w^2) + 0.5*x^2},
+ * compiled once and then evaluated over whole grids.
+ *
+ * Operators are + - * / and ^ (or **); the functions are exp, log, sqrt, abs,
+ * sin, cos, tan, sinh, cosh, tanh, atan, step (Heaviside), min and max; pi is
+ * the only named constant. Every other name is a parameter, in the order of
+ * {@link #getParameters()}, with values supplied on each call.
+ *
+ * Compiling folds constant subtrees, drops identities such as a·1 and a + 0,
+ * turns small integer powers into multiplications and hoists every subtree
+ * that does not involve x out of the per-point work: those are computed once
+ * per call. What is left is a flat list of register instructions, each of
+ * which runs over a block of {@link #BLOCK} points in a plain loop the JIT can
+ * unroll and vectorise. Dispatch costs one switch per instruction and block,
+ * never per point, and nothing is boxed.
+ *
+ * Instances are immutable and can be shared between threads.
+ */
+public final class Expression {
+
+    /** Points per block: the registers of a block stay in the L1 cache. */
+    private static final int BLOCK = 256;
+    /** Integer exponents up to this size become multiplications. */
+    private static final int MAX_INTEGER_POWER = 64;
+
+    // Opcodes; operands ≥ 0 are registers (0 holds x), operands < 0 uniform slots
+    private static final int NEGATE = 0, ADD = 1, SUBTRACT = 2, MULTIPLY = 3, DIVIDE = 4,
+            POWER = 5, INTEGER_POWER = 6, MIN = 7, MAX = 8, FUNCTION = 9;
+    private static final Function[] FUNCTIONS = Function.values();
+
+    private final String source;
+    private final List<String> parameters;
+    /** The folded tree, walked directly for single points. */
+    private final Node tree;
+    private final Node[] uniforms;
+    private final int[] ops, targets, left, right;
+    private final int registers;
+    private final int result;
+
+    private Expression(String source, List<String> parameters, Node tree, Node[] uniforms, int[] ops, int[] targets,
+                       int[] left, int[] right, int registers, int result) {
+        this.source = source;
+        this.parameters = parameters;
+        this.tree = tree;
+        this.uniforms = uniforms;
+        this.ops = ops;
+        this.targets = targets;
+        this.left = left;
+        this.right = right;
+        this.registers = registers;
+        this.result = result;
+    }
+
+    /**
+     * Parses and compiles {@code source}.
+     *
+     * @throws IllegalArgumentException with the position of the first syntax error
+     */
+    public static Expression compile(String source) {
+        List<String> parameters = new ArrayList<>();
+        Node tree = fold(ExpressionParser.parse(source, parameters));
+        Compiler compiler = new Compiler();
+        int result = compiler.emit(tree, 1);
+        return new Expression(source, Collections.unmodifiableList(parameters), tree, compiler.uniforms.toArray(new Node[0]),
+                compiler.ops.stream().mapToInt(i -> i).toArray(), compiler.targets.stream().mapToInt(i -> i).toArray(),
+                compiler.left.stream().mapToInt(i -> i).toArray(), compiler.right.stream().mapToInt(i -> i).toArray(),
+                compiler.registers, result);
+    }
+
+    public String getSource() {
+        return source;
+    }
+
+    /** Names of the parameters, in the order their values are passed. */
+    public List<String> getParameters() {
+        return parameters;
+    }
+
+    /** Number of per-point instructions left after folding and hoisting. */
+    public int getInstructionCount() {
+        return ops.length;
+    }
+
+    /** Whether the value changes with x; if not, every point gets the same value. */
+    public boolean dependsOnX() {
+        return result >= 0;
+    }
+
+    /**
+     * Writes f at every point of {@code x} into {@code out}.
+     *
+     * @param values one value per entry of {@link #getParameters()}
+     */
+    public void evaluate(double[] x, double[] values, double[] out) {
+        double[] u = uniforms(values);
+        int n = x.length;
+        double[][] r = new double[registers][Math.min(BLOCK, Math.max(n, 1))];
+        for (int start = 0; start < n; start += BLOCK) {
+            int len = Math.min(BLOCK, n - start);
+            run(x, start, len, u, r);
+            if (result >= 0) {
+                System.arraycopy(r[result], 0, out, start, len);
+            } else {
+                double v = u[-1 - result];
+                for (int i = 0; i < len; i++) {
+                    out[start + i] = v;
+                }
+            }
+        }
+    }
+
+    /**
+     * f at a single point, walking the folded tree without allocating; prefer
+     * the grid form for more than a handful of points.
+     */
+    public double evaluate(double x, double[] values) {
+        checkValues(values);
+        return value(tree, x, values);
+    }
+
+    @Override
+    public String toString() {
+        return source;
+    }
+
+    /** The hoisted subtrees for these parameter values. */
+    private double[] uniforms(double[] values) {
+        checkValues(values);
+        double[] u = new double[uniforms.length];
+        for (int k = 0; k < u.length; k++) {
+            u[k] = value(uniforms[k], values);
+        }
+        return u;
+    }
+
+    /** Runs the program over {@code x[start, start + len)}. */
+    private void run(double[] x, int start, int len, double[] u, double[][] r) {
+        System.arraycopy(x, start, r[0], 0, len);
+        for (int k = 0; k < ops.length; k++) {
+            double[] o = r[targets[k]];
+            int a = left[k], b = right[k];
+            switch (ops[k]) {
+                case NEGATE -> {
+                    double[] p = r[a];
+                    for (int i = 0; i < len; i++) o[i] = -p[i];
+                }
+                case ADD -> {
+                    if (b < 0) {
+                        addScalar(r[a], u[-1 - b], o, len);
+                    } else if (a < 0) {
+                        addScalar(r[b], u[-1 - a], o, len);
+                    } else {
+                        double[] p = r[a], q = r[b];
+                        for (int i = 0; i < len; i++) o[i] = p[i] + q[i];
+                    }
+                }
+                case SUBTRACT -> {
+                    if (b < 0) {
+                        addScalar(r[a], -u[-1 - b], o, len);
+                    } else if (a < 0) {
+                        double s = u[-1 - a];
+                        double[] q = r[b];
+                        for (int i = 0; i < len; i++) o[i] = s - q[i];
+                    } else {
+                        double[] p = r[a], q = r[b];
+                        for (int i = 0; i < len; i++) o[i] = p[i] - q[i];
+                    }
+                }
+                case MULTIPLY -> {
+                    if (b < 0) {
+                        multiplyScalar(r[a], u[-1 - b], o, len);
+                    } else if (a < 0) {
+                        multiplyScalar(r[b], u[-1 - a], o, len);
+                    } else {
+                        double[] p = r[a], q = r[b];
+                        for (int i = 0; i < len; i++) o[i] = p[i] * q[i];
+                    }
+                }
+                case DIVIDE -> {
+                    if (b < 0) {
+                        multiplyScalar(r[a], 1 / u[-1 - b], o, len);
+                    } else if (a < 0) {
+                        double s = u[-1 - a];
+                        double[] q = r[b];
+                        for (int i = 0; i < len; i++) o[i] = s / q[i];
+                    } else {
+                        double[] p = r[a], q = r[b];
+                        for (int i = 0; i < len; i++) o[i] = p[i] / q[i];
+                    }
+                }
+                case POWER -> {
+                    if (b < 0) {
+                        double s = u[-1 - b];
+                        double[] p = r[a];
+                        for (int i = 0; i < len; i++) o[i] = Math.pow(p[i], s);
+                    } else if (a < 0) {
+                        double s = u[-1 - a];
+                        double[] q = r[b];
+                        for (int i = 0; i < len; i++) o[i] = Math.pow(s, q[i]);
+                    } else {
+                        double[] p = r[a], q = r[b];
+                        for (int i = 0; i < len; i++) o[i] = Math.pow(p[i], q[i]);
+                    }
+                }
+                case INTEGER_POWER -> integerPower(r[a], b, o, len);
+                case MIN -> {
+                    if (a < 0 || b < 0) {
+                        double s = u[-1 - Math.min(a, b)];
+                        double[] p = r[Math.max(a, b)];
+                        for (int i = 0; i < len; i++) o[i] = Math.min(p[i], s);
+                    } else {
+                        double[] p = r[a], q = r[b];
+                        for (int i = 0; i < len; i++) o[i] = Math.min(p[i], q[i]);
+                    }
+                }
+                case MAX -> {
+                    if (a < 0 || b < 0) {
+                        double s = u[-1 - Math.min(a, b)];
+                        double[] p = r[Math.max(a, b)];
+                        for (int i = 0; i < len; i++) o[i] = Math.max(p[i], s);
+                    } else {
+                        double[] p = r[a], q = r[b];
+                        for (int i = 0; i < len; i++) o[i] = Math.max(p[i], q[i]);
+                    }
+                }
+                case FUNCTION -> function(FUNCTIONS[b], r[a], o, len);
+                default -> throw new IllegalStateException("Bad opcode " + ops[k]);
+            }
+        }
+    }
+
+    private static void addScalar(double[] p, double s, double[] o, int len) {
+        for (int i = 0; i < len; i++) o[i] = p[i] + s;
+    }
+
+    private static void multiplyScalar(double[] p, double s, double[] o, int len) {
+        for (int i = 0; i < len; i++) o[i] = p[i] * s;
+    }
+
+    /** o = p^e by multiplication, with the common small exponents unrolled. */
+    private static void integerPower(double[] p, int e, double[] o, int len) {
+        int m = Math.abs(e);
+        switch (m) {
+            case 2 -> {
+                for (int i = 0; i < len; i++) o[i] = p[i] * p[i];
+            }
+            case 3 -> {
+                for (int i = 0; i < len; i++) o[i] = p[i] * p[i] * p[i];
+            }
+            case 4 -> {
+                for (int i = 0; i < len; i++) {
+                    double sq = p[i] * p[i];
+                    o[i] = sq * sq;
+                }
+            }
+            default -> {
+                for (int i = 0; i < len; i++) {
+                    double base = p[i], v = 1;
+                    for (int k = m; k > 0; k >>= 1) {
+                        if ((k & 1) != 0) v *= base;
+                        base *= base;
+                    }
+                    o[i] = v;
+                }
+            }
+        }
+        if (e < 0) {
+            for (int i = 0; i < len; i++) o[i] = 1 / o[i];
+        }
+    }
+
+    private static void function(Function f, double[] p, double[] o, int len) {
+        switch (f) {
+            case EXP -> {
+                for (int i = 0; i < len; i++) o[i] = Math.exp(p[i]);
+            }
+            case LOG -> {
+                for (int i = 0; i < len; i++) o[i] = Math.log(p[i]);
+            }
+            case SQRT -> {
+                for (int i = 0; i < len; i++) o[i] = Math.sqrt(p[i]);
+            }
+            case ABS -> {
+                for (int i = 0; i < len; i++) o[i] = Math.abs(p[i]);
+            }
+            case SIN -> {
+                for (int i = 0; i < len; i++) o[i] = Math.sin(p[i]);
+            }
+            case COS -> {
+                for (int i = 0; i < len; i++) o[i] = Math.cos(p[i]);
+            }
+            case TAN -> {
+                for (int i = 0; i < len; i++) o[i] = Math.tan(p[i]);
+            }
+            case SINH -> {
+                for (int i = 0; i < len; i++) o[i] = Math.sinh(p[i]);
+            }
+            case COSH -> {
+                for (int i = 0; i < len; i++) o[i] = Math.cosh(p[i]);
+            }
+            case TANH -> {
+                for (int i = 0; i < len; i++) o[i] = Math.tanh(p[i]);
+            }
+            case ATAN -> {
+                for (int i = 0; i < len; i++) o[i] = Math.atan(p[i]);
+            }
+            case STEP -> {
+                for (int i = 0; i < len; i++) o[i] = p[i] >= 0 ? 1.0 : 0.0;
+            }
+            default -> throw new IllegalStateException(f + " takes two arguments");
+        }
+    }
+
+    private void checkValues(double[] values) {
+        if (values.length < parameters.size()) {
+            throw new IllegalArgumentException("Expected " + parameters.size() + " parameter values " + parameters
+                    + ", got " + values.length);
+        }
+    }
+
+    /** Scalar value of a subtree without x; run once per call for each hoisted subtree. */
+    private static double value(Node node, double[] values) {
+        return value(node, Double.NaN, values);
+    }
+
+    /** Scalar value of a subtree at {@code x}. */
+    private static double value(Node node, double x, double[] values) {
+        if (node instanceof Constant c) return c.value();
+        if (node instanceof Variable) return x;
+        if (node instanceof Parameter p) return values[p.index()];
+        if (node instanceof Negate n) return -value(n.operand(), x, values);
+        if (node instanceof Binary b) return apply(b.op(), value(b.left(), x, values), value(b.right(), x, values));
+        Call c = (Call) node;
+        Node[] args = c.arguments();
+        return c.function().apply(value(args[0], x, values), args.length > 1 ? value(args[1], x, values) : 0);
+    }
+
+    private static double apply(char op, double a, double b) {
+        return switch (op) {
+            case '+' -> a + b;
+            case '-' -> a - b;
+            case '*' -> a * b;
+            case '/' -> a / b;
+            default -> Math.pow(a, b);
+        };
+    }
+
+    private static boolean dependsOnX(Node node) {
+        if (node instanceof Variable) return true;
+        if (node instanceof Negate n) return dependsOnX(n.operand());
+        if (node instanceof Binary b) return dependsOnX(b.left()) || dependsOnX(b.right());
+        if (node instanceof Call c) {
+            for (Node arg : c.arguments()) {
+                if (dependsOnX(arg)) return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isConstant(Node node, double value) {
+        return node instanceof Constant c && c.value() == value;
+    }
+
+    /** Folds constant subtrees and removes the identities a + 0, a - 0, a·1, a/1, a^1, a^0 and --a. */
+    private static Node fold(Node node) {
+        if (node instanceof Negate n) {
+            Node a = fold(n.operand());
+            if (a instanceof Constant c) return new Constant(-c.value());
+            if (a instanceof Negate inner) return inner.operand();
+            return new Negate(a);
+        }
+        if (node instanceof Binary b) {
+            Node l = fold(b.left()), r = fold(b.right());
+            if (l instanceof Constant x && r instanceof Constant y) return new Constant(apply(b.op(), x.value(), y.value()));
+            switch (b.op()) {
+                case '+' -> {
+                    if (isConstant(l, 0)) return r;
+                    if (isConstant(r, 0)) return l;
+                }
+                case '-' -> {
+                    if (isConstant(r, 0)) return l;
+                    if (isConstant(l, 0)) return fold(new Negate(r));
+                }
+                case '*' -> {
+                    if (isConstant(l, 1)) return r;
+                    if (isConstant(r, 1)) return l;
+                }
+                case '/' -> {
+                    if (isConstant(r, 1)) return l;
+                }
+                default -> {
+                    if (isConstant(r, 1)) return l;
+                    if (isConstant(r, 0)) return new Constant(1);
+                }
+            }
+            return new Binary(b.op(), l, r);
+        }
+        if (node instanceof Call c) {
+            Node[] args = new Node[c.arguments().length];
+            boolean constant = true;
+            for (int k = 0; k < args.length; k++) {
+                args[k] = fold(c.arguments()[k]);
+                constant &= args[k] instanceof Constant;
+            }
+            Call folded = new Call(c.function(), args);
+            return constant ? new Constant(value(folded, new double[0])) : folded;
+        }
+        return node;
+    }
+
+    /** Flattens a folded tree into register instructions. */
+    private static final class Compiler {
+        final List<Node> uniforms = new ArrayList<>();
+        final List<Integer> ops = new ArrayList<>(), targets = new ArrayList<>(), left = new ArrayList<>(), right = new ArrayList<>();
+        int registers = 1;
+
+        /**
+         * Emits the instructions for {@code node} using registers from
+         * {@code free} up and returns its operand: 0 for x, a register, or a
+         * negative uniform slot if it does not depend on x.
+         */
+        int emit(Node node, int free) {
+            if (!dependsOnX(node)) {
+                uniforms.add(node);
+                return -uniforms.size();
+            }
+            if (node instanceof Variable) return 0;
+            if (node instanceof Negate n) {
+                return instruction(NEGATE, free, emit(n.operand(), free), 0);
+            }
+            if (node instanceof Binary b) {
+                if (b.op() == '^' && b.right() instanceof Constant c && c.value() == Math.rint(c.value())
+                        && Math.abs(c.value()) <= MAX_INTEGER_POWER) {
+                    return instruction(INTEGER_POWER, free, emit(b.left(), free), (int) c.value());
+                }
+                int op = switch (b.op()) {
+                    case '+' -> ADD;
+                    case '-' -> SUBTRACT;
+                    case '*' -> MULTIPLY;
+                    case '/' -> DIVIDE;
+                    default -> POWER;
+                };
+                return binary(op, b.left(), b.right(), free);
+            }
+            Call c = (Call) node;
+            if (c.function() == Function.MIN || c.function() == Function.MAX) {
+                return binary(c.function() == Function.MIN ? MIN : MAX, c.arguments()[0], c.arguments()[1], free);
+            }
+            return instruction(FUNCTION, free, emit(c.arguments()[0], free), c.function().ordinal());
+        }
+
+        private int binary(int op, Node l, Node r, int free) {
+            int a = emit(l, free);
+            // Keep the left result alive while the right operand is computed
+            int b = emit(r, a >= free ? free + 1 : free);
+            return instruction(op, free, a, b);
+        }
+
+        private int instruction(int op, int target, int a, int b) {
+            ops.add(op);
+            targets.add(target);
+            left.add(a);
+            right.add(b);
+            registers = Math.max(registers, target + 1);
+            return target;
+        }
+    }
+}
@@ -0,0 +1,229 @@
+package quantumbloom.core;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Recursive-descent parser for the formulas of {@link Expression}, producing a
+ * tree that the compiler folds and flattens.
+ *
+ * <pre>
+ * sum     = product { ('+' | '-') product }
+ * product = unary { ('*' | '/') unary }
+ * unary   = ('-' | '+') unary | power
+ * power   = atom [ ('^' | '**') unary ]
+ * atom    = number | 'x' | 'pi' | name | function '(' sum { ',' sum } ')' | '(' sum ')'
+ * </pre>
+ *
+ * Powers bind tighter than a leading minus and group to the right, so -x^2 is
+ * -(x²) and 2^3^2 is 2⁹. Any other name is a parameter, numbered in order of
+ * first appearance.
+ */
+final class ExpressionParser {
+
+    /** A node of the parsed formula. */
+    sealed interface Node permits Constant, Variable, Parameter, Negate, Binary, Call { }
+
+    record Constant(double value) implements Node { }
+
+    /** The grid coordinate x. */
+    record Variable() implements Node { }
+
+    record Parameter(int index) implements Node { }
+
+    record Negate(Node operand) implements Node { }
+
+    record Binary(char op, Node left, Node right) implements Node { }
+
+    record Call(Function function, Node[] arguments) implements Node { }
+
+    /** The built-in functions, with their scalar definitions. */
+    enum Function {
+        EXP(1), LOG(1), SQRT(1), ABS(1), SIN(1), COS(1), TAN(1), SINH(1), COSH(1), TANH(1), ATAN(1),
+        /** Heaviside step: 1 for arguments ≥ 0, else 0. */
+        STEP(1),
+        MIN(2), MAX(2);
+
+        final int arity;
+
+        Function(int arity) {
+            this.arity = arity;
+        }
+
+        double apply(double a, double b) {
+            return switch (this) {
+                case EXP -> Math.exp(a);
+                case LOG -> Math.log(a);
+                case SQRT -> Math.sqrt(a);
+                case ABS -> Math.abs(a);
+                case SIN -> Math.sin(a);
+                case COS -> Math.cos(a);
+                case TAN -> Math.tan(a);
+                case SINH -> Math.sinh(a);
+                case COSH -> Math.cosh(a);
+                case TANH -> Math.tanh(a);
+                case ATAN -> Math.atan(a);
+                case STEP -> a >= 0 ? 1.0 : 0.0;
+                case MIN -> Math.min(a, b);
+                case MAX -> Math.max(a, b);
+            };
+        }
+
+        static Function named(String name) {
+            for (Function f : values()) {
+                if (f.name().equalsIgnoreCase(name)) return f;
+            }
+            return null;
+        }
+    }
+
+    private final String source;
+    private final List<String> parameters = new ArrayList<>();
+    private int pos;
+
+    private ExpressionParser(String source) {
+        this.source = source;
+    }
+
+    /** The tree of {@code source}; its parameters are added to {@code parameters} in order. */
+    static Node parse(String source, List<String> parameters) {
+        ExpressionParser parser = new ExpressionParser(source);
+        Node node = parser.sum();
+        parser.skipSpaces();
+        if (parser.pos < source.length()) {
+            throw parser.error("Unexpected '" + source.charAt(parser.pos) + "'");
+        }
+        parameters.addAll(parser.parameters);
+        return node;
+    }
+
+    private Node sum() {
+        Node node = product();
+        while (true) {
+            if (accept('+')) {
+                node = new Binary('+', node, product());
+            } else if (accept('-')) {
+                node = new Binary('-', node, product());
+            } else {
+                return node;
+            }
+        }
+    }
+
+    private Node product() {
+        Node node = unary();
+        while (true) {
+            if (accept('*')) {
+                node = new Binary('*', node, unary());
+            } else if (accept('/')) {
+                node = new Binary('/', node, unary());
+            } else {
+                return node;
+            }
+        }
+    }
+
+    private Node unary() {
+        if (accept('-')) return new Negate(unary());
+        if (accept('+')) return unary();
+        return power();
+    }
+
+    private Node power() {
+        Node base = atom();
+        skipSpaces();
+        if (source.startsWith("**", pos)) {
+            pos += 2;
+            return new Binary('^', base, unary());
+        }
+        if (accept('^')) return new Binary('^', base, unary());
+        return base;
+    }
+
+    private Node atom() {
+        skipSpaces();
+        if (pos >= source.length()) throw error("Expected a number, name or '('");
+        char c = source.charAt(pos);
+        if (accept('(')) {
+            Node node = sum();
+            expect(')');
+            return node;
+        }
+        if (Character.isDigit(c) || c == '.') return number();
+        if (Character.isLetter(c) || c == '_') {
+            int start = pos;
+            String name = name();
+            Function function = Function.named(name);
+            if (function != null && accept('(')) {
+                Node[] arguments = new Node[function.arity];
+                for (int k = 0; k < arguments.length; k++) {
+                    if (k > 0) expect(',');
+                    arguments[k] = sum();
+                }
+                expect(')');
+                return new Call(function, arguments);
+            }
+            if (name.equals("x")) return new Variable();
+            if (name.equals("pi")) return new Constant(Math.PI);
+            if (function != null) {
+                pos = start;
+                throw error("Function " + name + " needs " + function.arity + " argument" + (function.arity > 1 ? "s" : "") + " in parentheses");
+            }
+            int index = parameters.indexOf(name);
+            if (index < 0) {
+                index = parameters.size();
+                parameters.add(name);
+            }
+            return new Parameter(index);
+        }
+        throw error("Unexpected '" + c + "'");
+    }
+
+    private Node number() {
+        int start = pos;
+        while (pos < source.length() && (Character.isDigit(source.charAt(pos)) || source.charAt(pos) == '.')) pos++;
+        if (pos < source.length() && (source.charAt(pos) == 'e' || source.charAt(pos) == 'E')) {
+            int mark = pos++;
+            if (pos < source.length() && (source.charAt(pos) == '+' || source.charAt(pos) == '-')) pos++;
+            if (pos < source.length() && Character.isDigit(source.charAt(pos))) {
+                while (pos < source.length() && Character.isDigit(source.charAt(pos))) pos++;
+            } else {
+                // Not an exponent after all, e.g. "2exp": leave the letter for the caller
+                pos = mark;
+            }
+        }
+        try {
+            return new Constant(Double.parseDouble(source.substring(start, pos)));
+        } catch (NumberFormatException ex) {
+            pos = start;
+            throw error("Malformed number");
+        }
+    }
+
+    private String name() {
+        int start = pos;
+        while (pos < source.length() && (Character.isLetterOrDigit(source.charAt(pos)) || source.charAt(pos) == '_')) pos++;
+        return source.substring(start, pos);
+    }
+
+    private boolean accept(char c) {
+        skipSpaces();
+        if (pos < source.length() && source.charAt(pos) == c) {
+            pos++;
+            return true;
+        }
+        return false;
+    }
+
+    private void expect(char c) {
+        if (!accept(c)) throw error("Expected '" + c + "'");
+    }
+
+    private void skipSpaces() {
+        while (pos < source.length() && Character.isWhitespace(source.charAt(pos))) pos++;
+    }
+
+    private IllegalArgumentException error(String message) {
+        return new IllegalArgumentException(message + " at position " + (pos + 1) + " of '" + source + "'");
+    }
+}
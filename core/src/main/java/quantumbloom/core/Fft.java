@@ -0,0 +1,83 @@
+package quantumbloom.core;
+
+/**
+ * In-place radix-2 complex FFT over split real/imaginary {@code double[]} arrays.
+ *
+ * Twiddle factors and the bit-reversal permutation are computed once per size,
+ * so a transform allocates nothing and an instance can be reused every frame.
+ */
+public final class Fft {
+
+    private final int size;
+    private final double[] cos, sin;
+    private final int[] reversed;
+
+    public Fft(int size) {
+        if (size < 2 || Integer.bitCount(size) != 1) {
+            throw new IllegalArgumentException("FFT size must be a power of two: " + size);
+        }
+        this.size = size;
+        cos = new double[size / 2];
+        sin = new double[size / 2];
+        for (int k = 0; k < size / 2; k++) {
+            cos[k] = Math.cos(2 * Math.PI * k / size);
+            sin[k] = Math.sin(2 * Math.PI * k / size);
+        }
+        int bits = Integer.numberOfTrailingZeros(size);
+        reversed = new int[size];
+        for (int i = 0; i < size; i++) {
+            reversed[i] = Integer.reverse(i) >>> (32 - bits);
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /** F_k = Σ_j f_j e^{-2πi jk/N}. */
+    public void forward(double[] re, double[] im) {
+        transform(re, im, -1.0);
+    }
+
+    /** f_j = (1/N) Σ_k F_k e^{+2πi jk/N}, the exact inverse of {@link #forward}. */
+    public void inverse(double[] re, double[] im) {
+        transform(re, im, 1.0);
+        double scale = 1.0 / size;
+        for (int i = 0; i < size; i++) {
+            re[i] *= scale;
+            im[i] *= scale;
+        }
+    }
+
+    private void transform(double[] re, double[] im, double sign) {
+        for (int i = 0; i < size; i++) {
+            int j = reversed[i];
+            if (j > i) {
+                double tr = re[i];
+                re[i] = re[j];
+                re[j] = tr;
+                double ti = im[i];
+                im[i] = im[j];
+                im[j] = ti;
+            }
+        }
+        for (int len = 2; len <= size; len <<= 1) {
+            int half = len >> 1;
+            int step = size / len;
+            for (int start = 0; start < size; start += len) {
+                for (int j = 0; j < half; j++) {
+                    double wr = cos[j * step];
+                    double wi = sign * sin[j * step];
+                    int a = start + j;
+                    int b = a + half;
+                    double tr = wr * re[b] - wi * im[b];
+                    double ti = wr * im[b] + wi * re[b];
+                    re[b] = re[a] - tr;
+                    im[b] = im[a] - ti;
+                    re[a] += tr;
+                    im[a] += ti;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package quantumbloom.core;
+
+/**
+ * Finite square well: V = 0 for |x| ≤ L/2 and {@link #DEPTH} out to hard
+ * walls at ±L. Levels below the rim are bound and leak into the barrier;
+ * those above it spread over the whole box. Solved numerically.
+ */
+public final class FiniteWell implements QuantumSystem {
+
+    /** Height of the barrier around the well. */
+    public static final double DEPTH = 1.0;
+
+    private final NumericalLevels numerical = new NumericalLevels("Finite Square Well", (x, L, out) -> {
+        for (int i = 0; i < x.length; i++) {
+            out[i] = well(x[i], L);
+        }
+    });
+    private int n = 1;
+    private double L = 10.0;
+    private final int[] levels = {1};
+    private final double[] coefficients = {1.0};
+    private final double[] coefficientsImag = {0.0};
+
+    @Override
+    public String getName() {
+        return "Finite Square Well";
+    }
+
+    @Override
+    public boolean usesQuantumNumber() {
+        return true;
+    }
+
+    @Override
+    public boolean usesWeights() {
+        return false;
+    }
+
+    @Override
+    public void configure(int n, double L, double[] weights) {
+        this.n = n;
+        this.L = L;
+        numerical.configure(L);
+        levels[0] = n;
+    }
+
+    @Override
+    public int getMaxLevel() {
+        return numerical.levels();
+    }
+
+    @Override
+    public double getEnergy(int level) {
+        return numerical.energy(level);
+    }
+
+    @Override
+    public boolean isLevelOccupied(int level) {
+        return level == n;
+    }
+
+    @Override
+    public int[] getLevels() {
+        return levels;
+    }
+
+    @Override
+    public double[] getCoefficients() {
+        return coefficients;
+    }
+
+    @Override
+    public double[] getCoefficientsImag() {
+        return coefficientsImag;
+    }
+
+    @Override
+    public void eigenfunction(int level, double L, double[] x, double[] out) {
+        numerical.eigenfunction(level, L, x, out);
+    }
+
+    @Override
+    public double potential(double x) {
+        return Math.abs(x) <= L ? well(x, L) : Double.POSITIVE_INFINITY;
+    }
+
+    private static double well(double x, double L) {
+        return Math.abs(x) <= L / 2 ? 0.0 : DEPTH;
+    }
+
+    @Override
+    public void evaluate(double[] x, double t, double[] re, double[] im) {
+        numerical.evaluate(n, x, t, re, im);
+    }
+
+    @Override
+    public String getKnowledge() {
+        return "🕳️ Finite Square Well 🕳️\n" +
+                "Potential: V = 0 for |x| ≤ L/2, V = " + DEPTH + " out to the walls\n" +
+                "Energy: E_" + n + " = " + String.format("%.4f", getEnergy(n)) + " (solved numerically)\n" +
+                "Unlike the infinite box, the walls are soft: bound states leak a little into the barrier, which lowers their energy. Levels above the rim spread over the whole box! 🌊";
+    }
+}
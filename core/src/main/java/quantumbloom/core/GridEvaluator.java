@@ -0,0 +1,72 @@
+package quantumbloom.core;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Fork-join evaluation of grids that split into independent rows, such as the
+ * x–t heatmap, time samples of ⟨x⟩ or parameter sweeps, on a bounded pool.
+ *
+ * Work is always split at the same points (halving down to a fixed grain),
+ * whatever the pool size.
+ */
+public class GridEvaluator {
+
+    /** Work on a block of rows [from, to); blocks let tasks reuse scratch buffers. */
+    @FunctionalInterface
+    public interface RowTask {
+        void run(int from, int to);
+    }
+
+    private static final int ROW_GRAIN = 4;
+
+    private final ForkJoinPool pool;
+
+    public GridEvaluator(int parallelism) {
+        pool = new ForkJoinPool(parallelism);
+    }
+
+    /** All cores but one, which is left for the JavaFX Application Thread. */
+    public static int defaultParallelism() {
+        return Math.max(1, Runtime.getRuntime().availableProcessors() - 1);
+    }
+
+    public int getParallelism() {
+        return pool.getParallelism();
+    }
+
+    /** Runs {@code task} over rows [0, rows) in parallel blocks and waits for all of them. */
+    public void forEachRow(int rows, RowTask task) {
+        if (rows <= ROW_GRAIN || pool.getParallelism() == 1) {
+            task.run(0, rows);
+        } else {
+            pool.invoke(new RowAction(task, 0, rows));
+        }
+    }
+
+    public void shutdown() {
+        pool.shutdownNow();
+    }
+
+    private static final class RowAction extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+        private final RowTask task;
+        private final int from, to;
+
+        RowAction(RowTask task, int from, int to) {
+            this.task = task;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= ROW_GRAIN) {
+                task.run(from, to);
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new RowAction(task, from, mid), new RowAction(task, mid, to));
+        }
+    }
+}
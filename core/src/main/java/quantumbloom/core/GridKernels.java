@@ -0,0 +1,40 @@
+package quantumbloom.core;
+
+/**
+ * The per-point loops that dominate a frame: phase rotation, |ψ|², superposition
+ * accumulation and quadrature. {@link Kernels#active()} picks a scalar or a
+ * SIMD implementation; both give the same results up to rounding.
+ *
+ * All methods work on the first {@code n} entries of their arrays and
+ * allocate nothing. Implementations are stateless and thread-safe.
+ */
+public interface GridKernels {
+
+    /** Short name for logs and overlays, such as "scalar" or "AVX 256-bit". */
+    String getName();
+
+    /** ψ ← ψ · (cos + i sin) pointwise. */
+    void rotate(double[] re, double[] im, double[] cos, double[] sin, int n);
+
+    /** ψ ← ψ · factor pointwise, for real factors such as absorbing masks. */
+    void scale(double[] re, double[] im, double[] factor, int n);
+
+    /** out ← re² + im². */
+    void density(double[] re, double[] im, double[] out, int n);
+
+    /**
+     * ψ ← Σ_k (a_k + i b_k) φ_k over the first {@code size} points, where φ_k is
+     * row k of the row-major {@code count × size} matrix and
+     * {@code phases = [a_0, b_0, a_1, b_1, …]}.
+     */
+    void superpose(double[] matrix, int count, int size, double[] phases, double[] re, double[] im);
+
+    /** ∫ a·b·c dx by the trapezoid rule over n points spaced {@code h} apart; 0 for fewer than two points. */
+    double trapezoid(double[] a, double[] b, double[] c, int n, double h);
+
+    /**
+     * ∫ a·b·c dx by Simpson's rule over n points spaced {@code h} apart;
+     * {@code n} must be odd and at least 3, else {@link IllegalArgumentException}.
+     */
+    double simpson(double[] a, double[] b, double[] c, int n, double h);
+}
@@ -0,0 +1,124 @@
+package quantumbloom.core;
+
+/**
+ * Quantum harmonic oscillator with V(x) = ½ m ω² x².
+ */
+public final class HarmonicOscillator implements QuantumSystem {
+
+    /** Highest level offered; the recurrence itself is good well beyond it. */
+    public static final int MAX_LEVEL = 4000;
+    private static final HermiteFunctions HERMITE = new HermiteFunctions(MAX_LEVEL);
+
+    private int n = 1;
+    private double energy;
+    private final int[] levels = {1};
+    private final double[] coefficients = {1.0};
+    private final double[] coefficientsImag = {0.0};
+
+    @Override
+    public String getName() {
+        return "Quantum Harmonic Oscillator";
+    }
+
+    @Override
+    public boolean usesQuantumNumber() {
+        return true;
+    }
+
+    @Override
+    public int getMaxQuantumNumber() {
+        return MAX_LEVEL;
+    }
+
+    @Override
+    public boolean usesWeights() {
+        return false;
+    }
+
+    @Override
+    public void configure(int n, double L, double[] weights) {
+        this.n = n;
+        energy = getEnergy(n);
+        levels[0] = n;
+    }
+
+    @Override
+    public int getMaxLevel() {
+        return MAX_LEVEL;
+    }
+
+    @Override
+    public double getEnergy(int level) {
+        return HBAR * OMEGA * (level + 0.5);
+    }
+
+    @Override
+    public boolean isLevelOccupied(int level) {
+        return level == n;
+    }
+
+    @Override
+    public int[] getLevels() {
+        return levels;
+    }
+
+    @Override
+    public double[] getCoefficients() {
+        return coefficients;
+    }
+
+    @Override
+    public double[] getCoefficientsImag() {
+        return coefficientsImag;
+    }
+
+    @Override
+    public void eigenfunction(int level, double L, double[] x, double[] out) {
+        HERMITE.evaluate(level, x, out);
+    }
+
+    @Override
+    public void eigenfunctions(int first, double L, double[] x, double[][] out) {
+        HERMITE.table(x, first, out);
+    }
+
+    @Override
+    public double potential(double x) {
+        return 0.5 * MASS * OMEGA * OMEGA * x * x;
+    }
+
+    @Override
+    public void evaluate(double[] x, double t, double[] re, double[] im) {
+        double c = Math.cos(energy * t / HBAR);
+        double s = -Math.sin(energy * t / HBAR);
+        for (int i = 0; i < x.length; i++) {
+            double psi = HERMITE.value(n, x[i]);
+            re[i] = c * psi;
+            im[i] = s * psi;
+        }
+    }
+
+    @Override
+    public String getKnowledge() {
+        return "🌈 Quantum Harmonic Oscillator 🌈\n" +
+                "Wavefunction: ψ_n(x) ∝ H_n(x) e^(-x²/2)\n" +
+                "Energy: E_n = ℏ ω (n + 1/2)\n" +
+                "This models systems like molecular vibrations. The wavefunction oscillates more with higher n, and energy levels are equally spaced! ⚛️";
+    }
+
+    /**
+     * Physicists' Hermite polynomial H_n(x), by the three-term recurrence.
+     * Overflows for large n and |x|; ψ_n should come from {@link HermiteFunctions}.
+     */
+    public static double hermitePolynomial(int n, double x) {
+        if (n == 0) return 1.0;
+        if (n == 1) return 2 * x;
+        double h0 = 1.0, h1 = 2 * x;
+        for (int i = 2; i <= n; i++) {
+            double h2 = 2 * x * h1 - 2 * (i - 1) * h0;
+            h0 = h1;
+            h1 = h2;
+        }
+        return h1;
+    }
+}
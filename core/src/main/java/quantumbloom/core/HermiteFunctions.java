@@ -0,0 +1,124 @@
+package quantumbloom.core;
+
+/**
+ * Normalised Hermite functions ψ_n(x) = H_n(x) e^{-x²/2} / √(2ⁿ n! √π), the
+ * oscillator eigenstates for m = ω = ℏ = 1, computed by the normalised
+ * recurrence
+ *
+ * <pre>
+ * ψ_0 = π^{-1/4} e^{-x²/2},   ψ_1 = √2 x ψ_0,
+ * ψ_k = √(2/k) x ψ_{k-1} - √((k-1)/k) ψ_{k-2}
+ * </pre>
+ *
+ * instead of H_n and n!, which overflow a double in the low hundreds and a
+ * long past n = 20. The recurrence runs on e^{-x²/2}-free values and is rescaled by
+ * 2^{-RESCALE_BITS} whenever it grows too large, so the Gaussian is applied
+ * once at the end and ψ_n stays accurate for n in the thousands, even where
+ * e^{-x²/2} alone would underflow.
+ *
+ * The recurrence coefficients are tabulated once per instance. Instances are
+ * immutable and can be shared between threads.
+ */
+public final class HermiteFunctions {
+
+    private static final double PI_QUARTER_INV = Math.pow(Math.PI, -0.25);
+    private static final int RESCALE_BITS = 128;
+    private static final double RESCALE_ABOVE = Math.scalb(1.0, RESCALE_BITS);
+    private static final double LN2 = Math.log(2);
+
+    private final int maxLevel;
+    /** a[k] = √(2/k), b[k] = √((k-1)/k) for k ≥ 1. */
+    private final double[] a, b;
+
+    public HermiteFunctions(int maxLevel) {
+        this.maxLevel = maxLevel;
+        a = new double[maxLevel + 1];
+        b = new double[maxLevel + 1];
+        for (int k = 1; k <= maxLevel; k++) {
+            a[k] = Math.sqrt(2.0 / k);
+            b[k] = Math.sqrt((k - 1.0) / k);
+        }
+    }
+
+    public int getMaxLevel() {
+        return maxLevel;
+    }
+
+    /** ψ_n(x) at a single point. */
+    public double value(int n, double x) {
+        checkLevel(n);
+        double p0 = PI_QUARTER_INV, p1 = a[1] * x * p0;
+        if (n == 0) return p0 * Math.exp(-x * x / 2);
+        int scale = 0;
+        for (int k = 2; k <= n; k++) {
+            double p2 = a[k] * x * p1 - b[k] * p0;
+            p0 = p1;
+            p1 = p2;
+            if (Math.abs(p1) > RESCALE_ABOVE) {
+                p0 = Math.scalb(p0, -RESCALE_BITS);
+                p1 = Math.scalb(p1, -RESCALE_BITS);
+                scale += RESCALE_BITS;
+            }
+        }
+        return p1 * Math.exp(scale * LN2 - x * x / 2);
+    }
+
+    /** ψ_n at every point of {@code x}, into {@code out}. */
+    public void evaluate(int n, double[] x, double[] out) {
+        for (int i = 0; i < x.length; i++) {
+            out[i] = value(n, x[i]);
+        }
+    }
+
+    /**
+     * ψ_first … ψ_{first+out.length-1} over the whole grid in a single
+     * O(N · grid) pass: {@code out[k][i] = ψ_{first+k}(x[i])}. Runs level by
+     * level over the grid, so every step is a contiguous loop over a few arrays.
+     */
+    public void table(double[] x, int first, double[][] out) {
+        int levels = first + out.length;
+        checkLevel(levels - 1);
+        int size = x.length;
+        // prev/cur are the scaled recurrence values; factor is 2^scale e^{-x²/2} per point
+        double[] prev = new double[size], cur = new double[size], factor = new double[size];
+        int[] scale = new int[size];
+        for (int i = 0; i < size; i++) {
+            cur[i] = PI_QUARTER_INV;
+            factor[i] = Math.exp(-x[i] * x[i] / 2);
+        }
+        if (first == 0) {
+            for (int i = 0; i < size; i++) out[0][i] = cur[i] * factor[i];
+        }
+        if (levels == 1) return;
+        for (int i = 0; i < size; i++) {
+            prev[i] = cur[i];
+            cur[i] = a[1] * x[i] * prev[i];
+        }
+        if (first <= 1) {
+            for (int i = 0; i < size; i++) out[1 - first][i] = cur[i] * factor[i];
+        }
+        double[] skipped = first > 2 ? new double[size] : null;
+        for (int k = 2; k < levels; k++) {
+            double ak = a[k], bk = b[k];
+            double[] row = k >= first ? out[k - first] : skipped;
+            for (int i = 0; i < size; i++) {
+                double next = ak * x[i] * cur[i] - bk * prev[i];
+                prev[i] = cur[i];
+                cur[i] = next;
+                if (Math.abs(next) > RESCALE_ABOVE) {
+                    prev[i] = Math.scalb(prev[i], -RESCALE_BITS);
+                    cur[i] = Math.scalb(next, -RESCALE_BITS);
+                    scale[i] += RESCALE_BITS;
+                    factor[i] = Math.exp(scale[i] * LN2 - x[i] * x[i] / 2);
+                }
+                row[i] = cur[i] * factor[i];
+            }
+        }
+    }
+
+    private void checkLevel(int n) {
+        if (n < 0 || n > maxLevel) {
+            throw new IllegalArgumentException("Level " + n + " outside 0.." + maxLevel);
+        }
+    }
+}
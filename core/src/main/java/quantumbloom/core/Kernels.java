@@ -0,0 +1,64 @@
+package quantumbloom.core;
+
+/**
+ * Chooses the {@link GridKernels} the numerical code runs on.
+ *
+ * The SIMD kernels are used when the JVM was started with
+ * {@code --add-modules jdk.incubator.vector}, unless the system property
+ * {@value #PROPERTY} is {@code false}; otherwise everything runs on the
+ * scalar kernels. {@link #setVectorEnabled} switches at run time, taking
+ * effect from the next kernel call.
+ */
+public final class Kernels {
+
+    /** System property that turns the SIMD kernels off when set to {@code false}. */
+    public static final String PROPERTY = "quantumbloom.simd";
+
+    private static final GridKernels SCALAR = new ScalarKernels();
+    private static final GridKernels VECTOR = loadVector();
+    private static volatile GridKernels active =
+            VECTOR != null && !"false".equalsIgnoreCase(System.getProperty(PROPERTY)) ? VECTOR : SCALAR;
+
+    private Kernels() { }
+
+    private static GridKernels loadVector() {
+        if (ModuleLayer.boot().findModule("jdk.incubator.vector").isEmpty()) {
+            return null;
+        }
+        try {
+            return new VectorKernels();
+        } catch (LinkageError | UnsupportedOperationException ex) {
+            return null;
+        }
+    }
+
+    /** The kernels in use. */
+    public static GridKernels active() {
+        return active;
+    }
+
+    /** The scalar reference kernels. */
+    public static GridKernels scalar() {
+        return SCALAR;
+    }
+
+    /** The SIMD kernels, or null when the Vector API module is not loaded. */
+    public static GridKernels vector() {
+        return VECTOR;
+    }
+
+    public static boolean isVectorAvailable() {
+        return VECTOR != null;
+    }
+
+    /**
+     * Switches between the SIMD and scalar kernels; asking for SIMD without the
+     * Vector API module keeps the scalar ones.
+     *
+     * @return whether the SIMD kernels are now in use
+     */
+    public static boolean setVectorEnabled(boolean enabled) {
+        active = enabled && VECTOR != null ? VECTOR : SCALAR;
+        return active == VECTOR;
+    }
+}
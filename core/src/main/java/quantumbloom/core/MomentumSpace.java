@@ -0,0 +1,62 @@
+package quantumbloom.core;
+
+import java.util.Arrays;
+
+/**
+ * Momentum-space density |φ(p)|² of a sampled position-space wavefunction,
+ * φ(p) = (2πℏ)^{-1/2} ∫ ψ(x) e^{-ipx/ℏ} dx.
+ *
+ * The samples are zero-padded into preallocated buffers and transformed with
+ * {@link Fft}; padding to the FFT size refines the momentum spacing to
+ * dp = 2πℏ / (N dx). Nothing is allocated per transform.
+ */
+public class MomentumSpace {
+
+    private final Fft fft;
+    private final double[] re, im, density;
+    private double dp = 1.0;
+
+    public MomentumSpace(int size) {
+        fft = new Fft(size);
+        re = new double[size];
+        im = new double[size];
+        density = new double[size];
+    }
+
+    /** Transforms the first {@code count} samples of ψ, spaced {@code dx} apart. */
+    public void transform(double[] psiRe, double[] psiIm, int count, double dx) {
+        int size = fft.size();
+        if (count > size) {
+            throw new IllegalArgumentException("More samples than FFT points: " + count + " > " + size);
+        }
+        System.arraycopy(psiRe, 0, re, 0, count);
+        System.arraycopy(psiIm, 0, im, 0, count);
+        Arrays.fill(re, count, size, 0.0);
+        Arrays.fill(im, count, size, 0.0);
+        fft.forward(re, im);
+
+        // The position offset only contributes a phase, so |φ|² needs just the bin magnitudes
+        double scale = dx * dx / (2 * Math.PI * QuantumSystem.HBAR);
+        int half = size / 2;
+        for (int k = 0; k < size; k++) {
+            int bin = (k + half) & (size - 1);
+            density[k] = scale * (re[bin] * re[bin] + im[bin] * im[bin]);
+        }
+        dp = 2 * Math.PI * QuantumSystem.HBAR / (size * dx);
+    }
+
+    /** Momentum spacing of the last transform. */
+    public double getDp() {
+        return dp;
+    }
+
+    /** |φ(p)|² from the last transform, linearly interpolated between bins; 0 outside the band. */
+    public double densityAt(double p) {
+        int size = fft.size();
+        double pos = p / dp + size / 2;
+        int k = (int) Math.floor(pos);
+        if (k < 0 || k >= size - 1) return 0.0;
+        double frac = pos - k;
+        return density[k] * (1 - frac) + density[k + 1] * frac;
+    }
+}
@@ -0,0 +1,126 @@
+package quantumbloom.core;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Levels of a potential without a closed-form spectrum, from
+ * {@link TridiagonalEigensolver} on [-L, L] with hard walls at both ends.
+ * Systems built on a numerical potential keep one of these and delegate
+ * energies, eigenfunctions and the time evolution of a single level to it.
+ *
+ * Levels are numbered from 1, the ground state, like the particle in a box.
+ * Spectra are shared between instances in a small LRU cache keyed by
+ * (potential, L, grid, levels), so the studio and the compute pipeline solve
+ * each potential once; the solve itself runs outside the lock.
+ */
+final class NumericalLevels {
+
+    /** V(x) for half-width L at every point of x, written into out; values inside [-L, L] only. */
+    interface Potential {
+        void sample(double[] x, double L, double[] out);
+    }
+
+    /** Interior grid points of a solve; the stencil error in E_n is about (nπ/2L)² h²/12 relative. */
+    static final int POINTS = 8192;
+    /** Levels solved for: the quantum number slider goes to 10 and the 2D view adds n + 1. */
+    static final int LEVELS = 12;
+    private static final int CACHED = 16;
+
+    private record Key(String potential, double L, int points, int levels) { }
+
+    private static final Map<Key, Spectrum> spectra = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Key, Spectrum> eldest) {
+            return size() > CACHED;
+        }
+    };
+
+    private final int points, levels;
+    private String name;
+    private Potential potential;
+    private double L = Double.NaN;
+    private Spectrum spectrum;
+
+    /** {@link #LEVELS} levels on {@link #POINTS} points; see {@link #define}. */
+    NumericalLevels(String name, Potential potential) {
+        this(name, potential, POINTS, LEVELS);
+    }
+
+    NumericalLevels(String name, Potential potential, int points, int levels) {
+        this.points = points;
+        this.levels = levels;
+        define(name, potential);
+    }
+
+    /**
+     * Switches to another potential. {@code name} identifies it in the cache,
+     * so it must change whenever the values of V do.
+     */
+    void define(String name, Potential potential) {
+        this.name = name;
+        this.potential = potential;
+        L = Double.NaN;
+    }
+
+    /** Solves, or looks up, the spectrum for {@code L}. */
+    void configure(double L) {
+        if (L != this.L) {
+            spectrum = spectrum(L);
+            this.L = L;
+        }
+    }
+
+    /** The spectrum for the configured L. */
+    Spectrum spectrum() {
+        return spectrum;
+    }
+
+    int levels() {
+        return levels;
+    }
+
+    /** Energy of {@code level} for the configured L. */
+    double energy(int level) {
+        return spectrum.energy(index(level));
+    }
+
+    void eigenfunction(int level, double L, double[] x, double[] out) {
+        int index = index(level);
+        Spectrum s = L == this.L ? spectrum : spectrum(L);
+        s.eigenfunction(index, x, out);
+    }
+
+    /** φ_level(x) e^{-iE t/ℏ} at every point of {@code x}. */
+    void evaluate(int level, double[] x, double t, double[] re, double[] im) {
+        spectrum.eigenfunction(index(level), x, re);
+        double phase = energy(level) * t / QuantumSystem.HBAR;
+        double cos = Math.cos(phase), sin = -Math.sin(phase);
+        for (int i = 0; i < x.length; i++) {
+            im[i] = sin * re[i];
+            re[i] *= cos;
+        }
+    }
+
+    private int index(int level) {
+        if (level < 1 || level > levels) {
+            throw new IllegalArgumentException("Level " + level + " is outside the " + levels + " levels solved for");
+        }
+        return level - 1;
+    }
+
+    private Spectrum spectrum(double L) {
+        Key key = new Key(name, L, points, levels);
+        synchronized (spectra) {
+            Spectrum cached = spectra.get(key);
+            if (cached != null) return cached;
+        }
+        double[] x = TridiagonalEigensolver.grid(-L, L, points), v = new double[points];
+        potential.sample(x, L, v);
+        Spectrum solved = TridiagonalEigensolver.solve(v, -L, L, levels);
+        synchronized (spectra) {
+            Spectrum raced = spectra.putIfAbsent(key, solved);
+            return raced != null ? raced : solved;
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package quantumbloom.core;
+
+/**
+ * Particle in an infinite square well spanning [-L, L], so of width 2L:
+ * φ_n(x) = sin(nπ(x + L)/(2L))/√L and E_n = n²π²ℏ²/(8mL²).
+ */
+public final class ParticleInABox implements QuantumSystem {
+
+    private int n = 1;
+    private double L = 10.0;
+    private double norm, k, energy;
+    private final int[] levels = {1};
+    private final double[] coefficients = {1.0};
+    private final double[] coefficientsImag = {0.0};
+
+    @Override
+    public String getName() {
+        return "Particle in a Box";
+    }
+
+    @Override
+    public boolean usesQuantumNumber() {
+        return true;
+    }
+
+    @Override
+    public boolean usesWeights() {
+        return false;
+    }
+
+    @Override
+    public void configure(int n, double L, double[] weights) {
+        this.n = n;
+        this.L = L;
+        norm = 1 / Math.sqrt(L);
+        k = n * Math.PI / (2 * L);
+        energy = getEnergy(n);
+        levels[0] = n;
+    }
+
+    @Override
+    public double getEnergy(int level) {
+        return (level * level * Math.PI * Math.PI * HBAR * HBAR) / (8 * MASS * L * L);
+    }
+
+    @Override
+    public boolean isLevelOccupied(int level) {
+        return level == n;
+    }
+
+    @Override
+    public int[] getLevels() {
+        return levels;
+    }
+
+    @Override
+    public double[] getCoefficients() {
+        return coefficients;
+    }
+
+    @Override
+    public double[] getCoefficientsImag() {
+        return coefficientsImag;
+    }
+
+    @Override
+    public void eigenfunction(int level, double L, double[] x, double[] out) {
+        double c = 1 / Math.sqrt(L);
+        double kl = level * Math.PI / (2 * L);
+        for (int i = 0; i < x.length; i++) {
+            out[i] = c * Math.sin(kl * (x[i] + L));
+        }
+    }
+
+    @Override
+    public double potential(double x) {
+        return Math.abs(x) <= L ? 0.0 : Double.POSITIVE_INFINITY;
+    }
+
+    @Override
+    public void evaluate(double[] x, double t, double[] re, double[] im) {
+        double c = norm * Math.cos(energy * t / HBAR);
+        double s = -norm * Math.sin(energy * t / HBAR);
+        for (int i = 0; i < x.length; i++) {
+            double psi = Math.sin(k * (x[i] + L));
+            re[i] = c * psi;
+            im[i] = s * psi;
+        }
+    }
+
+    @Override
+    public String getKnowledge() {
+        return "🌟 Particle in a Box 🌟\n" +
+                "Wavefunction: ψ_n(x) = (1/√L) sin(nπ(x + L)/(2L)) between the walls at ±L\n" +
+                "Energy: E_n = (n² π² ℏ²) / (8 m L²)\n" +
+                "This models a particle confined between two walls, showing quantized energy levels. The probability density shows where the particle is likely to be found! 🔬";
+    }
+}
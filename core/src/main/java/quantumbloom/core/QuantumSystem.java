@@ -0,0 +1,115 @@
+package quantumbloom.core;
+
+/**
+ * A one-dimensional quantum system that Quantum Bloom Studio can plot.
+ *
+ * Implementations are discovered with {@link java.util.ServiceLoader}, so a new
+ * system (finite well, double well, Morse, ...) ships as a plugin by adding its
+ * class name to META-INF/services/quantumbloom.core.QuantumSystem. Each implementation is a plain
+ * final class with its own evaluation loop: all per-state constants are worked
+ * out in {@link #configure}, and {@link #evaluate} runs a branch-free kernel
+ * over the whole grid.
+ */
+public interface QuantumSystem {
+
+    double HBAR = 1.0;
+    double MASS = 1.0;
+    double OMEGA = 1.0;
+
+    /** Display name, also used as the key in saved state files. */
+    String getName();
+
+    /**
+     * Identifies the eigenfunctions for caches: configurations with the same
+     * key and L have the same φ_level(x). The name, unless the basis depends on
+     * more than L, as for a user-defined potential.
+     */
+    default String getBasisKey() {
+        return getName();
+    }
+
+    /** Whether the quantum number slider applies to this system. */
+    boolean usesQuantumNumber();
+
+    /** Upper end of the quantum number slider. */
+    default int getMaxQuantumNumber() {
+        return 10;
+    }
+
+    /**
+     * Highest level {@link #getEnergy} and {@link #eigenfunction} accept;
+     * unbounded unless the basis is tabulated or solved for a fixed number of levels.
+     */
+    default int getMaxLevel() {
+        return Integer.MAX_VALUE;
+    }
+
+    /** Whether the superposition weight slider applies to this system. */
+    boolean usesWeights();
+
+    /** Sets the state to evaluate: quantum number, length/scale and superposition weights. */
+    void configure(int n, double L, double[] weights);
+
+    /** Energy of level {@code level} for the configured length/scale. */
+    double getEnergy(int level);
+
+    /** Whether {@code level} contributes to the configured state. */
+    boolean isLevelOccupied(int level);
+
+    /**
+     * Whether ψ is a finite sum of stationary states, so it can be built from
+     * {@link #getLevels()} and {@link #eigenfunction}. Numerically propagated
+     * systems return false and are only available through {@link #evaluate}.
+     */
+    default boolean isStationaryExpansion() {
+        return true;
+    }
+
+    /** Levels that make up the configured state. */
+    int[] getLevels();
+
+    /** Real part of the expansion coefficient of each entry of {@link #getLevels()}. */
+    double[] getCoefficients();
+
+    /**
+     * Imaginary part of the expansion coefficient of each entry of
+     * {@link #getLevels()}. Zero unless overridden; built-in systems return a
+     * kept array instead of allocating.
+     */
+    default double[] getCoefficientsImag() {
+        return new double[getLevels().length];
+    }
+
+    /**
+     * Writes the normalised spatial eigenfunction φ_level(x) for length/scale
+     * {@code L} at every point of {@code x} into {@code out}. Depends only on its
+     * arguments and {@link #getBasisKey()}, so results can be cached. Must not
+     * throw: systems that are not a {@link #isStationaryExpansion() stationary
+     * expansion} have no eigenfunctions and write zeros.
+     */
+    void eigenfunction(int level, double L, double[] x, double[] out);
+
+    /**
+     * {@link #eigenfunction} for the levels first, first + 1, …, with
+     * {@code out[k]} receiving level {@code first + k}. Systems whose
+     * eigenfunctions follow a recurrence over levels override this to fill
+     * the whole table in one pass.
+     */
+    default void eigenfunctions(int first, double L, double[] x, double[][] out) {
+        for (int k = 0; k < out.length; k++) {
+            eigenfunction(first + k, L, x, out[k]);
+        }
+    }
+
+    /** Potential energy V(x); {@link Double#POSITIVE_INFINITY} marks a hard wall. */
+    double potential(double x);
+
+    /**
+     * Evaluates ψ(x, t) at every point of {@code x}, writing the real and
+     * imaginary parts into {@code re} and {@code im}.
+     */
+    void evaluate(double[] x, double t, double[] re, double[] im);
+
+    /** Text shown in the "Learn More" dialog. */
+    String getKnowledge();
+}
@@ -0,0 +1,102 @@
+package quantumbloom.core;
+
+/**
+ * Plain-Java {@link GridKernels}, used when the Vector API is unavailable or
+ * switched off, and as the reference the SIMD kernels are checked against.
+ */
+final class ScalarKernels implements GridKernels {
+
+    /** Grid points per superposition block; with four rows this touches about 48 KiB. */
+    static final int BLOCK = 512;
+
+    @Override
+    public String getName() {
+        return "scalar";
+    }
+
+    @Override
+    public void rotate(double[] re, double[] im, double[] cos, double[] sin, int n) {
+        for (int i = 0; i < n; i++) {
+            double r = re[i], m = im[i];
+            re[i] = r * cos[i] - m * sin[i];
+            im[i] = r * sin[i] + m * cos[i];
+        }
+    }
+
+    @Override
+    public void scale(double[] re, double[] im, double[] factor, int n) {
+        for (int i = 0; i < n; i++) {
+            re[i] *= factor[i];
+            im[i] *= factor[i];
+        }
+    }
+
+    @Override
+    public void density(double[] re, double[] im, double[] out, int n) {
+        for (int i = 0; i < n; i++) {
+            out[i] = re[i] * re[i] + im[i] * im[i];
+        }
+    }
+
+    @Override
+    public void superpose(double[] matrix, int count, int size, double[] phases, double[] re, double[] im) {
+        for (int from = 0; from < size; from += BLOCK) {
+            int to = Math.min(size, from + BLOCK);
+            for (int i = from; i < to; i++) {
+                re[i] = 0.0;
+                im[i] = 0.0;
+            }
+            int k = 0;
+            for (; k + 4 <= count; k += 4) {
+                int r0 = k * size, r1 = r0 + size, r2 = r1 + size, r3 = r2 + size;
+                double a0 = phases[2 * k], b0 = phases[2 * k + 1];
+                double a1 = phases[2 * k + 2], b1 = phases[2 * k + 3];
+                double a2 = phases[2 * k + 4], b2 = phases[2 * k + 5];
+                double a3 = phases[2 * k + 6], b3 = phases[2 * k + 7];
+                for (int i = from; i < to; i++) {
+                    double p0 = matrix[r0 + i], p1 = matrix[r1 + i], p2 = matrix[r2 + i], p3 = matrix[r3 + i];
+                    re[i] += a0 * p0 + a1 * p1 + a2 * p2 + a3 * p3;
+                    im[i] += b0 * p0 + b1 * p1 + b2 * p2 + b3 * p3;
+                }
+            }
+            for (; k < count; k++) {
+                int r = k * size;
+                double a = phases[2 * k], b = phases[2 * k + 1];
+                for (int i = from; i < to; i++) {
+                    double p = matrix[r + i];
+                    re[i] += a * p;
+                    im[i] += b * p;
+                }
+            }
+        }
+    }
+
+    @Override
+    public double trapezoid(double[] a, double[] b, double[] c, int n, double h) {
+        if (n < 2) return 0;
+        double sum = 0;
+        for (int i = 0; i < n; i++) {
+            sum += a[i] * b[i] * c[i];
+        }
+        sum -= 0.5 * (a[0] * b[0] * c[0] + a[n - 1] * b[n - 1] * c[n - 1]);
+        return sum * h;
+    }
+
+    @Override
+    public double simpson(double[] a, double[] b, double[] c, int n, double h) {
+        checkSimpson(n);
+        // Weights 1, 4, 2, 4, …, 4, 1 are 2 everywhere, plus 2 on odd points, minus 1 at the ends
+        double sum = 0;
+        for (int i = 0; i < n; i++) {
+            sum += ((i & 1) == 0 ? 2 : 4) * (a[i] * b[i] * c[i]);
+        }
+        sum -= a[0] * b[0] * c[0] + a[n - 1] * b[n - 1] * c[n - 1];
+        return sum * h / 3;
+    }
+
+    static void checkSimpson(int n) {
+        if (n < 3 || (n & 1) == 0) {
+            throw new IllegalArgumentException("Simpson's rule needs an odd number of points, got " + n);
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package quantumbloom.core;
+
+/**
+ * The lowest levels of a potential on [from, to] as found by
+ * {@link TridiagonalEigensolver}: energies in ascending order and each
+ * eigenfunction sampled on the interior grid, normalised so that ∫ψ² dx = 1.
+ *
+ * Instances are immutable and can be shared between threads.
+ */
+public final class Spectrum {
+
+    private final double from, to, h;
+    private final double[] energies;
+    private final double[][] states;
+
+    Spectrum(double from, double to, double[] energies, double[][] states) {
+        this.from = from;
+        this.to = to;
+        this.energies = energies;
+        this.states = states;
+        h = (to - from) / (states[0].length + 1);
+    }
+
+    /** Number of levels. */
+    public int count() {
+        return energies.length;
+    }
+
+    /** Interior grid points each eigenfunction is sampled on. */
+    public int points() {
+        return states[0].length;
+    }
+
+    /** Energy of level {@code index}, 0 being the ground state. */
+    public double energy(int index) {
+        return energies[index];
+    }
+
+    /** The samples of level {@code index}; callers must not modify them. */
+    public double[] state(int index) {
+        return states[index];
+    }
+
+    /**
+     * Writes level {@code index} at {@code x} into {@code out}, linearly
+     * interpolated between grid points; zero at and beyond the ends.
+     */
+    public void eigenfunction(int index, double[] x, double[] out) {
+        double[] state = states[index];
+        int n = state.length;
+        for (int i = 0; i < x.length; i++) {
+            // Position in grid units, with the walls at -1 and n
+            double u = (x[i] - from) / h - 1;
+            if (!(u > -1 && u < n)) {
+                out[i] = 0;
+                continue;
+            }
+            int j = (int) Math.floor(u);
+            double f = u - j;
+            double left = j >= 0 ? state[j] : 0, right = j + 1 < n ? state[j + 1] : 0;
+            out[i] = left + f * (right - left);
+        }
+    }
+}
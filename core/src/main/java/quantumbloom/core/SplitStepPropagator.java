@@ -0,0 +1,201 @@
+package quantumbloom.core;
+
+import java.util.Arrays;
+import java.util.function.DoubleUnaryOperator;
+
+/**
+ * Split-operator Fourier propagator for the time-dependent Schrödinger equation
+ * iℏ ∂ψ/∂t = [-ℏ²/(2m) ∂²/∂x² + V(x)] ψ on a uniform periodic grid.
+ *
+ * Each step applies e^{-iV dt/2ℏ}, the kinetic phase e^{-ip² dt/2mℏ} in
+ * momentum space, then e^{-iV dt/2ℏ} again (Strang splitting), followed by an
+ * absorbing mask near the grid edges so outgoing waves do not wrap around.
+ * All phase tables are precomputed when the potential or time step changes,
+ * and stepping works in place on preallocated buffers.
+ */
+public class SplitStepPropagator {
+
+    /** Largest supported grid. */
+    public static final int MAX_SIZE = 1 << 16;
+
+    private final int size;
+    private final double xMin, dx;
+    private final Fft fft;
+    private final double[] x, re, im, potential, mask;
+    private final double[] halfCos, halfSin, fullCos, fullSin, kineticCos, kineticSin;
+    private double dt = 0.005;
+    private double time = 0;
+
+    /** A grid of {@code size} points (a power of two) spanning [xMin, xMax). */
+    public SplitStepPropagator(int size, double xMin, double xMax) {
+        if (size > MAX_SIZE) {
+            throw new IllegalArgumentException("Grid too large: " + size + " > " + MAX_SIZE);
+        }
+        this.size = size;
+        this.xMin = xMin;
+        this.dx = (xMax - xMin) / size;
+        fft = new Fft(size);
+        x = new double[size];
+        re = new double[size];
+        im = new double[size];
+        potential = new double[size];
+        mask = new double[size];
+        halfCos = new double[size];
+        halfSin = new double[size];
+        fullCos = new double[size];
+        fullSin = new double[size];
+        kineticCos = new double[size];
+        kineticSin = new double[size];
+        for (int i = 0; i < size; i++) {
+            x[i] = xMin + i * dx;
+        }
+        Arrays.fill(mask, 1.0);
+        updatePhases();
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /** Grid positions; must not be modified. */
+    public double[] positions() {
+        return x;
+    }
+
+    public double getTime() {
+        return time;
+    }
+
+    public double getTimeStep() {
+        return dt;
+    }
+
+    public void setTimeStep(double dt) {
+        this.dt = dt;
+        updatePhases();
+    }
+
+    public void setPotential(DoubleUnaryOperator v) {
+        for (int i = 0; i < size; i++) {
+            potential[i] = v.applyAsDouble(x[i]);
+        }
+        updatePhases();
+    }
+
+    /** Copies V sampled on {@link #positions()}. */
+    public void setPotential(double[] v) {
+        System.arraycopy(v, 0, potential, 0, size);
+        updatePhases();
+    }
+
+    /**
+     * Absorbs outgoing waves within {@code width} of either edge using a
+     * cos^{1/8} mask; a width of 0 makes the grid periodic.
+     */
+    public void setAbsorbingWidth(double width) {
+        double xMax = xMin + size * dx;
+        for (int i = 0; i < size; i++) {
+            double depth = Math.max(xMin + width - x[i], x[i] - (xMax - width));
+            mask[i] = depth <= 0 ? 1.0 : Math.pow(Math.cos(0.5 * Math.PI * Math.min(depth / width, 1.0)), 0.125);
+        }
+    }
+
+    /** Replaces ψ and resets the clock to {@code t}. */
+    public void setState(double[] psiRe, double[] psiIm, double t) {
+        System.arraycopy(psiRe, 0, re, 0, size);
+        System.arraycopy(psiIm, 0, im, 0, size);
+        time = t;
+    }
+
+    /** Copies ψ on {@link #positions()} into the first {@link #size()} entries of the arrays. */
+    public void copyState(double[] psiRe, double[] psiIm) {
+        System.arraycopy(re, 0, psiRe, 0, size);
+        System.arraycopy(im, 0, psiIm, 0, size);
+    }
+
+    /** Copies V on {@link #positions()} into the first {@link #size()} entries of {@code out}. */
+    public void copyPotential(double[] out) {
+        System.arraycopy(potential, 0, out, 0, size);
+    }
+
+    /** Sets ψ to a normalised Gaussian packet centred at x0 with width sigma and mean momentum p0. */
+    public void setGaussianPacket(double x0, double sigma, double p0) {
+        double norm = Math.pow(2 * Math.PI * sigma * sigma, -0.25);
+        for (int i = 0; i < size; i++) {
+            double u = x[i] - x0;
+            double amplitude = norm * Math.exp(-u * u / (4 * sigma * sigma));
+            double phase = p0 * x[i] / QuantumSystem.HBAR;
+            re[i] = amplitude * Math.cos(phase);
+            im[i] = amplitude * Math.sin(phase);
+        }
+        time = 0;
+    }
+
+    /** Advances ψ by {@code steps} time steps. */
+    public void step(int steps) {
+        if (steps <= 0) return;
+        applyPotential(halfCos, halfSin);
+        for (int s = 0; s < steps; s++) {
+            fft.forward(re, im);
+            Kernels.active().rotate(re, im, kineticCos, kineticSin, size);
+            fft.inverse(re, im);
+            // Consecutive half steps of V merge into one full step
+            if (s < steps - 1) {
+                applyPotential(fullCos, fullSin);
+            } else {
+                applyPotential(halfCos, halfSin);
+            }
+            Kernels.active().scale(re, im, mask, size);
+        }
+        time += steps * dt;
+    }
+
+    /**
+     * Linearly interpolates ψ onto arbitrary positions; points outside the grid
+     * read as zero.
+     */
+    public void sample(double[] xs, double[] outRe, double[] outIm) {
+        for (int j = 0; j < xs.length; j++) {
+            double pos = (xs[j] - xMin) / dx;
+            int i = (int) Math.floor(pos);
+            if (i < 0 || i >= size - 1) {
+                outRe[j] = 0;
+                outIm[j] = 0;
+                continue;
+            }
+            double frac = pos - i;
+            outRe[j] = re[i] * (1 - frac) + re[i + 1] * frac;
+            outIm[j] = im[i] * (1 - frac) + im[i + 1] * frac;
+        }
+    }
+
+    /** ∫|ψ|² dx, which drops below 1 as the boundaries absorb probability. */
+    public double norm() {
+        double sum = 0;
+        for (int i = 0; i < size; i++) {
+            sum += re[i] * re[i] + im[i] * im[i];
+        }
+        return sum * dx;
+    }
+
+    private void applyPotential(double[] cos, double[] sin) {
+        Kernels.active().rotate(re, im, cos, sin, size);
+    }
+
+    private void updatePhases() {
+        for (int i = 0; i < size; i++) {
+            double phase = -potential[i] * dt / (2 * QuantumSystem.HBAR);
+            halfCos[i] = Math.cos(phase);
+            halfSin[i] = Math.sin(phase);
+            fullCos[i] = Math.cos(2 * phase);
+            fullSin[i] = Math.sin(2 * phase);
+        }
+        double dk = 2 * Math.PI / (size * dx);
+        for (int k = 0; k < size; k++) {
+            double p = QuantumSystem.HBAR * dk * (k < size / 2 ? k : k - size);
+            double phase = -p * p * dt / (2 * QuantumSystem.MASS * QuantumSystem.HBAR);
+            kineticCos[k] = Math.cos(phase);
+            kineticSin[k] = Math.sin(phase);
+        }
+    }
+}
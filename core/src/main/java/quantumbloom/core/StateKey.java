@@ -0,0 +1,30 @@
+package quantumbloom.core;
+
+import java.util.Arrays;
+
+/**
+ * Snapshot of the inputs that define a configured state (system, L, levels and
+ * coefficients), used by cached computations to tell when they are stale.
+ */
+final class StateKey {
+
+    private String system = "";
+    private double L = Double.NaN;
+    private int[] levels = {};
+    private double[] coefficients = {};
+    private double[] coefficientsImag = {};
+
+    boolean matches(QuantumSystem s, double L) {
+        return system.equals(s.getBasisKey()) && this.L == L
+                && Arrays.equals(levels, s.getLevels()) && Arrays.equals(coefficients, s.getCoefficients())
+                && Arrays.equals(coefficientsImag, s.getCoefficientsImag());
+    }
+
+    void set(QuantumSystem s, double L) {
+        system = s.getBasisKey();
+        this.L = L;
+        levels = s.getLevels().clone();
+        coefficients = s.getCoefficients().clone();
+        coefficientsImag = s.getCoefficientsImag().clone();
+    }
+}
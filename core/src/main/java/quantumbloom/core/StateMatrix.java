@@ -0,0 +1,59 @@
+package quantumbloom.core;
+
+/**
+ * A configured stationary-state expansion ready for evaluation: the dense
+ * eigenstate matrix φ_k(x_i) of its levels, one row per level, together with
+ * the complex coefficients and energies.
+ *
+ * ψ(x_i, t) = Σ_k c_k e^{-iE_k t/ℏ} φ_k(x_i) is a matrix × complex-vector
+ * product, done by {@link GridKernels#superpose}: it works through the grid in
+ * blocks and adds four rows at a time, so each block of ψ stays in L1 cache
+ * while the matrix streams past it. A frame costs N sin/cos pairs plus
+ * N · grid multiply-adds, linear in the number of states.
+ *
+ * Instances are immutable and can be shared between threads.
+ */
+public final class StateMatrix {
+
+    private final int count, size;
+    private final double[] matrix;
+    private final double[] coefficientsRe, coefficientsIm, energies;
+
+    /**
+     * @param matrix row-major {@code count × size}; row k holds level k of the state
+     */
+    StateMatrix(int count, int size, double[] matrix, double[] coefficientsRe, double[] coefficientsIm, double[] energies) {
+        this.count = count;
+        this.size = size;
+        this.matrix = matrix;
+        this.coefficientsRe = coefficientsRe;
+        this.coefficientsIm = coefficientsIm;
+        this.energies = energies;
+    }
+
+    /** Number of states. */
+    public int count() {
+        return count;
+    }
+
+    /** Grid points per row. */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Writes ψ(x, t) into the first {@link #size()} entries of {@code re} and
+     * {@code im}. {@code phases} is scratch space of at least 2 · {@link #count()}
+     * doubles, so the call allocates nothing.
+     */
+    public void evaluate(double t, double[] re, double[] im, double[] phases) {
+        // c_k e^{-iE_k t/ℏ} = (cr cos + ci sin) + i (ci cos - cr sin)
+        for (int k = 0; k < count; k++) {
+            double phase = energies[k] * t / QuantumSystem.HBAR;
+            double cos = Math.cos(phase), sin = Math.sin(phase);
+            phases[2 * k] = coefficientsRe[k] * cos + coefficientsIm[k] * sin;
+            phases[2 * k + 1] = coefficientsIm[k] * cos - coefficientsRe[k] * sin;
+        }
+        Kernels.active().superpose(matrix, count, size, phases, re, im);
+    }
+}
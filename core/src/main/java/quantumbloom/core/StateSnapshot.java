@@ -0,0 +1,477 @@
+package quantumbloom.core;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * A quantum state saved in full: the parameters, the formulas of a
+ * {@link CustomPotential}, the expansion coefficients, ψ on a uniform grid and
+ * V on the same grid, in a versioned little-endian binary file.
+ *
+ * Files are written through a {@link FileChannel} and read by memory-mapping
+ * them: {@link #read} checks the header and hands out {@link DoubleBuffer}
+ * views of the mapped file, so even a state of millions of points loads
+ * without parsing or copying. Every section starts on an 8-byte boundary.
+ *
+ * <pre>
+ * offset  size  field
+ *      0     4  magic "QBSS"
+ *      4     4  version, {@value #VERSION}
+ *      8     4  n
+ *     12     4  number of weights
+ *     16     8  L
+ *     24     8  t
+ *     32     4  bytes of the system name (UTF-8)
+ *     36     4  bytes of the basis name (UTF-8), 0 if none
+ *     40     4  number of levels
+ *     44     4  grid points
+ *     48     8  x of the first grid point
+ *     56     8  grid spacing
+ *     64     4  bytes of the V(x) formula (UTF-8), 0 unless a custom potential
+ *     68     4  bytes of the ψ₀(x) formula (UTF-8)
+ *     72     4  number of formula parameters
+ *     76     4  bytes of the parameter names (UTF-8, one per line)
+ *     80     8  propagator time step of a wave packet, 0 for other systems
+ *     88        system name, basis name, V(x), ψ₀(x), parameter names, each padded to 8 bytes
+ *               weights          double[weights]
+ *               parameter values double[parameters]
+ *               levels           int[levels], padded to 8 bytes
+ *               coefficients Re  double[levels]
+ *               coefficients Im  double[levels]
+ *               ψ Re             double[grid points]
+ *               ψ Im             double[grid points]
+ *               V                double[grid points]
+ * </pre>
+ *
+ * For a {@link WavePacket} the grid and the time step are the propagator's, so
+ * {@link #applyTo} continues the propagation exactly where it was saved. Stationary states are
+ * rebuilt from n, L and the weights, or, for a fixed {@link Superposition}, from
+ * the basis name and the coefficients; their ψ and V are there for other tools.
+ *
+ * Version 1 files lack the fields from offset 64 on, and with them the
+ * formulas: they are still read, but a custom potential cannot be restored
+ * from one. Version 2 files end the header at offset 80; their packets were
+ * propagated with {@link WavePacket#DEFAULT_TIME_STEP} on
+ * {@link WavePacket#DEFAULT_GRID_SIZE} points, which is what they restore.
+ */
+public final class StateSnapshot {
+
+    /** "QBSS" read as a little-endian int. */
+    public static final int MAGIC = 0x53534251;
+    public static final int VERSION = 3;
+    /** File name extension of snapshots. */
+    public static final String EXTENSION = ".qbs";
+
+    private static final int HEADER_BYTES = 88;
+    /** Header of version 1 files, which end before the formula fields. */
+    private static final int HEADER_BYTES_V1 = 64;
+    /** Header of version 2 files, which end before the time step. */
+    private static final int HEADER_BYTES_V2 = 80;
+    /** Bytes copied per write when the arrays are on the heap. */
+    private static final int CHUNK_BYTES = 1 << 20;
+
+    private final String system, basis;
+    /** Formulas of a custom potential; null for every other system. */
+    private final CustomPotential.Definition definition;
+    private final int n;
+    private final double L, time;
+    /** Time step of a wave packet's propagator; 0 for every other system. */
+    private final double timeStep;
+    private final double[] weights;
+    private final IntBuffer levels;
+    private final DoubleBuffer coefficientsRe, coefficientsIm, psiRe, psiIm, potential;
+    private final double xMin, dx;
+
+    private StateSnapshot(String system, String basis, CustomPotential.Definition definition, int n, double L,
+                          double time, double timeStep, double[] weights, IntBuffer levels, DoubleBuffer coefficientsRe,
+                          DoubleBuffer coefficientsIm, double xMin, double dx, DoubleBuffer psiRe, DoubleBuffer psiIm,
+                          DoubleBuffer potential) {
+        this.system = system;
+        this.basis = basis;
+        this.definition = definition;
+        this.n = n;
+        this.L = L;
+        this.time = time;
+        this.timeStep = timeStep;
+        this.weights = weights;
+        this.levels = levels;
+        this.coefficientsRe = coefficientsRe;
+        this.coefficientsIm = coefficientsIm;
+        this.xMin = xMin;
+        this.dx = dx;
+        this.psiRe = psiRe;
+        this.psiIm = psiIm;
+        this.potential = potential;
+    }
+
+    /**
+     * The state of {@code s}, configured for n, L and weights, at time {@code t}.
+     * A {@link WavePacket} is saved on its propagator grid; anything else is
+     * sampled at {@code gridSize} points spanning [-L, L].
+     */
+    public static StateSnapshot capture(QuantumSystem s, int n, double L, double[] weights, double t, int gridSize) {
+        double[] re, im, v;
+        double xMin, dx, timeStep = 0;
+        if (s instanceof WavePacket packet) {
+            double[] x = {0.0};
+            packet.evaluate(x, t, new double[1], new double[1]);
+            re = new double[packet.getGridSize()];
+            im = new double[packet.getGridSize()];
+            v = new double[packet.getGridSize()];
+            packet.copyState(re, im, v);
+            timeStep = packet.getTimeStep();
+            xMin = packet.positions()[0];
+            dx = packet.positions()[1] - xMin;
+        } else {
+            if (gridSize < 2) {
+                throw new IllegalArgumentException("A snapshot needs at least 2 grid points, got " + gridSize);
+            }
+            double[] x = EigenstateCache.grid(gridSize, L);
+            re = new double[gridSize];
+            im = new double[gridSize];
+            v = new double[gridSize];
+            s.evaluate(x, t, re, im);
+            for (int i = 0; i < gridSize; i++) {
+                v[i] = s.potential(x[i]);
+            }
+            xMin = x[0];
+            dx = x[1] - x[0];
+        }
+        String basis = s instanceof Superposition sup && !sup.isWeighted() ? sup.getBasis().getName() : "";
+        CustomPotential.Definition definition = s instanceof CustomPotential custom ? custom.getDefinition() : null;
+        return new StateSnapshot(s.getName(), basis, definition, n, L, t, timeStep, weights.clone(),
+                IntBuffer.wrap(s.getLevels().clone()),
+                DoubleBuffer.wrap(s.getCoefficients().clone()), DoubleBuffer.wrap(s.getCoefficientsImag().clone()),
+                xMin, dx, DoubleBuffer.wrap(re), DoubleBuffer.wrap(im), DoubleBuffer.wrap(v));
+    }
+
+    /** Whether {@code file} starts like a snapshot; false for anything else, such as a properties file. */
+    public static boolean isSnapshot(Path file) {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer magic = ByteBuffer.allocate(4).order(ByteOrder.LITTLE_ENDIAN);
+            while (magic.hasRemaining() && channel.read(magic) >= 0) {
+                // keep reading until four bytes or end of file
+            }
+            return !magic.hasRemaining() && magic.getInt(0) == MAGIC;
+        } catch (IOException ex) {
+            return false;
+        }
+    }
+
+    /**
+     * Maps {@code file} read-only. The arrays stay in the mapping, which lives
+     * as long as the snapshot is reachable.
+     *
+     * @throws IOException if the file is not a snapshot, has an unknown version or is truncated
+     */
+    public static StateSnapshot read(Path file) throws IOException {
+        MappedByteBuffer map;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (channel.size() < HEADER_BYTES_V1) {
+                throw new IOException(file.getFileName() + " is too short for a state snapshot");
+            }
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IOException(file.getFileName() + " is larger than the 2 GiB a single mapping can hold");
+            }
+            map = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        ByteBuffer buffer = map.order(ByteOrder.LITTLE_ENDIAN);
+        if (buffer.getInt(0) != MAGIC) {
+            throw new IOException(file.getFileName() + " is not a state snapshot");
+        }
+        int version = buffer.getInt(4);
+        if (version < 1 || version > VERSION) {
+            throw new IOException(file.getFileName() + " has snapshot version " + version + ", expected 1 to " + VERSION);
+        }
+        int headerBytes = version == 1 ? HEADER_BYTES_V1 : version == 2 ? HEADER_BYTES_V2 : HEADER_BYTES;
+        if (buffer.capacity() < headerBytes) {
+            throw new IOException(file.getFileName() + " is too short for a state snapshot");
+        }
+        int n = buffer.getInt(8), weightCount = buffer.getInt(12);
+        double L = buffer.getDouble(16), time = buffer.getDouble(24);
+        int systemBytes = buffer.getInt(32), basisBytes = buffer.getInt(36);
+        int levelCount = buffer.getInt(40), gridSize = buffer.getInt(44);
+        double xMin = buffer.getDouble(48), dx = buffer.getDouble(56);
+        int potentialBytes = 0, stateBytes = 0, parameterCount = 0, namesBytes = 0;
+        if (version >= 2) {
+            potentialBytes = buffer.getInt(64);
+            stateBytes = buffer.getInt(68);
+            parameterCount = buffer.getInt(72);
+            namesBytes = buffer.getInt(76);
+        }
+        double timeStep = version >= 3 ? buffer.getDouble(80) : 0;
+        if (weightCount < 0 || systemBytes < 0 || basisBytes < 0 || levelCount < 0 || gridSize < 0
+                || potentialBytes < 0 || stateBytes < 0 || parameterCount < 0 || namesBytes < 0
+                || buffer.capacity() != headerBytes + pad((long) systemBytes) + pad((long) basisBytes)
+                        + pad((long) potentialBytes) + pad((long) stateBytes) + pad((long) namesBytes)
+                        + size((long) weightCount + parameterCount, levelCount, gridSize)) {
+            throw new IOException(file.getFileName() + " is damaged: section sizes do not match the file size");
+        }
+
+        int offset = headerBytes;
+        String system = string(buffer, offset, systemBytes);
+        offset += pad(systemBytes);
+        String basis = string(buffer, offset, basisBytes);
+        offset += pad(basisBytes);
+        String potentialFormula = string(buffer, offset, potentialBytes);
+        offset += pad(potentialBytes);
+        String stateFormula = string(buffer, offset, stateBytes);
+        offset += pad(stateBytes);
+        String names = string(buffer, offset, namesBytes);
+        offset += pad(namesBytes);
+        double[] weights = new double[weightCount];
+        doubles(buffer, offset, weightCount).get(weights);
+        offset += weightCount * Double.BYTES;
+        double[] parameterValues = new double[parameterCount];
+        doubles(buffer, offset, parameterCount).get(parameterValues);
+        offset += parameterCount * Double.BYTES;
+        CustomPotential.Definition definition = null;
+        if (potentialBytes > 0) {
+            List<String> parameters = parameterCount == 0 ? List.of() : Arrays.asList(names.split("\n", -1));
+            if (parameters.size() != parameterCount) {
+                throw new IOException(file.getFileName() + " is damaged: " + parameterCount + " parameters but "
+                        + parameters.size() + " names");
+            }
+            Map<String, Double> values = new HashMap<>();
+            for (int i = 0; i < parameterCount; i++) {
+                values.put(parameters.get(i), parameterValues[i]);
+            }
+            definition = new CustomPotential.Definition(potentialFormula, stateFormula, values);
+        }
+        IntBuffer levels = buffer.slice(offset, levelCount * Integer.BYTES).order(ByteOrder.LITTLE_ENDIAN).asIntBuffer();
+        offset += pad(levelCount * Integer.BYTES);
+        DoubleBuffer coefficientsRe = doubles(buffer, offset, levelCount);
+        offset += levelCount * Double.BYTES;
+        DoubleBuffer coefficientsIm = doubles(buffer, offset, levelCount);
+        offset += levelCount * Double.BYTES;
+        DoubleBuffer psiRe = doubles(buffer, offset, gridSize);
+        offset += gridSize * Double.BYTES;
+        DoubleBuffer psiIm = doubles(buffer, offset, gridSize);
+        offset += gridSize * Double.BYTES;
+        DoubleBuffer potential = doubles(buffer, offset, gridSize);
+        return new StateSnapshot(system, basis, definition, n, L, time, timeStep, weights, levels, coefficientsRe, coefficientsIm,
+                xMin, dx, psiRe, psiIm, potential);
+    }
+
+    /** Writes the snapshot to {@code file}, replacing it. */
+    public void write(Path file) throws IOException {
+        byte[] systemName = system.getBytes(StandardCharsets.UTF_8);
+        byte[] basisName = basis.getBytes(StandardCharsets.UTF_8);
+        // Parameters sorted by name, so equal definitions give equal files
+        Map<String, Double> values = definition != null ? new TreeMap<>(definition.values()) : Map.of();
+        byte[] potentialFormula = definition != null ? definition.potential().getBytes(StandardCharsets.UTF_8) : new byte[0];
+        byte[] stateFormula = definition != null ? definition.initialState().getBytes(StandardCharsets.UTF_8) : new byte[0];
+        byte[] names = String.join("\n", values.keySet()).getBytes(StandardCharsets.UTF_8);
+        int levelCount = levels.limit();
+        int head = HEADER_BYTES + pad(systemName.length) + pad(basisName.length) + pad(potentialFormula.length)
+                + pad(stateFormula.length) + pad(names.length)
+                + (weights.length + values.size()) * Double.BYTES + pad(levelCount * Integer.BYTES);
+        ByteBuffer header = ByteBuffer.allocate(head).order(ByteOrder.LITTLE_ENDIAN);
+        header.putInt(MAGIC).putInt(VERSION).putInt(n).putInt(weights.length)
+                .putDouble(L).putDouble(time)
+                .putInt(systemName.length).putInt(basisName.length).putInt(levelCount).putInt(gridSize())
+                .putDouble(xMin).putDouble(dx)
+                .putInt(potentialFormula.length).putInt(stateFormula.length).putInt(values.size()).putInt(names.length)
+                .putDouble(timeStep);
+        for (byte[] text : new byte[][] {systemName, basisName, potentialFormula, stateFormula, names}) {
+            int start = header.position();
+            header.put(text).position(start + pad(text.length));
+        }
+        for (double w : weights) {
+            header.putDouble(w);
+        }
+        for (double v : values.values()) {
+            header.putDouble(v);
+        }
+        for (int i = 0; i < levelCount; i++) {
+            header.putInt(levels.get(i));
+        }
+        header.clear();
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            writeFully(channel, header);
+            ByteBuffer chunk = ByteBuffer.allocateDirect(CHUNK_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            for (DoubleBuffer section : new DoubleBuffer[] {coefficientsRe, coefficientsIm, psiRe, psiIm, potential}) {
+                DoubleBuffer source = section.duplicate();
+                source.rewind();
+                while (source.hasRemaining()) {
+                    chunk.clear();
+                    DoubleBuffer target = chunk.asDoubleBuffer();
+                    int count = Math.min(target.remaining(), source.remaining());
+                    target.put(source.slice(source.position(), count));
+                    source.position(source.position() + count);
+                    chunk.limit(count * Double.BYTES);
+                    writeFully(channel, chunk);
+                }
+            }
+        }
+    }
+
+    /**
+     * Puts {@code s} into the saved state: defines a {@link CustomPotential}
+     * with the saved formulas, configures it for n, L and the weights and, for
+     * a {@link WavePacket}, sets the saved grid size and time step and
+     * continues from the saved ψ and V.
+     *
+     * @throws IllegalArgumentException if {@code s} is not the saved system, a packet's grid cannot be rebuilt
+     *                                  or a custom potential was saved without its formulas
+     */
+    public void applyTo(QuantumSystem s) {
+        if (!s.getName().equals(system)) {
+            throw new IllegalArgumentException("Snapshot of '" + system + "' cannot restore '" + s.getName() + "'");
+        }
+        if (s instanceof CustomPotential custom) {
+            if (definition == null) {
+                throw new IllegalArgumentException("Snapshot of '" + system + "' has no formulas; it was saved by version 1");
+            }
+            custom.define(definition);
+        }
+        if (s instanceof WavePacket packet) {
+            packet.setGridSize(gridSize());
+            packet.setTimeStep(timeStep > 0 ? timeStep : WavePacket.DEFAULT_TIME_STEP);
+        }
+        s.configure(n, L, weights);
+        if (s instanceof WavePacket packet) {
+            if (packet.positions()[0] != xMin) {
+                throw new IllegalArgumentException("Snapshot grid of " + gridSize() + " points from " + xMin
+                        + " does not match the wave packet's propagator");
+            }
+            packet.restoreState(array(psiRe), array(psiIm), array(potential), time);
+        }
+    }
+
+    /**
+     * The fixed superposition this snapshot was taken of, built over the
+     * matching system in {@code bases}; null if it is not one or the basis is unknown.
+     */
+    public Superposition superposition(Map<String, QuantumSystem> bases) {
+        QuantumSystem b = basis.isEmpty() ? null : bases.get(basis);
+        if (b == null) return null;
+        int[] levelArray = new int[levels.limit()];
+        levels.get(0, levelArray);
+        return new Superposition(b, levelArray, array(coefficientsRe), array(coefficientsIm));
+    }
+
+    public String getSystem() {
+        return system;
+    }
+
+    /** Formulas and parameter values of a {@link CustomPotential}; null for every other system. */
+    public CustomPotential.Definition getDefinition() {
+        return definition;
+    }
+
+    /** Basis of a fixed {@link Superposition}; empty for every other system. */
+    public String getBasis() {
+        return basis;
+    }
+
+    public int getN() {
+        return n;
+    }
+
+    public double getL() {
+        return L;
+    }
+
+    public double getTime() {
+        return time;
+    }
+
+    /** Time step a wave packet was propagated with; 0 for other systems and files before version 3. */
+    public double getTimeStep() {
+        return timeStep;
+    }
+
+    public double[] getWeights() {
+        return weights.clone();
+    }
+
+    public int gridSize() {
+        return psiRe.limit();
+    }
+
+    /** x of grid point i is {@code getGridStart() + i * getGridSpacing()}. */
+    public double getGridStart() {
+        return xMin;
+    }
+
+    public double getGridSpacing() {
+        return dx;
+    }
+
+    /** Read-only views; for a snapshot that was {@link #read}, straight into the mapped file. */
+    public IntBuffer levels() {
+        return levels.asReadOnlyBuffer();
+    }
+
+    public DoubleBuffer coefficientsRe() {
+        return coefficientsRe.asReadOnlyBuffer();
+    }
+
+    public DoubleBuffer coefficientsIm() {
+        return coefficientsIm.asReadOnlyBuffer();
+    }
+
+    public DoubleBuffer psiRe() {
+        return psiRe.asReadOnlyBuffer();
+    }
+
+    public DoubleBuffer psiIm() {
+        return psiIm.asReadOnlyBuffer();
+    }
+
+    public DoubleBuffer potential() {
+        return potential.asReadOnlyBuffer();
+    }
+
+    /** Bytes after the header and the text sections. */
+    private static long size(long doubles, int levels, int gridSize) {
+        return doubles * Double.BYTES + pad((long) levels * Integer.BYTES) + 2L * levels * Double.BYTES
+                + 3L * gridSize * Double.BYTES;
+    }
+
+    private static int pad(int bytes) {
+        return (bytes + 7) & ~7;
+    }
+
+    private static long pad(long bytes) {
+        return (bytes + 7) & ~7L;
+    }
+
+    private static String string(ByteBuffer buffer, int offset, int length) {
+        byte[] bytes = new byte[length];
+        buffer.get(offset, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static DoubleBuffer doubles(ByteBuffer buffer, int offset, int count) {
+        return buffer.slice(offset, count * Double.BYTES).order(ByteOrder.LITTLE_ENDIAN).asDoubleBuffer();
+    }
+
+    private static double[] array(DoubleBuffer buffer) {
+        double[] values = new double[buffer.limit()];
+        buffer.get(0, values);
+        return values;
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package quantumbloom.core;
+
+/**
+ * Superposition ψ = Σ c_k ψ_k of stationary states of a basis system.
+ *
+ * The plugin instance mixes the two lowest box states on [-L, L] with the
+ * weights w₁, w₂ from the weight slider. {@link #Superposition(QuantumSystem, int[], double[], double[])}
+ * builds a fixed state of any number of levels with complex coefficients; it
+ * is evaluated through {@link EigenstateCache#stateMatrix} like every other
+ * stationary expansion, so its cost grows linearly with the number of states.
+ */
+public final class Superposition implements QuantumSystem {
+
+    private final Expansion expansion;
+    private final boolean weighted;
+    private final String name;
+    private final int[] weightedLevels = {1, 2};
+    private final double[] weightedRe = new double[2], weightedIm = new double[2];
+    private double w1 = 1.0 / Math.sqrt(2), w2 = 1.0 / Math.sqrt(2);
+
+    public Superposition() {
+        expansion = new Expansion(new ParticleInABox());
+        weighted = true;
+        name = "Superposition (n=1,2)";
+        setWeights(w1, w2);
+    }
+
+    /**
+     * A fixed superposition of {@code levels} (ascending) of {@code basis}; the
+     * coefficients are normalised.
+     */
+    public Superposition(QuantumSystem basis, int[] levels, double[] re, double[] im) {
+        expansion = new Expansion(basis);
+        weighted = false;
+        name = "Superposition (" + levels.length + " states of " + basis.getName() + ")";
+        expansion.set(levels, re, im);
+    }
+
+    /** The system whose stationary states are superposed. */
+    public QuantumSystem getBasis() {
+        return expansion.basis();
+    }
+
+    /** Whether this is the plugin instance driven by the weight slider rather than a fixed superposition. */
+    public boolean isWeighted() {
+        return weighted;
+    }
+
+    private void setWeights(double w1, double w2) {
+        this.w1 = w1;
+        this.w2 = w2;
+        weightedRe[0] = w1;
+        weightedRe[1] = w2;
+        expansion.set(weightedLevels, weightedRe, weightedIm);
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public boolean usesQuantumNumber() {
+        return false;
+    }
+
+    @Override
+    public boolean usesWeights() {
+        return weighted;
+    }
+
+    @Override
+    public void configure(int n, double L, double[] weights) {
+        if (weighted && (weights[0] != w1 || weights[1] != w2)) {
+            setWeights(weights[0], weights[1]);
+        }
+        expansion.configure(L, weights);
+    }
+
+    @Override
+    public int getMaxLevel() {
+        return expansion.basis().getMaxLevel();
+    }
+
+    @Override
+    public double getEnergy(int level) {
+        return expansion.basis().getEnergy(level);
+    }
+
+    @Override
+    public boolean isLevelOccupied(int level) {
+        return expansion.contains(level);
+    }
+
+    @Override
+    public int[] getLevels() {
+        return expansion.levels();
+    }
+
+    @Override
+    public double[] getCoefficients() {
+        return expansion.coefficientsRe();
+    }
+
+    @Override
+    public double[] getCoefficientsImag() {
+        return expansion.coefficientsIm();
+    }
+
+    @Override
+    public void eigenfunction(int level, double L, double[] x, double[] out) {
+        expansion.basis().eigenfunction(level, L, x, out);
+    }
+
+    @Override
+    public void eigenfunctions(int first, double L, double[] x, double[][] out) {
+        expansion.basis().eigenfunctions(first, L, x, out);
+    }
+
+    @Override
+    public double potential(double x) {
+        return expansion.basis().potential(x);
+    }
+
+    @Override
+    public void evaluate(double[] x, double t, double[] re, double[] im) {
+        expansion.evaluate(x, t, re, im);
+    }
+
+    @Override
+    public String getKnowledge() {
+        if (!weighted) {
+            return "✨ Superposition ✨\n" +
+                    "Wavefunction: ψ = Σ c_k ψ_k over " + getLevels().length + " states\n" +
+                    "Each state turns at its own frequency E_k/ℏ, so the density keeps reshaping as the phases drift apart and come back together. 🌊";
+        }
+        return "✨ Superposition ✨\n" +
+                "Wavefunction: ψ = w₁ψ₁ + w₂ψ₂\n" +
+                "Weights: w₁ = " + String.format("%.2f", w1) + ", w₂ = " + String.format("%.2f", w2) + "\n" +
+                "Superposition means the particle is in a mix of states. Adjust the weights to see interference patterns in the probability density! 🌊";
+    }
+}
@@ -0,0 +1,177 @@
+package quantumbloom.core;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * {@link GridKernels} on the incubating Vector API, at the widest width the CPU
+ * supports (4 doubles on AVX2, 8 on AVX-512). Each loop runs whole vectors and
+ * finishes the tail with scalar code. Multiply-adds are fused and sums are
+ * reduced per lane, so results differ from {@link ScalarKernels} by rounding only.
+ *
+ * Needs {@code --add-modules jdk.incubator.vector} at run time; {@link Kernels}
+ * only loads this class when the module is present.
+ */
+final class VectorKernels implements GridKernels {
+
+    private static final VectorSpecies<Double> SPECIES = DoubleVector.SPECIES_PREFERRED;
+    private static final int LANES = SPECIES.length();
+    /** Simpson weights 2, 4, 2, 4, … across one vector; lanes start at an even index. */
+    private static final DoubleVector SIMPSON_WEIGHTS =
+            DoubleVector.fromArray(SPECIES, simpsonWeights(), 0);
+
+    private static double[] simpsonWeights() {
+        double[] weights = new double[LANES];
+        for (int i = 0; i < LANES; i++) {
+            weights[i] = (i & 1) == 0 ? 2 : 4;
+        }
+        return weights;
+    }
+
+    @Override
+    public String getName() {
+        return "SIMD " + SPECIES.vectorBitSize() + "-bit";
+    }
+
+    @Override
+    public void rotate(double[] re, double[] im, double[] cos, double[] sin, int n) {
+        int i = 0;
+        for (int bound = SPECIES.loopBound(n); i < bound; i += LANES) {
+            DoubleVector r = DoubleVector.fromArray(SPECIES, re, i);
+            DoubleVector m = DoubleVector.fromArray(SPECIES, im, i);
+            DoubleVector c = DoubleVector.fromArray(SPECIES, cos, i);
+            DoubleVector s = DoubleVector.fromArray(SPECIES, sin, i);
+            r.fma(c, m.mul(s).neg()).intoArray(re, i);
+            r.fma(s, m.mul(c)).intoArray(im, i);
+        }
+        for (; i < n; i++) {
+            double r = re[i], m = im[i];
+            re[i] = r * cos[i] - m * sin[i];
+            im[i] = r * sin[i] + m * cos[i];
+        }
+    }
+
+    @Override
+    public void scale(double[] re, double[] im, double[] factor, int n) {
+        int i = 0;
+        for (int bound = SPECIES.loopBound(n); i < bound; i += LANES) {
+            DoubleVector f = DoubleVector.fromArray(SPECIES, factor, i);
+            DoubleVector.fromArray(SPECIES, re, i).mul(f).intoArray(re, i);
+            DoubleVector.fromArray(SPECIES, im, i).mul(f).intoArray(im, i);
+        }
+        for (; i < n; i++) {
+            re[i] *= factor[i];
+            im[i] *= factor[i];
+        }
+    }
+
+    @Override
+    public void density(double[] re, double[] im, double[] out, int n) {
+        int i = 0;
+        for (int bound = SPECIES.loopBound(n); i < bound; i += LANES) {
+            DoubleVector r = DoubleVector.fromArray(SPECIES, re, i);
+            DoubleVector m = DoubleVector.fromArray(SPECIES, im, i);
+            r.mul(r).add(m.mul(m)).intoArray(out, i);
+        }
+        for (; i < n; i++) {
+            out[i] = re[i] * re[i] + im[i] * im[i];
+        }
+    }
+
+    @Override
+    public void superpose(double[] matrix, int count, int size, double[] phases, double[] re, double[] im) {
+        for (int from = 0; from < size; from += ScalarKernels.BLOCK) {
+            int to = Math.min(size, from + ScalarKernels.BLOCK);
+            int bound = from + SPECIES.loopBound(to - from);
+            for (int i = from; i < to; i++) {
+                re[i] = 0.0;
+                im[i] = 0.0;
+            }
+            int k = 0;
+            for (; k + 4 <= count; k += 4) {
+                int r0 = k * size, r1 = r0 + size, r2 = r1 + size, r3 = r2 + size;
+                double a0 = phases[2 * k], b0 = phases[2 * k + 1];
+                double a1 = phases[2 * k + 2], b1 = phases[2 * k + 3];
+                double a2 = phases[2 * k + 4], b2 = phases[2 * k + 5];
+                double a3 = phases[2 * k + 6], b3 = phases[2 * k + 7];
+                DoubleVector va0 = DoubleVector.broadcast(SPECIES, a0), vb0 = DoubleVector.broadcast(SPECIES, b0);
+                DoubleVector va1 = DoubleVector.broadcast(SPECIES, a1), vb1 = DoubleVector.broadcast(SPECIES, b1);
+                DoubleVector va2 = DoubleVector.broadcast(SPECIES, a2), vb2 = DoubleVector.broadcast(SPECIES, b2);
+                DoubleVector va3 = DoubleVector.broadcast(SPECIES, a3), vb3 = DoubleVector.broadcast(SPECIES, b3);
+                int i = from;
+                for (; i < bound; i += LANES) {
+                    DoubleVector p0 = DoubleVector.fromArray(SPECIES, matrix, r0 + i);
+                    DoubleVector p1 = DoubleVector.fromArray(SPECIES, matrix, r1 + i);
+                    DoubleVector p2 = DoubleVector.fromArray(SPECIES, matrix, r2 + i);
+                    DoubleVector p3 = DoubleVector.fromArray(SPECIES, matrix, r3 + i);
+                    DoubleVector sumRe = p0.fma(va0, p1.fma(va1, p2.fma(va2, p3.mul(va3))));
+                    DoubleVector sumIm = p0.fma(vb0, p1.fma(vb1, p2.fma(vb2, p3.mul(vb3))));
+                    DoubleVector.fromArray(SPECIES, re, i).add(sumRe).intoArray(re, i);
+                    DoubleVector.fromArray(SPECIES, im, i).add(sumIm).intoArray(im, i);
+                }
+                for (; i < to; i++) {
+                    double p0 = matrix[r0 + i], p1 = matrix[r1 + i], p2 = matrix[r2 + i], p3 = matrix[r3 + i];
+                    re[i] += a0 * p0 + a1 * p1 + a2 * p2 + a3 * p3;
+                    im[i] += b0 * p0 + b1 * p1 + b2 * p2 + b3 * p3;
+                }
+            }
+            for (; k < count; k++) {
+                int r = k * size;
+                double a = phases[2 * k], b = phases[2 * k + 1];
+                DoubleVector va = DoubleVector.broadcast(SPECIES, a), vb = DoubleVector.broadcast(SPECIES, b);
+                int i = from;
+                for (; i < bound; i += LANES) {
+                    DoubleVector p = DoubleVector.fromArray(SPECIES, matrix, r + i);
+                    p.fma(va, DoubleVector.fromArray(SPECIES, re, i)).intoArray(re, i);
+                    p.fma(vb, DoubleVector.fromArray(SPECIES, im, i)).intoArray(im, i);
+                }
+                for (; i < to; i++) {
+                    double p = matrix[r + i];
+                    re[i] += a * p;
+                    im[i] += b * p;
+                }
+            }
+        }
+    }
+
+    @Override
+    public double trapezoid(double[] a, double[] b, double[] c, int n, double h) {
+        if (n < 2) return 0;
+        DoubleVector acc = DoubleVector.zero(SPECIES);
+        int i = 0;
+        for (int bound = SPECIES.loopBound(n); i < bound; i += LANES) {
+            DoubleVector va = DoubleVector.fromArray(SPECIES, a, i);
+            DoubleVector vb = DoubleVector.fromArray(SPECIES, b, i);
+            DoubleVector vc = DoubleVector.fromArray(SPECIES, c, i);
+            acc = va.mul(vb).fma(vc, acc);
+        }
+        double sum = acc.reduceLanes(VectorOperators.ADD);
+        for (; i < n; i++) {
+            sum += a[i] * b[i] * c[i];
+        }
+        sum -= 0.5 * (a[0] * b[0] * c[0] + a[n - 1] * b[n - 1] * c[n - 1]);
+        return sum * h;
+    }
+
+    @Override
+    public double simpson(double[] a, double[] b, double[] c, int n, double h) {
+        ScalarKernels.checkSimpson(n);
+        DoubleVector acc = DoubleVector.zero(SPECIES);
+        int i = 0;
+        // With an odd lane count the weight pattern would not repeat, so it is all tail
+        int bound = (LANES & 1) == 0 ? SPECIES.loopBound(n) : 0;
+        for (; i < bound; i += LANES) {
+            DoubleVector va = DoubleVector.fromArray(SPECIES, a, i);
+            DoubleVector vb = DoubleVector.fromArray(SPECIES, b, i);
+            DoubleVector vc = DoubleVector.fromArray(SPECIES, c, i);
+            acc = va.mul(vb).mul(vc).fma(SIMPSON_WEIGHTS, acc);
+        }
+        double sum = acc.reduceLanes(VectorOperators.ADD);
+        for (; i < n; i++) {
+            sum += ((i & 1) == 0 ? 2 : 4) * (a[i] * b[i] * c[i]);
+        }
+        sum -= a[0] * b[0] * c[0] + a[n - 1] * b[n - 1] * c[n - 1];
+        return sum * h / 3;
+    }
+}
@@ -0,0 +1,76 @@
+package quantumbloom.core;
+
+/**
+ * View-dependent sampling for plots of ψ over the visible part of the x axis.
+ *
+ * The number of samples follows the pixels on screen and the fastest local
+ * oscillation of the state, k = √(2m(E − V))/ℏ, which is about nπ/(2L) for the
+ * n-th box level: at least {@link #SAMPLES_PER_WAVELENGTH} per wavelength, but
+ * never fewer than one every {@link #MAX_PIXELS_PER_SAMPLE} pixels nor more
+ * than {@link #MAX_SAMPLES_PER_PIXEL} per pixel. Past one sample per pixel
+ * the curve is drawn from per-column minima and maxima ({@link #decimate}),
+ * so the cost of a plot depends on its width in pixels, not on the range or
+ * the quantum number.
+ */
+public final class ViewSampler {
+
+    public static final int SAMPLES_PER_WAVELENGTH = 16;
+    public static final int MAX_SAMPLES_PER_PIXEL = 4;
+    public static final int MAX_PIXELS_PER_SAMPLE = 4;
+
+    private ViewSampler() { }
+
+    /**
+     * Samples for {@code span} of x shown across {@code pixels} pixels, for a
+     * state whose fastest wavenumber is {@code wavenumber}; NaN when unknown,
+     * which gives one sample per pixel.
+     */
+    public static int sampleCount(double span, int pixels, double wavenumber) {
+        if (pixels <= 0 || !(span > 0)) return 0;
+        int least = Math.max(2, pixels / MAX_PIXELS_PER_SAMPLE);
+        int most = Math.max(least, pixels * MAX_SAMPLES_PER_PIXEL);
+        if (Double.isNaN(wavenumber)) return Math.max(least, pixels + 1);
+        double wanted = Math.ceil(span * wavenumber / (2 * Math.PI) * SAMPLES_PER_WAVELENGTH) + 1;
+        return (int) Math.max(least, Math.min(most, wanted));
+    }
+
+    /**
+     * The fastest wavenumber √(2m(E − V_min))/ℏ over [from, to] among the
+     * levels of the configured state of {@code s}, NaN for systems without a
+     * stationary expansion. V is sampled at {@code probes} points.
+     */
+    public static double wavenumber(QuantumSystem s, double from, double to, int probes) {
+        if (!s.isStationaryExpansion() || s.getLevels().length == 0) return Double.NaN;
+        double energy = Double.NEGATIVE_INFINITY;
+        for (int level : s.getLevels()) {
+            energy = Math.max(energy, s.getEnergy(level));
+        }
+        double vMin = Double.POSITIVE_INFINITY;
+        for (int i = 0; i < probes; i++) {
+            vMin = Math.min(vMin, s.potential(from + (to - from) * i / (probes - 1)));
+        }
+        if (!Double.isFinite(vMin)) vMin = 0;
+        double kinetic = Math.max(energy - vMin, 0);
+        return Math.sqrt(2 * QuantumSystem.MASS * kinetic) / QuantumSystem.HBAR;
+    }
+
+    /**
+     * Min/max decimation of the first {@code count} samples into {@code columns}
+     * pixel columns. Neighbouring columns share their boundary sample, so the
+     * vertical spans of adjacent columns touch and draw as one connected band.
+     */
+    public static void decimate(double[] values, int count, int columns, double[] min, double[] max) {
+        for (int c = 0; c < columns; c++) {
+            int from = (int) ((long) c * (count - 1) / columns);
+            int to = (int) (((long) (c + 1) * (count - 1) + columns - 1) / columns);
+            double lo = values[from], hi = lo;
+            for (int i = from + 1; i <= to; i++) {
+                double v = values[i];
+                if (v < lo) lo = v;
+                if (v > hi) hi = v;
+            }
+            min[c] = lo;
+            max[c] = hi;
+        }
+    }
+}
@@ -0,0 +1,220 @@
+package quantumbloom.core;
+
+import java.util.Arrays;
+import java.util.function.DoubleUnaryOperator;
+
+/**
+ * Gaussian wave packet with mean momentum n scattering off a potential,
+ * propagated numerically with {@link SplitStepPropagator}.
+ *
+ * The grid spans [-2L, 2L) so the absorbing layers sit outside the plotted
+ * range [-L, L]. {@link #evaluate} steps the propagator forward to the requested
+ * time in steps of the configured dt, restarting from the initial packet when
+ * asked for an earlier time. The grid size and dt trade accuracy for speed:
+ * the largest momentum on the grid, πℏ·size/(4L), must stay well above n, and
+ * the splitting error of each step grows as dt³.
+ */
+public final class WavePacket implements QuantumSystem {
+
+    /** Grid points of the propagator unless {@link #setGridSize} says otherwise. */
+    public static final int DEFAULT_GRID_SIZE = 4096;
+    /** Propagator time step unless {@link #setTimeStep} says otherwise. */
+    public static final double DEFAULT_TIME_STEP = 0.005;
+
+    private int gridSize = DEFAULT_GRID_SIZE;
+    private double timeStep = DEFAULT_TIME_STEP;
+    private int n = -1;
+    private double L = Double.NaN;
+    private DoubleUnaryOperator potential = x -> Math.abs(x) < 0.5 ? 2.0 : 0.0;
+    private SplitStepPropagator propagator;
+    private final int[] levels = {};
+    private final double[] coefficients = {};
+    private final double[] coefficientsImag = {};
+
+    @Override
+    public String getName() {
+        return "Wave Packet (split-step)";
+    }
+
+    @Override
+    public boolean usesQuantumNumber() {
+        return true;
+    }
+
+    @Override
+    public boolean usesWeights() {
+        return false;
+    }
+
+    @Override
+    public boolean isStationaryExpansion() {
+        return false;
+    }
+
+    @Override
+    public void configure(int n, double L, double[] weights) {
+        if (n == this.n && L == this.L) return;
+        this.n = n;
+        if (L != this.L || propagator == null) {
+            this.L = L;
+            createPropagator();
+        }
+        reset();
+    }
+
+    public int getGridSize() {
+        return gridSize;
+    }
+
+    /**
+     * Sets the number of propagator grid points and restarts the packet on the
+     * new grid.
+     *
+     * @throws IllegalArgumentException unless {@code size} is a power of two of at least 2
+     *                                  and at most {@link SplitStepPropagator#MAX_SIZE}
+     */
+    public void setGridSize(int size) {
+        if (size < 2 || size > SplitStepPropagator.MAX_SIZE || Integer.bitCount(size) != 1) {
+            throw new IllegalArgumentException("Grid size must be a power of two in 2.."
+                    + SplitStepPropagator.MAX_SIZE + ", got " + size);
+        }
+        if (size == gridSize) return;
+        gridSize = size;
+        if (propagator != null) {
+            createPropagator();
+            reset();
+        }
+    }
+
+    public double getTimeStep() {
+        return timeStep;
+    }
+
+    /**
+     * Sets the propagator time step and restarts the packet.
+     *
+     * @throws IllegalArgumentException unless {@code dt} is positive and finite
+     */
+    public void setTimeStep(double dt) {
+        if (!(dt > 0) || Double.isInfinite(dt)) {
+            throw new IllegalArgumentException("Time step must be positive, got " + dt);
+        }
+        if (dt == timeStep) return;
+        timeStep = dt;
+        if (propagator != null) {
+            propagator.setTimeStep(dt);
+            reset();
+        }
+    }
+
+    /** Replaces V(x) and restarts the packet. */
+    public void setPotential(DoubleUnaryOperator potential) {
+        this.potential = potential;
+        if (propagator != null) {
+            propagator.setPotential(potential);
+            reset();
+        }
+    }
+
+    /** Grid of the propagator, [-2L, 2L) in {@link #getGridSize()} steps; null before {@link #configure}. */
+    public double[] positions() {
+        return propagator == null ? null : propagator.positions();
+    }
+
+    /** Time the propagated ψ has reached. */
+    public double getTime() {
+        return propagator.getTime();
+    }
+
+    /** Copies ψ and V on {@link #positions()} into arrays of at least {@link #getGridSize()} entries. */
+    public void copyState(double[] re, double[] im, double[] potential) {
+        propagator.copyState(re, im);
+        propagator.copyPotential(potential);
+    }
+
+    /**
+     * Continues from a saved ψ and V on {@link #positions()} at time {@code t}.
+     * V between grid points is interpolated linearly, so the plotted potential
+     * matches the one propagated. An earlier time than {@code t} restarts from
+     * the initial packet, as usual.
+     */
+    public void restoreState(double[] re, double[] im, double[] potential, double t) {
+        double[] v = potential.clone();
+        int size = gridSize;
+        double xMin = -2 * L, dx = 4 * L / size;
+        this.potential = x -> {
+            double pos = Math.min(Math.max((x - xMin) / dx, 0), size - 1);
+            int i = Math.min((int) pos, size - 2);
+            double frac = pos - i;
+            return v[i] * (1 - frac) + v[i + 1] * frac;
+        };
+        propagator.setPotential(v);
+        propagator.setState(re, im, t);
+    }
+
+    /** Energy of a plane wave with momentum ℏ·level, so level n is the packet's mean kinetic energy. */
+    @Override
+    public double getEnergy(int level) {
+        return level * level * HBAR * HBAR / (2 * MASS);
+    }
+
+    @Override
+    public boolean isLevelOccupied(int level) {
+        return level == n;
+    }
+
+    @Override
+    public int[] getLevels() {
+        return levels;
+    }
+
+    @Override
+    public double[] getCoefficients() {
+        return coefficients;
+    }
+
+    @Override
+    public double[] getCoefficientsImag() {
+        return coefficientsImag;
+    }
+
+    /** Zeros: a propagated packet has no eigenstate expansion. */
+    @Override
+    public void eigenfunction(int level, double L, double[] x, double[] out) {
+        Arrays.fill(out, 0, x.length, 0.0);
+    }
+
+    @Override
+    public double potential(double x) {
+        return potential.applyAsDouble(x);
+    }
+
+    @Override
+    public void evaluate(double[] x, double t, double[] re, double[] im) {
+        if (t < propagator.getTime() - timeStep / 2) {
+            reset();
+        }
+        int steps = (int) Math.round((t - propagator.getTime()) / timeStep);
+        propagator.step(steps);
+        propagator.sample(x, re, im);
+    }
+
+    @Override
+    public String getKnowledge() {
+        return "🌊 Wave Packet 🌊\n" +
+                "iℏ ∂ψ/∂t = -ℏ²/(2m) ∂²ψ/∂x² + V(x) ψ, solved numerically by the split-step Fourier method\n" +
+                "Mean momentum: p₀ = " + n + " ℏ\n" +
+                "A localized packet travels toward a barrier. Part of it reflects and part of it tunnels through, even when its energy is below the barrier top! 🚇";
+    }
+
+    private void createPropagator() {
+        propagator = new SplitStepPropagator(gridSize, -2 * L, 2 * L);
+        propagator.setTimeStep(timeStep);
+        propagator.setAbsorbingWidth(0.75 * L);
+        propagator.setPotential(potential);
+    }
+
+    private void reset() {
+        propagator.setGaussianPacket(-L / 2, 1.0, n * HBAR);
+    }
+}
@@ -0,0 +1,61 @@
+package quantumbloom.core;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * The box basis on [-L, L] and the packet expanded in it: unit norm, and the
+ * spectrum of a well of width 2L.
+ */
+class BoxWavePacketTest {
+
+    private static final double L = 10;
+    private static final int POINTS = 8001;
+    private static final double TOLERANCE = 1e-9;
+
+    @Test
+    void boxStatesAreNormalised() {
+        ParticleInABox box = new ParticleInABox();
+        double[] x = EigenstateCache.grid(POINTS, L), phi = new double[POINTS];
+        for (int level = 1; level <= 50; level++) {
+            box.eigenfunction(level, L, x, phi);
+            assertEquals(1, norm(phi, new double[POINTS], x[1] - x[0]), TOLERANCE, "level " + level);
+        }
+    }
+
+    @Test
+    void boxEnergiesAreThoseOfWidthTwoL() {
+        ParticleInABox box = new ParticleInABox();
+        box.configure(1, L, new double[0]);
+        for (int level = 1; level <= 10; level++) {
+            double k = level * Math.PI / (2 * L);
+            double expected = QuantumSystem.HBAR * QuantumSystem.HBAR * k * k / (2 * QuantumSystem.MASS);
+            assertEquals(expected, box.getEnergy(level), 1e-12 * expected);
+        }
+    }
+
+    @Test
+    void packetIsNormalised() {
+        BoxWavePacket packet = new BoxWavePacket();
+        double[] x = EigenstateCache.grid(POINTS, L);
+        double[] re = new double[POINTS], im = new double[POINTS];
+        for (int n : new int[]{1, 10, BoxWavePacket.MAX_MOMENTUM}) {
+            packet.configure(n, L, new double[0]);
+            for (double t : new double[]{0, 3.7, 250}) {
+                packet.evaluate(x, t, re, im);
+                assertEquals(1, norm(re, im, x[1] - x[0]), 1e-6, "n = " + n + ", t = " + t);
+            }
+        }
+    }
+
+    /** ∫|ψ|² dx by the trapezoid rule. */
+    private static double norm(double[] re, double[] im, double h) {
+        double[] one = new double[re.length];
+        Arrays.fill(one, 1.0);
+        GridKernels kernels = Kernels.scalar();
+        return kernels.trapezoid(re, re, one, re.length, h) + kernels.trapezoid(im, im, one, im.length, h);
+    }
+}
@@ -0,0 +1,130 @@
+package quantumbloom.core;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Parsing, folding and the register program of {@link Expression}, checked
+ * against the scalar tree walk and against plain Java arithmetic.
+ */
+class ExpressionTest {
+
+    private static final double[] NONE = {};
+
+    @Test
+    void powersBindTighterThanMinusAndGroupRight() {
+        assertEquals(-9, value("-x^2", 3));
+        assertEquals(9, value("(-x)^2", 3));
+        assertEquals(512, value("2^3^2", 0));
+        assertEquals(8, value("2**x", 3));
+        assertEquals(2 * 3 * 3, value("2*x**2", 3));
+        assertEquals(-0.25, value("-2^-2", 0));
+        assertEquals(7, value("1 + 2*3", 0));
+        assertEquals(1.5, value("6/2/2", 0));
+        assertEquals(0, value("1 - 2 + 1", 0));
+    }
+
+    @Test
+    void numbersWithExponentsAndWithoutThem() {
+        assertEquals(2000, value("2e3", 0));
+        assertEquals(200, value("2E+2", 0));
+        assertEquals(0.25, value(".25", 0));
+        assertEquals(2 * Math.exp(1), value("2*exp(x)", 1), 1e-15);
+        // "2exp" backtracks out of the exponent and stops at the letter instead of misreading a number
+        assertError("2exp(x)", "Unexpected 'e' at position 2");
+        assertError("2e", "Unexpected 'e' at position 2");
+        assertError("1.2.3", "Malformed number at position 1");
+    }
+
+    @Test
+    void parametersAreNumberedInOrderOfFirstAppearance() {
+        Expression e = Expression.compile("b*x + a + b*c");
+        assertEquals(List.of("b", "a", "c"), e.getParameters());
+        assertEquals(2 * 5 + 3 + 2 * 7, e.evaluate(5, new double[]{2, 3, 7}));
+        assertEquals(List.of(), Expression.compile("x + pi").getParameters());
+        assertThrows(IllegalArgumentException.class, () -> e.evaluate(5, new double[]{2, 3}));
+        assertThrows(IllegalArgumentException.class, () -> e.evaluate(new double[]{5}, new double[]{2, 3}, new double[1]));
+    }
+
+    @Test
+    void functionsCheckTheirArity() {
+        assertEquals(2, value("max(x, 2)", 1));
+        assertEquals(1, value("min(x, 2)", 1));
+        assertEquals(1, value("step(x)", 0));
+        assertError("min(x)", "Expected ',' at position 6");
+        assertError("max(x,1,2)", "Expected ')' at position 8");
+        assertError("exp", "Function exp needs 1 argument in parentheses at position 1");
+        assertError("sin x", "Function sin needs 1 argument in parentheses at position 1");
+    }
+
+    @Test
+    void errorsGiveTheirPosition() {
+        assertError("(x+1", "Expected ')' at position 5");
+        assertError("x + * 2", "Unexpected '*' at position 5");
+        assertError("x $ 2", "Unexpected '$' at position 3");
+        assertError("", "Expected a number, name or '(' at position 1");
+        assertError(")", "Unexpected ')' at position 1");
+    }
+
+    @Test
+    void foldingLeavesNoWorkForConstantsAndIdentities() {
+        Expression identity = Expression.compile("x*1 + 0");
+        assertEquals(0, identity.getInstructionCount());
+        assertTrue(identity.dependsOnX());
+        Expression constant = Expression.compile("2^3^2 + a");
+        assertEquals(0, constant.getInstructionCount());
+        assertFalse(constant.dependsOnX());
+    }
+
+    @Test
+    void blocksMatchTheScalarWalkAcrossBlockBoundaries() {
+        String[] sources = {
+                "V0*exp(-(x-a)^2/w^2) + 0.5*x^2",
+                "a*x^3 - b*abs(x)**2.5 + step(x - a)*sin(b*x)",
+                "max(min(x, a), -a) / (1 + abs(x)) - tanh(b*x)^2",
+                "a + b",
+                "-x",
+        };
+        double[] values = {0.7, -1.3, 2.1};
+        for (String source : sources) {
+            Expression e = Expression.compile(source);
+            for (int n : new int[]{1, 255, 256, 257, 511, 512, 513, 1000}) {
+                double[] x = EigenstateCache.grid(Math.max(n, 2), -3, 4);
+                double[] out = new double[x.length];
+                e.evaluate(x, values, out);
+                for (int i = 0; i < x.length; i++) {
+                    double expected = e.evaluate(x[i], values);
+                    assertEquals(expected, out[i], 1e-12 * Math.max(1, Math.abs(expected)),
+                            source + " at point " + i + " of " + x.length);
+                }
+            }
+        }
+    }
+
+    @Test
+    void compiledProgramMatchesJava() {
+        Expression e = Expression.compile("V0*exp(-(x-a)^2/w^2) + 0.5*x^2");
+        assertEquals(List.of("V0", "a", "w"), e.getParameters());
+        double[] x = EigenstateCache.grid(700, -5, 5), out = new double[700];
+        e.evaluate(x, new double[]{3, 0.5, 1.5}, out);
+        for (int i = 0; i < x.length; i++) {
+            double d = x[i] - 0.5;
+            assertEquals(3 * Math.exp(-d * d / 2.25) + 0.5 * x[i] * x[i], out[i], 1e-12);
+        }
+    }
+
+    private static double value(String source, double x) {
+        return Expression.compile(source).evaluate(x, NONE);
+    }
+
+    private static void assertError(String source, String message) {
+        IllegalArgumentException ex = assertThrows(IllegalArgumentException.class, () -> Expression.compile(source));
+        assertTrue(ex.getMessage().startsWith(message), ex.getMessage());
+    }
+}
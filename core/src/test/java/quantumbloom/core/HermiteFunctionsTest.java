@@ -0,0 +1,84 @@
+package quantumbloom.core;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * The normalised recurrence up to the oscillator's top level, far past where
+ * H_n, n! or e^{-x²/2} alone fit in a double, so that the 2^128 rescaling is
+ * exercised. ψ_n oscillates up to the turning point √(2n+1) ≈ 89.4 for
+ * n = 4000 and decays beyond it, so the grid runs to ±100.
+ */
+class HermiteFunctionsTest {
+
+    private static final int TOP = HarmonicOscillator.MAX_LEVEL;
+    private static final int FIRST = TOP - 10;
+    private static final double HALF_WIDTH = 100;
+    private static final int POINTS = 20001;
+    private static final HermiteFunctions HERMITE = new HermiteFunctions(TOP);
+
+    @Test
+    void lowLevelsMatchTheClosedForm() {
+        for (int n = 0; n <= 8; n++) {
+            double norm = Math.sqrt(Math.pow(2, n) * factorial(n) * Math.sqrt(Math.PI));
+            for (double x = -4; x <= 4; x += 0.25) {
+                double expected = HarmonicOscillator.hermitePolynomial(n, x) * Math.exp(-x * x / 2) / norm;
+                assertEquals(expected, HERMITE.value(n, x), 1e-13, "ψ_" + n + "(" + x + ")");
+            }
+        }
+    }
+
+    @Test
+    void tableMatchesValueAtHighLevels() {
+        // Past |x| ≈ 38.6 the Gaussian alone underflows; only the rescaled recurrence gets these right
+        double[] x = {0, 0.013, -1.7, 12.5, 38.7, -45, 60, 75.25, 88, -89.4, 92, 100};
+        double[][] rows = new double[TOP - FIRST + 1][x.length];
+        HERMITE.table(x, FIRST, rows);
+        for (int k = 0; k < rows.length; k++) {
+            for (int i = 0; i < x.length; i++) {
+                double expected = HERMITE.value(FIRST + k, x[i]);
+                assertTrue(Double.isFinite(expected), "ψ_" + (FIRST + k) + "(" + x[i] + ")");
+                assertEquals(expected, rows[k][i], 1e-12 * Math.abs(expected) + Double.MIN_NORMAL,
+                        "ψ_" + (FIRST + k) + "(" + x[i] + ")");
+            }
+        }
+        // Inside the turning point the top level is neither lost to underflow nor blown up
+        for (double at : new double[]{45, 60, 75.25}) {
+            double psi = Math.abs(HERMITE.value(TOP, at));
+            assertTrue(psi > 1e-6 && psi < 1, "ψ_" + TOP + "(" + at + ") = " + psi);
+        }
+    }
+
+    @Test
+    void highLevelsAreOrthonormal() {
+        double[] x = TridiagonalEigensolver.grid(-HALF_WIDTH, HALF_WIDTH, POINTS);
+        double h = x[1] - x[0];
+        double[][] rows = new double[TOP - FIRST + 1][POINTS];
+        HERMITE.table(x, FIRST, rows);
+        for (int m = 0; m < rows.length; m++) {
+            for (int n = 0; n <= m; n++) {
+                double dot = 0;
+                for (int i = 0; i < POINTS; i++) {
+                    dot += rows[m][i] * rows[n][i];
+                }
+                assertEquals(m == n ? 1 : 0, dot * h, 1e-9, "<" + (FIRST + m) + "|" + (FIRST + n) + ">");
+            }
+        }
+    }
+
+    @Test
+    void rejectsLevelsOutsideTheTable() {
+        assertThrows(IllegalArgumentException.class, () -> HERMITE.value(TOP + 1, 0));
+        assertThrows(IllegalArgumentException.class, () -> HERMITE.value(-1, 0));
+        assertThrows(IllegalArgumentException.class, () -> HERMITE.table(new double[1], TOP, new double[2][1]));
+    }
+
+    private static double factorial(int n) {
+        double f = 1;
+        for (int k = 2; k <= n; k++) f *= k;
+        return f;
+    }
+}
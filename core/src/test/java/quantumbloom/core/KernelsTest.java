@@ -0,0 +1,130 @@
+package quantumbloom.core;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.util.SplittableRandom;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * The SIMD kernels against the scalar reference on random data, at lengths
+ * around and between multiples of the lane count so the vector tails are covered.
+ */
+class KernelsTest {
+
+    private static final int[] LENGTHS = {0, 1, 2, 3, 4, 5, 7, 8, 9, 15, 16, 17, 31, 33, 255, 1000, 1001};
+    /** Relative agreement claimed for the two paths. */
+    private static final double TOLERANCE = 1e-13;
+
+    private final GridKernels scalar = Kernels.scalar();
+    private GridKernels vector;
+    private final SplittableRandom random = new SplittableRandom(42);
+
+    @BeforeEach
+    void requireVector() {
+        vector = Kernels.vector();
+        assumeTrue(vector != null, "jdk.incubator.vector is not loaded");
+    }
+
+    @Test
+    void rotateMatches() {
+        for (int n : LENGTHS) {
+            double[] re = random(n), im = random(n), cos = random(n), sin = random(n);
+            double[] re2 = re.clone(), im2 = im.clone();
+            scalar.rotate(re, im, cos, sin, n);
+            vector.rotate(re2, im2, cos, sin, n);
+            assertClose(re, re2, n);
+            assertClose(im, im2, n);
+        }
+    }
+
+    @Test
+    void scaleMatches() {
+        for (int n : LENGTHS) {
+            double[] re = random(n), im = random(n), factor = random(n);
+            double[] re2 = re.clone(), im2 = im.clone();
+            scalar.scale(re, im, factor, n);
+            vector.scale(re2, im2, factor, n);
+            assertClose(re, re2, n);
+            assertClose(im, im2, n);
+        }
+    }
+
+    @Test
+    void densityMatches() {
+        for (int n : LENGTHS) {
+            double[] re = random(n), im = random(n), out = new double[n], out2 = new double[n];
+            scalar.density(re, im, out, n);
+            vector.density(re, im, out2, n);
+            assertClose(out, out2, n);
+        }
+    }
+
+    @Test
+    void superposeMatches() {
+        for (int size : LENGTHS) {
+            for (int count : new int[]{1, 3, 12}) {
+                double[] matrix = random(count * size), phases = random(2 * count);
+                double[] re = new double[size], im = new double[size], re2 = new double[size], im2 = new double[size];
+                scalar.superpose(matrix, count, size, phases, re, im);
+                vector.superpose(matrix, count, size, phases, re2, im2);
+                assertClose(re, re2, size);
+                assertClose(im, im2, size);
+            }
+        }
+    }
+
+    @Test
+    void trapezoidMatches() {
+        for (int n : LENGTHS) {
+            double[] a = random(n), b = random(n), c = random(n);
+            double expected = scalar.trapezoid(a, b, c, n, 0.01);
+            assertEquals(expected, vector.trapezoid(a, b, c, n, 0.01), TOLERANCE * scale(a, b, c, n) * 0.01, "n = " + n);
+        }
+    }
+
+    @Test
+    void simpsonMatches() {
+        for (int n : LENGTHS) {
+            if (n < 3 || (n & 1) == 0) continue;
+            double[] a = random(n), b = random(n), c = random(n);
+            double expected = scalar.simpson(a, b, c, n, 0.01);
+            assertEquals(expected, vector.simpson(a, b, c, n, 0.01), TOLERANCE * scale(a, b, c, n) * 0.01, "n = " + n);
+        }
+    }
+
+    @Test
+    void emptyQuadratureIsZero() {
+        double[] empty = {};
+        assertEquals(0.0, scalar.trapezoid(empty, empty, empty, 0, 0.01));
+        assertEquals(0.0, vector.trapezoid(empty, empty, empty, 0, 0.01));
+        assertThrows(IllegalArgumentException.class, () -> scalar.simpson(empty, empty, empty, 0, 0.01));
+        assertThrows(IllegalArgumentException.class, () -> vector.simpson(empty, empty, empty, 0, 0.01));
+    }
+
+    private double[] random(int n) {
+        double[] v = new double[n];
+        for (int i = 0; i < n; i++) {
+            v[i] = 2 * random.nextDouble() - 1;
+        }
+        return v;
+    }
+
+    /** Σ |a b c|, the size of the rounding error a sum of the products can carry. */
+    private static double scale(double[] a, double[] b, double[] c, int n) {
+        double sum = 1;
+        for (int i = 0; i < n; i++) {
+            sum += Math.abs(a[i] * b[i] * c[i]);
+        }
+        return sum;
+    }
+
+    private static void assertClose(double[] expected, double[] actual, int n) {
+        for (int i = 0; i < n; i++) {
+            assertEquals(expected[i], actual[i], TOLERANCE * Math.max(1, Math.abs(expected[i])), "n = " + n + ", i = " + i);
+        }
+    }
+}
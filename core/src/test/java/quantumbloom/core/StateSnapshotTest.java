@@ -0,0 +1,215 @@
+package quantumbloom.core;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.IntBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Snapshots written and mapped back bit for bit, restored into a fresh system,
+ * and damaged files refused rather than misread.
+ */
+class StateSnapshotTest {
+
+    private static final double L = 10;
+    private static final int GRID = 1000;
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void stationaryStateRoundTrips() throws IOException {
+        HarmonicOscillator oscillator = new HarmonicOscillator();
+        double[] weights = {0.6, 0.8};
+        oscillator.configure(3, L, weights);
+        StateSnapshot saved = StateSnapshot.capture(oscillator, 3, L, weights, 1.3, GRID);
+        StateSnapshot loaded = writeAndRead(saved, "oscillator");
+
+        assertSame(saved, loaded);
+        assertNull(loaded.getDefinition());
+        HarmonicOscillator restored = new HarmonicOscillator();
+        loaded.applyTo(restored);
+        assertArrayEquals(oscillator.getCoefficients(), restored.getCoefficients());
+        assertArrayEquals(array(loaded.psiRe()), psi(restored, loaded, true));
+        assertArrayEquals(array(loaded.psiIm()), psi(restored, loaded, false));
+    }
+
+    @Test
+    void customPotentialKeepsItsFormulas() throws IOException {
+        CustomPotential custom = new CustomPotential();
+        custom.define(CustomPotential.Definition.initial().with("V0", 2.5).with("x0", -1.5));
+        custom.configure(1, L, new double[0]);
+        StateSnapshot saved = StateSnapshot.capture(custom, 1, L, new double[0], 0.4, GRID);
+        StateSnapshot loaded = writeAndRead(saved, "custom");
+
+        assertSame(saved, loaded);
+        assertEquals(custom.getDefinition(), loaded.getDefinition());
+        CustomPotential restored = new CustomPotential();
+        loaded.applyTo(restored);
+        assertEquals(custom.getDefinition(), restored.getDefinition());
+        assertArrayEquals(custom.getCoefficients(), restored.getCoefficients());
+        assertArrayEquals(array(loaded.potential()), potential(restored, loaded));
+    }
+
+    @Test
+    void propagatedPacketContinuesExactly() throws IOException {
+        WavePacket packet = new WavePacket();
+        packet.setGridSize(2048);
+        packet.setTimeStep(0.002);
+        packet.configure(4, L, new double[0]);
+        double[] probe = {0.0}, re = new double[1], im = new double[1];
+        packet.evaluate(probe, 1.25, re, im);
+        StateSnapshot saved = StateSnapshot.capture(packet, 4, L, new double[0], 1.25, 0);
+        StateSnapshot loaded = writeAndRead(saved, "packet");
+
+        assertSame(saved, loaded);
+        assertEquals(2048, loaded.gridSize());
+        assertEquals(0.002, loaded.getTimeStep());
+        assertEquals(packet.positions()[0], loaded.getGridStart());
+        WavePacket restored = new WavePacket();
+        loaded.applyTo(restored);
+        assertEquals(2048, restored.getGridSize());
+        assertEquals(0.002, restored.getTimeStep());
+        assertEquals(packet.getTime(), restored.getTime());
+        double[][] original = state(packet), copy = state(restored);
+        for (int k = 0; k < original.length; k++) {
+            assertArrayEquals(original[k], copy[k]);
+        }
+        // Both propagate on from the same ψ and V, so they stay identical
+        double[] x = packet.positions(), re2 = new double[x.length], im2 = new double[x.length];
+        double[] reRestored = new double[x.length], imRestored = new double[x.length];
+        packet.evaluate(x, 2.0, re2, im2);
+        restored.evaluate(x, 2.0, reRestored, imRestored);
+        assertArrayEquals(re2, reRestored);
+        assertArrayEquals(im2, imRestored);
+    }
+
+    @Test
+    void versionTwoPacketsRestoreTheDefaultStep() throws IOException {
+        WavePacket packet = new WavePacket();
+        packet.configure(3, L, new double[0]);
+        double[] probe = {0.0};
+        packet.evaluate(probe, 0.5, new double[1], new double[1]);
+        Path file = dir.resolve("current" + StateSnapshot.EXTENSION);
+        StateSnapshot.capture(packet, 3, L, new double[0], 0.5, 0).write(file);
+        // Version 2 is the same file without the time step at offset 80
+        byte[] bytes = Files.readAllBytes(file);
+        byte[] old = new byte[bytes.length - Double.BYTES];
+        System.arraycopy(bytes, 0, old, 0, 80);
+        System.arraycopy(bytes, 88, old, 80, old.length - 80);
+        ByteBuffer.wrap(old).order(ByteOrder.LITTLE_ENDIAN).putInt(4, 2);
+        Path v2 = dir.resolve("v2" + StateSnapshot.EXTENSION);
+        Files.write(v2, old);
+
+        StateSnapshot loaded = StateSnapshot.read(v2);
+        assertEquals(0, loaded.getTimeStep());
+        WavePacket restored = new WavePacket();
+        restored.setTimeStep(0.01);
+        loaded.applyTo(restored);
+        assertEquals(WavePacket.DEFAULT_TIME_STEP, restored.getTimeStep());
+        assertArrayEquals(state(packet)[0], state(restored)[0]);
+    }
+
+    @Test
+    void damagedFilesAreRejected() throws IOException {
+        HarmonicOscillator oscillator = new HarmonicOscillator();
+        oscillator.configure(2, L, new double[0]);
+        Path file = dir.resolve("good" + StateSnapshot.EXTENSION);
+        StateSnapshot.capture(oscillator, 2, L, new double[0], 0, GRID).write(file);
+        byte[] bytes = Files.readAllBytes(file);
+
+        Path truncated = dir.resolve("truncated" + StateSnapshot.EXTENSION);
+        Files.write(truncated, Arrays.copyOf(bytes, bytes.length - Double.BYTES));
+        assertThrows(IOException.class, () -> StateSnapshot.read(truncated));
+        Path header = dir.resolve("header" + StateSnapshot.EXTENSION);
+        Files.write(header, Arrays.copyOf(bytes, 40));
+        assertThrows(IOException.class, () -> StateSnapshot.read(header));
+
+        byte[] future = bytes.clone();
+        ByteBuffer.wrap(future).order(ByteOrder.LITTLE_ENDIAN).putInt(4, StateSnapshot.VERSION + 1);
+        Path wrongVersion = dir.resolve("future" + StateSnapshot.EXTENSION);
+        Files.write(wrongVersion, future);
+        assertThrows(IOException.class, () -> StateSnapshot.read(wrongVersion));
+
+        byte[] foreign = bytes.clone();
+        foreign[0] = 'X';
+        Path notSnapshot = dir.resolve("foreign" + StateSnapshot.EXTENSION);
+        Files.write(notSnapshot, foreign);
+        assertThrows(IOException.class, () -> StateSnapshot.read(notSnapshot));
+        assertFalse(StateSnapshot.isSnapshot(notSnapshot));
+    }
+
+    private StateSnapshot writeAndRead(StateSnapshot snapshot, String name) throws IOException {
+        Path file = dir.resolve(name + StateSnapshot.EXTENSION);
+        snapshot.write(file);
+        return StateSnapshot.read(file);
+    }
+
+    private static void assertSame(StateSnapshot expected, StateSnapshot actual) {
+        assertEquals(expected.getSystem(), actual.getSystem());
+        assertEquals(expected.getBasis(), actual.getBasis());
+        assertEquals(expected.getN(), actual.getN());
+        assertEquals(expected.getL(), actual.getL());
+        assertEquals(expected.getTime(), actual.getTime());
+        assertArrayEquals(expected.getWeights(), actual.getWeights());
+        assertEquals(expected.getGridStart(), actual.getGridStart());
+        assertEquals(expected.getGridSpacing(), actual.getGridSpacing());
+        assertArrayEquals(ints(expected.levels()), ints(actual.levels()));
+        assertArrayEquals(array(expected.coefficientsRe()), array(actual.coefficientsRe()));
+        assertArrayEquals(array(expected.coefficientsIm()), array(actual.coefficientsIm()));
+        assertArrayEquals(array(expected.psiRe()), array(actual.psiRe()));
+        assertArrayEquals(array(expected.psiIm()), array(actual.psiIm()));
+        assertArrayEquals(array(expected.potential()), array(actual.potential()));
+    }
+
+    /** ψ of {@code s} at the snapshot's time on the snapshot's grid. */
+    private static double[] psi(QuantumSystem s, StateSnapshot snapshot, boolean real) {
+        double[] x = grid(snapshot), re = new double[x.length], im = new double[x.length];
+        s.evaluate(x, snapshot.getTime(), re, im);
+        return real ? re : im;
+    }
+
+    private static double[] potential(QuantumSystem s, StateSnapshot snapshot) {
+        double[] x = grid(snapshot), v = new double[x.length];
+        for (int i = 0; i < x.length; i++) {
+            v[i] = s.potential(x[i]);
+        }
+        return v;
+    }
+
+    private static double[] grid(StateSnapshot snapshot) {
+        return EigenstateCache.grid(snapshot.gridSize(), snapshot.getL());
+    }
+
+    private static double[][] state(WavePacket packet) {
+        int size = packet.getGridSize();
+        double[][] state = new double[3][size];
+        packet.copyState(state[0], state[1], state[2]);
+        return state;
+    }
+
+    private static double[] array(DoubleBuffer buffer) {
+        double[] values = new double[buffer.limit()];
+        buffer.get(0, values);
+        return values;
+    }
+
+    private static int[] ints(IntBuffer buffer) {
+        int[] values = new int[buffer.limit()];
+        buffer.get(0, values);
+        return values;
+    }
+}
@@ -0,0 +1,102 @@
+package quantumbloom.core;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.function.DoubleUnaryOperator;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * The finite-difference solver against the oscillator's closed-form spectrum
+ * and the qualitative shape of the double well. The three-point stencil is
+ * O(h²), so the tolerances follow from the grid spacing.
+ */
+class TridiagonalEigensolverTest {
+
+    private static final double HALF_WIDTH = 10;
+    private static final int POINTS = 20001;
+    private static final int LEVELS = 10;
+
+    @Test
+    void harmonicEnergiesAreNPlusHalf() {
+        Spectrum spectrum = solve(x -> x * x / 2, LEVELS);
+        for (int n = 0; n < LEVELS; n++) {
+            assertEquals(n + 0.5, spectrum.energy(n), 1e-4, "E_" + n);
+        }
+    }
+
+    @Test
+    void harmonicStatesAreHermiteFunctionsUpToSign() {
+        Spectrum spectrum = solve(x -> x * x / 2, LEVELS);
+        double[] x = TridiagonalEigensolver.grid(-HALF_WIDTH, HALF_WIDTH, POINTS);
+        HermiteFunctions hermite = new HermiteFunctions(LEVELS);
+        for (int n = 0; n < LEVELS; n++) {
+            double[] state = spectrum.state(n);
+            double dot = 0;
+            for (int i = 0; i < POINTS; i++) {
+                dot += state[i] * hermite.value(n, x[i]);
+            }
+            double sign = Math.signum(dot);
+            double worst = 0;
+            for (int i = 0; i < POINTS; i++) {
+                worst = Math.max(worst, Math.abs(sign * state[i] - hermite.value(n, x[i])));
+            }
+            assertTrue(worst < 1e-4, "ψ_" + n + " is off by " + worst);
+        }
+    }
+
+    @Test
+    void statesAreOrthonormal() {
+        double h = 2 * HALF_WIDTH / (POINTS + 1);
+        DoubleWell well = new DoubleWell();
+        well.configure(1, HALF_WIDTH, new double[0]);
+        for (Spectrum spectrum : new Spectrum[]{solve(x -> x * x / 2, LEVELS), solve(well::potential, LEVELS)}) {
+            for (int m = 0; m < LEVELS; m++) {
+                for (int n = 0; n <= m; n++) {
+                    double[] a = spectrum.state(m), b = spectrum.state(n);
+                    double dot = 0;
+                    for (int i = 0; i < POINTS; i++) {
+                        dot += a[i] * b[i];
+                    }
+                    assertEquals(m == n ? 1 : 0, dot * h, 1e-9, "<" + m + "|" + n + ">");
+                }
+            }
+        }
+    }
+
+    @Test
+    void doubleWellGivesATunnellingPair() {
+        DoubleWell well = new DoubleWell();
+        well.configure(1, HALF_WIDTH, new double[0]);
+        Spectrum spectrum = solve(well::potential, 3);
+        double splitting = spectrum.energy(1) - spectrum.energy(0);
+        // Both levels sit below the barrier and split far less than the next gap
+        assertTrue(spectrum.energy(1) < DoubleWell.BARRIER, "E_1 = " + spectrum.energy(1));
+        assertTrue(splitting > 0 && splitting < 0.05 * (spectrum.energy(2) - spectrum.energy(1)),
+                "splitting " + splitting);
+        // The lower one is the even combination of the two wells, the upper one the odd
+        double[] even = spectrum.state(0), odd = spectrum.state(1);
+        for (int i = 0; i < POINTS; i += 97) {
+            int mirror = POINTS - 1 - i;
+            assertEquals(even[i], even[mirror], 1e-9);
+            assertEquals(odd[i], -odd[mirror], 1e-9);
+        }
+    }
+
+    @Test
+    void rejectsImpossibleRequests() {
+        assertThrows(IllegalArgumentException.class, () -> TridiagonalEigensolver.solve(new double[2], -1, 1, 1));
+        assertThrows(IllegalArgumentException.class, () -> TridiagonalEigensolver.solve(new double[10], -1, 1, 11));
+    }
+
+    private static Spectrum solve(DoubleUnaryOperator v, int count) {
+        double[] x = TridiagonalEigensolver.grid(-HALF_WIDTH, HALF_WIDTH, POINTS);
+        double[] potential = new double[POINTS];
+        for (int i = 0; i < POINTS; i++) {
+            potential[i] = v.applyAsDouble(x[i]);
+        }
+        return TridiagonalEigensolver.solve(potential, -HALF_WIDTH, HALF_WIDTH, count);
+    }
+}
@@ -0,0 +1,280 @@
+package quantumbloom.ui;
+
+import quantumbloom.core.CustomPotential;
+import quantumbloom.core.GridEvaluator;
+import quantumbloom.core.QuantumSystem;
+
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Locale;
+import java.util.Properties;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.IntConsumer;
+import javax.imageio.ImageIO;
+
+/**
+ * Records a time evolution as a PNG sequence or a raw RGBA stream, rendered
+ * offscreen and independent of the screen's frame rate.
+ *
+ * Frame i shows t = start + i · step exactly, so an export is reproducible and
+ * never drops frames. The rendering thread draws each frame with
+ * {@link FramePainter} into one of {@link #QUEUE_CAPACITY} recycled images and
+ * hands it to a writer thread through a bounded queue; when the writer falls
+ * behind, rendering waits for a free image. Memory therefore stays flat
+ * however many frames are exported.
+ *
+ * <pre>
+ * java AnimationExporter system=... [n=1] [L=10] [weight=0.5] [start=0]
+ *      [frames=300] [fps=30] [speed=1] [format=png|rgba] [output=animation]
+ * java QuantumBloomStudio --export key=value ...
+ * </pre>
+ *
+ * {@code step} is the {@link SimulationClock}'s advance per frame at
+ * {@code speed} and {@code fps}, so playback at {@code fps} runs as fast as the
+ * Studio's animation. PNG frames are {@code frame00000.png}, … . The RGBA stream
+ * is {@code frames.rgba}, MAIN_WIDTH × MAIN_HEIGHT × 4 bytes per frame, with
+ * {@code frames.txt} describing it and giving the {@code ffmpeg} command that
+ * encodes it.
+ */
+public final class AnimationExporter {
+
+    public enum Format { PNG, RGBA }
+
+    /** Rendered frames that can wait for the writer at once. */
+    public static final int QUEUE_CAPACITY = 8;
+
+    private static final BufferedImage END = new BufferedImage(1, 1, BufferedImage.TYPE_INT_ARGB);
+    private static final int HEATMAP_WIDTH = 200, HEATMAP_HEIGHT = 100;
+    private static final double HEATMAP_TIME = 25.0;
+
+    private final String system;
+    private final int n;
+    private final double L;
+    private final double[] amplitudes;
+    private final double start, step;
+    private final int frames, fps;
+    private final Format format;
+    private final Path output;
+    private CustomPotential.Definition definition;
+    private volatile boolean cancelled;
+
+    /**
+     * @param amplitudes superposition amplitudes, as passed to {@link QuantumSystem#configure}
+     * @param step       simulated time between frames
+     * @param fps        playback rate recorded alongside a raw stream
+     */
+    public AnimationExporter(String system, int n, double L, double[] amplitudes, double start, double step,
+                             int frames, int fps, Format format, Path output) {
+        if (frames <= 0 || fps <= 0 || !(step > 0)) {
+            throw new IllegalArgumentException("Need frames, fps and time step above zero, got "
+                    + frames + ", " + fps + " and " + step);
+        }
+        this.system = system;
+        this.n = n;
+        this.L = L;
+        this.amplitudes = amplitudes.clone();
+        this.start = start;
+        this.step = step;
+        this.frames = frames;
+        this.fps = fps;
+        this.format = format;
+        this.output = output;
+    }
+
+    /** Exports the custom potential with {@code definition} instead of its default formulas; call before {@link #run}. */
+    public void define(CustomPotential.Definition definition) {
+        this.definition = definition;
+    }
+
+    /** Simulated time between frames at {@code speed} and {@code fps}, matching the Studio's animation. */
+    public static double timeStep(double speed, int fps) {
+        return SimulationClock.UNITS_PER_SECOND * speed / fps;
+    }
+
+    public static void main(String[] args) {
+        System.setProperty("java.awt.headless", "true");
+        Properties spec = new Properties();
+        for (String arg : args) {
+            int eq = arg.indexOf('=');
+            if (eq > 0) {
+                spec.setProperty(arg.substring(0, eq).trim(), arg.substring(eq + 1).trim());
+            }
+        }
+        if (spec.getProperty("system") == null) {
+            System.err.println("Usage: java AnimationExporter system=<name> [n=1] [L=10] [weight=0.5] [start=0]"
+                    + " [frames=300] [fps=30] [speed=1] [format=png|rgba] [output=animation]");
+            System.exit(2);
+        }
+        int written;
+        try {
+            double weight = Double.parseDouble(spec.getProperty("weight", "0.5"));
+            int fps = Integer.parseInt(spec.getProperty("fps", "30"));
+            AnimationExporter exporter = new AnimationExporter(spec.getProperty("system"),
+                    Integer.parseInt(spec.getProperty("n", "1")),
+                    Double.parseDouble(spec.getProperty("L", "10")),
+                    new double[] {Math.sqrt(weight), Math.sqrt(1 - weight)},
+                    Double.parseDouble(spec.getProperty("start", "0")),
+                    timeStep(Double.parseDouble(spec.getProperty("speed", "1")), fps),
+                    Integer.parseInt(spec.getProperty("frames", "300")), fps,
+                    Format.valueOf(spec.getProperty("format", "png").toUpperCase(Locale.ROOT)),
+                    Paths.get(spec.getProperty("output", "animation")));
+            long begin = System.nanoTime();
+            written = exporter.run(frame -> {
+                if (frame % 100 == 0) System.out.printf("%d frames%n", frame);
+            });
+            System.out.printf("Exported %d frames in %.1f s%n", written, (System.nanoTime() - begin) / 1e9);
+        } catch (IllegalArgumentException | IOException ex) {
+            System.err.println(ex.getMessage());
+            written = -1;
+        } catch (InterruptedException ex) {
+            written = -1;
+        }
+        System.exit(written > 0 ? 0 : 1);
+    }
+
+    /** Stops a running export after the frame being rendered; what was written so far stays. */
+    public void cancel() {
+        cancelled = true;
+    }
+
+    /**
+     * Renders and writes the animation, rendering on the calling thread and
+     * writing on a second one.
+     *
+     * @param progress told the number of frames written so far, on the writer thread
+     * @return the number of frames written, fewer than requested if cancelled
+     * @throws IOException if the system is unknown or a frame cannot be written
+     */
+    public int run(IntConsumer progress) throws IOException, InterruptedException {
+        Files.createDirectories(output);
+        GridEvaluator sequential = new GridEvaluator(1);
+        FrameComputer computer = new FrameComputer(sequential, HEATMAP_WIDTH, HEATMAP_HEIGHT, HEATMAP_TIME);
+        if (definition != null) computer.define(definition);
+        QuantumSystem s = computer.configure(system, n, L, amplitudes);
+        if (s == null) {
+            sequential.shutdown();
+            throw new IOException("Unknown system '" + system + "'");
+        }
+
+        BlockingQueue<BufferedImage> free = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+        BlockingQueue<BufferedImage> filled = new ArrayBlockingQueue<>(QUEUE_CAPACITY + 1);
+        for (int i = 0; i < QUEUE_CAPACITY; i++) {
+            free.add(new BufferedImage(FramePainter.MAIN_WIDTH, FramePainter.MAIN_HEIGHT, BufferedImage.TYPE_INT_ARGB));
+        }
+        AtomicReference<Exception> failure = new AtomicReference<>();
+        int[] written = {0};
+        Thread writer = new Thread(() -> written[0] = drain(filled, free, failure, progress), "animation-writer");
+        writer.setDaemon(true);
+        writer.start();
+
+        FrameData frame = new FrameData();
+        PlotView view = PlotView.full(L, FramePainter.PLOT_WIDTH);
+        try {
+            for (int i = 0; i < frames && !cancelled && failure.get() == null; i++) {
+                BufferedImage image = free.take();
+                computer.compute(s, L, start + i * step, view, Quality.FULL, frame, () -> false);
+                filled.put(FramePainter.mainPlot(s, frame, image));
+            }
+        } finally {
+            filled.put(END);
+            writer.join();
+            sequential.shutdown();
+        }
+        Exception ex = failure.get();
+        if (ex instanceof IOException io) throw io;
+        if (ex != null) throw new IOException("Export failed: " + ex, ex);
+        return written[0];
+    }
+
+    /**
+     * Writer loop: writes filled images in order and returns them to {@code free}.
+     * After a failure it keeps recycling without writing, so rendering never
+     * blocks, until {@link #END} arrives.
+     */
+    private int drain(BlockingQueue<BufferedImage> filled, BlockingQueue<BufferedImage> free,
+                      AtomicReference<Exception> failure, IntConsumer progress) {
+        int written = 0;
+        FileChannel stream = null;
+        ByteBuffer rgba = null;
+        try {
+            if (format == Format.RGBA) {
+                stream = FileChannel.open(output.resolve("frames.rgba"), StandardOpenOption.CREATE,
+                        StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+                rgba = ByteBuffer.allocateDirect(FramePainter.MAIN_WIDTH * FramePainter.MAIN_HEIGHT * 4)
+                        .order(ByteOrder.BIG_ENDIAN);
+            }
+        } catch (IOException ex) {
+            failure.compareAndSet(null, ex);
+        }
+        try {
+            BufferedImage image;
+            while ((image = filled.take()) != END) {
+                if (failure.get() == null) {
+                    try {
+                        if (format == Format.PNG) {
+                            Path file = output.resolve(String.format(Locale.ROOT, "frame%05d.png", written));
+                            if (!ImageIO.write(image, "png", file.toFile())) {
+                                throw new IOException("No PNG writer available");
+                            }
+                        } else {
+                            writeRgba(image, rgba, stream);
+                        }
+                        written++;
+                        progress.accept(written);
+                    } catch (IOException | RuntimeException ex) {
+                        failure.compareAndSet(null, ex);
+                    }
+                }
+                free.add(image);
+            }
+        } catch (InterruptedException ex) {
+            failure.compareAndSet(null, ex);
+        } finally {
+            if (stream != null) {
+                try {
+                    stream.close();
+                    writeDescription(written);
+                } catch (IOException ex) {
+                    failure.compareAndSet(null, ex);
+                }
+            }
+        }
+        return written;
+    }
+
+    /** ARGB pixels as R, G, B, A bytes: rotating each int left by 8 and storing it big-endian. */
+    private static void writeRgba(BufferedImage image, ByteBuffer rgba, FileChannel stream) throws IOException {
+        int[] pixels = ((DataBufferInt) image.getRaster().getDataBuffer()).getData();
+        rgba.clear();
+        IntBuffer ints = rgba.asIntBuffer();
+        for (int argb : pixels) {
+            ints.put(Integer.rotateLeft(argb, 8));
+        }
+        while (rgba.hasRemaining()) {
+            stream.write(rgba);
+        }
+    }
+
+    private void writeDescription(int written) throws IOException {
+        String size = FramePainter.MAIN_WIDTH + "x" + FramePainter.MAIN_HEIGHT;
+        try (PrintWriter out = new PrintWriter(Files.newBufferedWriter(output.resolve("frames.txt"), StandardCharsets.UTF_8))) {
+            out.printf(Locale.ROOT, "system=%s%nframes=%d%nsize=%s%npixel_format=rgba%nfps=%d%nstart=%.9g%nstep=%.9g%n",
+                    system, written, size, fps, start, step);
+            out.printf(Locale.ROOT, "# ffmpeg -f rawvideo -pixel_format rgba -video_size %s -framerate %d -i frames.rgba -pix_fmt yuv420p animation.mp4%n",
+                    size, fps);
+        }
+    }
+}
@@ -0,0 +1,355 @@
+package quantumbloom.ui;
+
+import quantumbloom.core.CustomPotential;
+import quantumbloom.core.EigenstateCache;
+import quantumbloom.core.GridEvaluator;
+import quantumbloom.core.QuantumSystem;
+import quantumbloom.core.WavePacket;
+
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+import java.util.ServiceLoader;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.imageio.ImageIO;
+
+/**
+ * Headless parameter sweeps: renders the main plot and the heatmap for every
+ * combination of system × n × L × weight × time and writes PNG images, CSV
+ * tables and raw binary arrays, with no display and no JavaFX.
+ *
+ * <pre>
+ * java BatchRenderer sweep.properties [key=value ...]
+ * java QuantumBloomStudio --batch sweep.properties [key=value ...]
+ * </pre>
+ *
+ * Sweep keys (command-line pairs override the file):
+ * <ul>
+ * <li>{@code systems}: comma-separated system names; all of them if absent</li>
+ * <li>{@code n}: quantum numbers, e.g. {@code 1..50} or {@code 1,2,5}</li>
+ * <li>{@code L}: box half-widths, e.g. {@code 5,10} or {@code 5..15:2.5}</li>
+ * <li>{@code weight}: superposition slider values in [0, 1]</li>
+ * <li>{@code times}: e.g. {@code 0..10:0.5}</li>
+ * <li>{@code views}: any of {@code main,heatmap}</li>
+ * <li>{@code formats}: any of {@code png,csv,bin}</li>
+ * <li>{@code output}: output directory</li>
+ * <li>{@code threads}: worker threads, all cores by default; they split
+ * {@link FrameComputer#CACHE_BYTES} of caches between them</li>
+ * <li>{@code potential}, {@code initialState}, {@code parameter.<name>}: the
+ * formulas and parameter values of the custom potential, as in a saved
+ * {@code .properties} state; its defaults if absent</li>
+ * </ul>
+ *
+ * Each system, n, L and weight is one job; its times run in order on one
+ * worker, so the heatmap and a {@link WavePacket}'s propagation are reused.
+ * Systems that ignore n or the weight are rendered for the first value only.
+ *
+ * The {@code .bin} files hold little-endian doubles: Re ψ, Im ψ, |ψ|² and
+ * |φ(p)|², {@link FrameData#SAMPLES} each, in that order. A heatmap's
+ * {@code .bin} holds its ARGB pixels as little-endian ints, row by row.
+ */
+public final class BatchRenderer {
+
+    private static final int HEATMAP_WIDTH = 200, HEATMAP_HEIGHT = 100;
+    private static final double HEATMAP_TIME = 25.0;
+
+    /** One system, n, L and weight, rendered at every time of the sweep. */
+    private record Job(String system, int n, double L, double weight) { }
+
+    private final List<String> systems;
+    private final int[] quantumNumbers;
+    private final double[] lengths, weights, times;
+    private final Set<String> views, formats;
+    private final Path output;
+    private final int threads;
+    /** Formulas for the custom potential, or null to keep its defaults. */
+    private final CustomPotential.Definition definition;
+
+    public BatchRenderer(Properties spec) {
+        Map<String, QuantumSystem> available = loadSystems();
+        String names = spec.getProperty("systems");
+        systems = names == null ? new ArrayList<>(available.keySet()) : splitList(names);
+        for (String name : systems) {
+            if (!available.containsKey(name)) {
+                throw new IllegalArgumentException("Unknown system '" + name + "', expected one of " + available.keySet());
+            }
+        }
+        quantumNumbers = Arrays.stream(parseRange(spec.getProperty("n", "1"))).mapToInt(v -> (int) Math.round(v)).toArray();
+        lengths = parseRange(spec.getProperty("L", "10"));
+        weights = parseRange(spec.getProperty("weight", "0.5"));
+        times = parseRange(spec.getProperty("times", "0"));
+        views = new TreeSet<>(splitList(spec.getProperty("views", "main,heatmap")));
+        formats = new TreeSet<>(splitList(spec.getProperty("formats", "png,csv")));
+        output = Paths.get(spec.getProperty("output", "batch-output"));
+        threads = Integer.parseInt(spec.getProperty("threads", String.valueOf(Runtime.getRuntime().availableProcessors())));
+        if (threads < 1) {
+            throw new IllegalArgumentException("threads must be at least 1, got " + threads);
+        }
+        definition = definition(spec);
+    }
+
+    /** The custom potential's formulas from {@code spec}; null if it sets none. */
+    private static CustomPotential.Definition definition(Properties spec) {
+        Map<String, Double> values = new HashMap<>();
+        for (String key : spec.stringPropertyNames()) {
+            if (key.startsWith("parameter.")) {
+                values.put(key.substring("parameter.".length()), Double.parseDouble(spec.getProperty(key)));
+            }
+        }
+        if (spec.getProperty("potential") == null && spec.getProperty("initialState") == null && values.isEmpty()) {
+            return null;
+        }
+        CustomPotential.Definition definition = new CustomPotential.Definition(
+                spec.getProperty("potential", CustomPotential.DEFAULT_POTENTIAL),
+                spec.getProperty("initialState", CustomPotential.DEFAULT_INITIAL_STATE), values);
+        // Compiling reports a formula that does not parse before any job starts
+        new CustomPotential().define(definition);
+        return definition;
+    }
+
+    public static void main(String[] args) {
+        System.setProperty("java.awt.headless", "true");
+        if (args.length == 0) {
+            System.err.println("Usage: java BatchRenderer <sweep.properties> [key=value ...]");
+            System.exit(2);
+        }
+        Properties spec = new Properties();
+        try (FileInputStream in = new FileInputStream(args[0])) {
+            spec.load(in);
+        } catch (IOException ex) {
+            System.err.println("Cannot read sweep file: " + ex.getMessage());
+            System.exit(2);
+        }
+        for (int i = 1; i < args.length; i++) {
+            int eq = args[i].indexOf('=');
+            if (eq > 0) {
+                spec.setProperty(args[i].substring(0, eq).trim(), args[i].substring(eq + 1).trim());
+            }
+        }
+        int failures;
+        try {
+            failures = new BatchRenderer(spec).run();
+        } catch (IllegalArgumentException | IOException ex) {
+            System.err.println(ex.getMessage());
+            failures = 1;
+        }
+        System.exit(failures == 0 ? 0 : 1);
+    }
+
+    /** Renders the whole sweep on {@code threads} workers; returns the number of failed jobs. */
+    public int run() throws IOException {
+        Files.createDirectories(output);
+        List<Job> jobs = jobs();
+        GridEvaluator sequential = new GridEvaluator(1);
+        // One computer per worker, each with its share of the budget one Studio window uses
+        long cacheBytes = FrameComputer.CACHE_BYTES / threads;
+        ThreadLocal<FrameComputer> computers = ThreadLocal.withInitial(() -> {
+            FrameComputer computer = new FrameComputer(sequential, HEATMAP_WIDTH, HEATMAP_HEIGHT, HEATMAP_TIME,
+                    cacheBytes);
+            if (definition != null) computer.define(definition);
+            return computer;
+        });
+        ExecutorService pool = Executors.newFixedThreadPool(threads, r -> {
+            Thread thread = new Thread(r, "batch-render");
+            thread.setDaemon(true);
+            return thread;
+        });
+        AtomicInteger done = new AtomicInteger();
+        long start = System.nanoTime();
+        List<Future<?>> results = new ArrayList<>();
+        for (Job job : jobs) {
+            results.add(pool.submit(() -> {
+                render(job, computers.get());
+                int finished = done.incrementAndGet();
+                if (finished % 50 == 0 || finished == jobs.size()) {
+                    System.out.printf("%d/%d jobs%n", finished, jobs.size());
+                }
+                return null;
+            }));
+        }
+        int failures = 0;
+        for (int i = 0; i < results.size(); i++) {
+            try {
+                results.get(i).get();
+            } catch (ExecutionException ex) {
+                failures++;
+                System.err.println("Failed " + jobs.get(i) + ": " + ex.getCause());
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                failures += results.size() - i;
+                break;
+            }
+        }
+        pool.shutdownNow();
+        sequential.shutdown();
+        System.out.printf("Rendered %d jobs x %d times in %.1f s (%d failed)%n",
+                jobs.size(), times.length, (System.nanoTime() - start) / 1e9, failures);
+        return failures;
+    }
+
+    private List<Job> jobs() {
+        Map<String, QuantumSystem> available = loadSystems();
+        List<Job> jobs = new ArrayList<>();
+        for (String name : systems) {
+            QuantumSystem s = available.get(name);
+            int[] ns = s.usesQuantumNumber() ? quantumNumbers : Arrays.copyOf(quantumNumbers, 1);
+            double[] ws = s.usesWeights() ? weights : Arrays.copyOf(weights, 1);
+            for (int n : ns) {
+                for (double L : lengths) {
+                    for (double w : ws) {
+                        jobs.add(new Job(name, n, L, w));
+                    }
+                }
+            }
+        }
+        return jobs;
+    }
+
+    private void render(Job job, FrameComputer computer) throws IOException {
+        double[] amplitudes = {Math.sqrt(job.weight), Math.sqrt(1 - job.weight)};
+        QuantumSystem s = computer.configure(job.system, job.n, job.L, amplitudes);
+        Path dir = output.resolve(slug(job.system)).resolve(jobName(job, s));
+        Files.createDirectories(dir);
+        FrameData frame = new FrameData();
+        boolean heatmapWritten = false;
+        for (double t : times) {
+            computer.compute(s, job.L, t, PlotView.full(job.L, FramePainter.PLOT_WIDTH), Quality.FULL, frame, () -> false);
+            String stem = String.format(Locale.ROOT, "t%08.3f", t);
+            if (views.contains("main")) {
+                if (formats.contains("png")) {
+                    ImageIO.write(FramePainter.mainPlot(s, frame), "png", dir.resolve(stem + ".png").toFile());
+                }
+                if (formats.contains("csv")) {
+                    writeCsv(frame, dir.resolve(stem + ".csv"));
+                }
+                if (formats.contains("bin")) {
+                    writeBinary(frame, dir.resolve(stem + ".bin"));
+                }
+            }
+            // The heatmap spans all of t in [0, 25), so it only depends on the job
+            if (views.contains("heatmap") && !heatmapWritten) {
+                heatmapWritten = true;
+                if (formats.contains("png")) {
+                    ImageIO.write(FramePainter.heatmap(frame, HEATMAP_WIDTH, HEATMAP_HEIGHT), "png", dir.resolve("heatmap.png").toFile());
+                }
+                if (formats.contains("bin") && frame.heatmap != null) {
+                    writeBinary(frame.heatmap, dir.resolve("heatmap.bin"));
+                }
+            }
+        }
+    }
+
+    private static void writeCsv(FrameData frame, Path file) throws IOException {
+        double[] xs = EigenstateCache.grid(FrameData.SAMPLES, frame.L);
+        int mid = (FrameData.SAMPLES - 1) / 2;
+        try (PrintWriter out = new PrintWriter(Files.newBufferedWriter(file, StandardCharsets.UTF_8))) {
+            out.println("x,re,im,density,p,momentum");
+            for (int i = 0; i < FrameData.SAMPLES; i++) {
+                double p = (i - mid) * FrameData.MOMENTUM_RANGE / mid;
+                out.printf(Locale.ROOT, "%.9g,%.9g,%.9g,%.9g,%.9g,%.9g%n",
+                        xs[i], frame.psiRe[i], frame.psiIm[i], frame.density[i], p, frame.momentum[i]);
+            }
+        }
+    }
+
+    private static void writeBinary(FrameData frame, Path file) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(4 * FrameData.SAMPLES * Double.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        for (double[] column : new double[][] {frame.psiRe, frame.psiIm, frame.density, frame.momentum}) {
+            buffer.asDoubleBuffer().put(column);
+            buffer.position(buffer.position() + column.length * Double.BYTES);
+        }
+        write(buffer, file);
+    }
+
+    private static void writeBinary(int[] pixels, Path file) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(pixels.length * Integer.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.asIntBuffer().put(pixels);
+        write(buffer, file);
+    }
+
+    private static void write(ByteBuffer buffer, Path file) throws IOException {
+        buffer.rewind();
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        }
+    }
+
+    private static String jobName(Job job, QuantumSystem s) {
+        StringBuilder name = new StringBuilder();
+        if (s.usesQuantumNumber()) name.append(String.format(Locale.ROOT, "n%d_", job.n));
+        name.append(String.format(Locale.ROOT, "L%.3f", job.L));
+        if (s.usesWeights()) name.append(String.format(Locale.ROOT, "_w%.3f", job.weight));
+        return name.toString();
+    }
+
+    private static String slug(String name) {
+        return name.toLowerCase(Locale.ROOT).replaceAll("[^a-z0-9]+", "-").replaceAll("(^-|-$)", "");
+    }
+
+    private static Map<String, QuantumSystem> loadSystems() {
+        Map<String, QuantumSystem> systems = new LinkedHashMap<>();
+        for (QuantumSystem s : ServiceLoader.load(QuantumSystem.class)) {
+            systems.put(s.getName(), s);
+        }
+        return systems;
+    }
+
+    private static List<String> splitList(String value) {
+        List<String> items = new ArrayList<>();
+        for (String item : value.split(",")) {
+            if (!item.isBlank()) items.add(item.trim());
+        }
+        return items;
+    }
+
+    /** Comma-separated values and ranges {@code from..to} or {@code from..to:step} (step 1 by default). */
+    static double[] parseRange(String value) {
+        List<Double> values = new ArrayList<>();
+        for (String item : splitList(value)) {
+            int dots = item.indexOf("..");
+            if (dots < 0) {
+                values.add(Double.parseDouble(item));
+                continue;
+            }
+            int colon = item.indexOf(':', dots);
+            double from = Double.parseDouble(item.substring(0, dots));
+            double to = Double.parseDouble(colon < 0 ? item.substring(dots + 2) : item.substring(dots + 2, colon));
+            double step = colon < 0 ? 1.0 : Double.parseDouble(item.substring(colon + 1));
+            if (!(step > 0) || to < from) {
+                throw new IllegalArgumentException("Bad range '" + item + "'");
+            }
+            long count = (long) Math.floor((to - from) / step + 1e-9) + 1;
+            for (long i = 0; i < count; i++) {
+                values.add(from + i * step);
+            }
+        }
+        if (values.isEmpty()) {
+            throw new IllegalArgumentException("Empty value list '" + value + "'");
+        }
+        return values.stream().mapToDouble(Double::doubleValue).toArray();
+    }
+}
@@ -0,0 +1,24 @@
+package quantumbloom.ui;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/** JFR event spanning the computation of one frame on the worker thread. */
+@Name("quantumbloom.Compute")
+@Label("Frame Compute")
+@Category("Quantum Bloom")
+@StackTrace(false)
+final class ComputeEvent extends Event {
+
+    @Label("System")
+    String system;
+
+    @Label("Generation")
+    long generation;
+
+    @Label("Dropped")
+    boolean dropped;
+}
@@ -0,0 +1,244 @@
+package quantumbloom.ui;
+
+import quantumbloom.core.CustomPotential;
+import quantumbloom.core.GridEvaluator;
+import quantumbloom.core.QuantumSystem;
+import quantumbloom.core.StateSnapshot;
+
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Computes {@link FrameData} on a background thread so heavy frames never block
+ * the JavaFX Application Thread.
+ *
+ * The FX thread {@link #submit}s the current parameters; only the newest
+ * pending request is computed, and a frame whose parameters changed while it
+ * was being computed is dropped instead of published. Finished frames go
+ * through a {@link TripleBuffer}, and {@code onFrame} runs on the FX thread
+ * whenever a newer frame is ready to be taken with {@link #latest()}.
+ *
+ * The worker owns its own {@link FrameComputer}, so nothing it touches is
+ * shared with the FX thread.
+ *
+ * A {@link QualityGovernor} on the worker lowers the {@link Quality} of frames
+ * while they take longer than the frame budget and raises it again when load
+ * drops. When the worker runs out of requests after a reduced frame, it
+ * recomputes the last request at full quality, so a paused or idle view always
+ * ends up complete.
+ *
+ * A frame whose computation throws is dropped and reported on standard error;
+ * the worker carries on with the next request.
+ */
+public class ComputePipeline {
+
+    /** Compute time per frame above which quality is lowered: one refresh at 60 Hz. */
+    public static final long FRAME_BUDGET_NANOS = 16_666_667L;
+
+    /** Parameters of one frame, captured on the FX thread. */
+    private record Request(long generation, String system, int n, double L, double[] weights, double time, PlotView view, HeatmapWindow window,
+                           int imageSize) { }
+
+    private final ExecutorService worker = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "quantum-compute");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final AtomicReference<Request> pending = new AtomicReference<>();
+    private final AtomicReference<StateSnapshot> pendingRestore = new AtomicReference<>();
+    private final AtomicReference<CustomPotential.Definition> pendingDefinition = new AtomicReference<>();
+    private final AtomicBoolean running = new AtomicBoolean(false);
+    private final AtomicBoolean notified = new AtomicBoolean(false);
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final TripleBuffer<FrameData> frames = new TripleBuffer<>(FrameData::new);
+    private final Runnable onFrame;
+    private final Executor fxExecutor;
+    private volatile long currentGeneration = 0;
+
+    // Worker-owned state
+    private final GridEvaluator grid = new GridEvaluator(GridEvaluator.defaultParallelism());
+    private final FrameComputer computer;
+    private final QualityGovernor governor;
+    private Request lastRequest;
+    private boolean lastReduced;
+
+    // FX-thread state for generation tracking
+    private String lastSystem;
+    private int lastN;
+    private double lastL;
+    private double[] lastWeights = {};
+
+    /**
+     * @param fxExecutor runs {@code onFrame} on the FX thread, normally {@code Platform::runLater}
+     */
+    public ComputePipeline(int heatmapWidth, int heatmapHeight, Executor fxExecutor, Runnable onFrame) {
+        this(heatmapWidth, heatmapHeight, FRAME_BUDGET_NANOS, fxExecutor, onFrame);
+    }
+
+    /**
+     * @param budgetNanos compute time per frame the {@link QualityGovernor} aims to stay under
+     * @param fxExecutor  runs {@code onFrame} on the FX thread, normally {@code Platform::runLater}
+     */
+    public ComputePipeline(int heatmapWidth, int heatmapHeight, long budgetNanos, Executor fxExecutor, Runnable onFrame) {
+        this.computer = new FrameComputer(grid, heatmapWidth, heatmapHeight, 25.0);
+        this.governor = new QualityGovernor(budgetNanos);
+        this.fxExecutor = fxExecutor;
+        this.onFrame = onFrame;
+    }
+
+    /**
+     * Asks for a frame of {@code system} at {@code time}, with the main plot
+     * showing {@code view} and the heatmap {@code window}; called from the FX thread.
+     *
+     * @param imageSize points per axis of the 2D density image, 0 for none
+     */
+    public void submit(String system, int n, double L, double[] weights, double time, PlotView view, HeatmapWindow window,
+                       int imageSize) {
+        if (!system.equals(lastSystem) || n != lastN || L != lastL || !Arrays.equals(weights, lastWeights)) {
+            lastSystem = system;
+            lastN = n;
+            lastL = L;
+            lastWeights = weights.clone();
+            currentGeneration++;
+        }
+        pending.set(new Request(currentGeneration, system, n, L, lastWeights, time, view, window, imageSize));
+        if (running.compareAndSet(false, true)) {
+            worker.execute(this::drain);
+        }
+    }
+
+    /**
+     * Captures the worker's copy of {@code system} at {@code time} on the worker,
+     * after the frames already queued; see {@link StateSnapshot#capture}.
+     */
+    public CompletableFuture<StateSnapshot> snapshot(String system, int n, double L, double[] weights, double time, int gridSize) {
+        double[] w = weights.clone();
+        return CompletableFuture.supplyAsync(() -> computer.snapshot(system, n, L, w, time, gridSize), worker);
+    }
+
+    /**
+     * Restores {@code snapshot} on the worker before the next frame it computes;
+     * called from the FX thread, followed by a {@link #submit} for the restored
+     * parameters. Frames still in flight for the old state are dropped.
+     */
+    public void restore(StateSnapshot snapshot) {
+        pendingRestore.set(snapshot);
+        lastSystem = null;
+    }
+
+    /**
+     * Switches the worker's custom potential to {@code definition} before the
+     * next frame it computes; called from the FX thread, followed by a
+     * {@link #submit}. Frames still in flight for the old formulas are dropped.
+     */
+    public void define(CustomPotential.Definition definition) {
+        pendingDefinition.set(definition);
+        lastSystem = null;
+    }
+
+    /** The newest finished frame (generation -1 before the first); FX thread only. */
+    public FrameData latest() {
+        return frames.acquire();
+    }
+
+    /** Frames abandoned because their parameters changed while they were computed. */
+    public long droppedFrames() {
+        return dropped.get();
+    }
+
+    /** Frames abandoned because computing them threw. */
+    public long failedFrames() {
+        return failed.get();
+    }
+
+    public void shutdown() {
+        worker.shutdownNow();
+        grid.shutdown();
+    }
+
+    private void drain() {
+        try {
+            Request request;
+            while ((request = pending.getAndSet(null)) != null) {
+                computeOrDrop(request, governor.level(), true);
+            }
+            if (lastReduced && lastRequest != null) {
+                // Idle after a reduced frame: finish the picture at full quality
+                computeOrDrop(lastRequest, Quality.FULL, false);
+            }
+        } finally {
+            running.set(false);
+        }
+        if (pending.get() != null && running.compareAndSet(false, true)) {
+            worker.execute(this::drain);
+        }
+    }
+
+    /** {@link #compute}, dropping the frame if it throws so one bad state cannot stop the worker. */
+    private void computeOrDrop(Request request, Quality quality, boolean steered) {
+        try {
+            compute(request, quality, steered);
+        } catch (RuntimeException ex) {
+            lastReduced = false;
+            failed.incrementAndGet();
+            System.err.println("Frame of " + request.system + " (n = " + request.n + ", L = " + request.L + ") failed: " + ex);
+        }
+    }
+
+    private boolean isStale(Request request) {
+        return request.generation != currentGeneration;
+    }
+
+    /** @param steered whether the governor chose {@code quality} and should see the compute time */
+    private void compute(Request request, Quality quality, boolean steered) {
+        lastRequest = request;
+        lastReduced = false;
+        if (isStale(request)) return;
+        StateSnapshot restore = pendingRestore.getAndSet(null);
+        if (restore != null) computer.restore(restore);
+        CustomPotential.Definition definition = pendingDefinition.getAndSet(null);
+        if (definition != null) computer.define(definition);
+        QuantumSystem s = computer.configure(request.system, request.n, request.L, request.weights);
+        if (s == null) return;
+
+        ComputeEvent event = new ComputeEvent();
+        event.begin();
+        long start = System.nanoTime();
+        FrameData frame = frames.writeSlot();
+        frame.generation = request.generation;
+        boolean complete = computer.compute(s, request.L, request.time, request.view, request.window, quality, frame, () -> isStale(request));
+        if (complete) {
+            computer.computeImage(s, request.L, request.weights, request.time, request.imageSize, quality, frame);
+            complete = !isStale(request);
+        }
+        long end = System.nanoTime();
+        frame.computeNanos = end - start;
+        event.end();
+        if (event.shouldCommit()) {
+            event.system = request.system;
+            event.generation = request.generation;
+            event.dropped = !complete;
+            event.commit();
+        }
+        if (!complete) {
+            dropped.incrementAndGet();
+            return;
+        }
+        if (steered) governor.record(frame.computeNanos, end);
+        lastReduced = quality != Quality.FULL;
+        frames.publish();
+        if (notified.compareAndSet(false, true)) {
+            fxExecutor.execute(() -> {
+                notified.set(false);
+                onFrame.run();
+            });
+        }
+    }
+}
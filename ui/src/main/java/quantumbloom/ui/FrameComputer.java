@@ -0,0 +1,300 @@
+package quantumbloom.ui;
+
+import quantumbloom.core.CustomPotential;
+import quantumbloom.core.DensityImage2D;
+import quantumbloom.core.DensityPyramid;
+import quantumbloom.core.EigenstateCache;
+import quantumbloom.core.ExpectationEngine;
+import quantumbloom.core.GridEvaluator;
+import quantumbloom.core.Kernels;
+import quantumbloom.core.MomentumSpace;
+import quantumbloom.core.ProductState2D;
+import quantumbloom.core.QuantumSystem;
+import quantumbloom.core.StateSnapshot;
+import quantumbloom.core.Superposition;
+import quantumbloom.core.ViewSampler;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.ServiceLoader;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Fills a {@link FrameData} for one system, length and time. Both the GUI's
+ * {@link ComputePipeline} and the headless {@link BatchRenderer} use it.
+ *
+ * An instance owns its own {@link QuantumSystem}s and caches and is not
+ * thread-safe: each thread that computes frames needs its own, so callers
+ * running several should split {@link #CACHE_BYTES} between them.
+ */
+public final class FrameComputer {
+
+    /** Cache budget of one instance unless the constructor is given another. */
+    public static final long CACHE_BYTES = 160L << 20;
+
+    private final Map<String, QuantumSystem> systems = new HashMap<>();
+    private final EigenstateCache basis;
+    /** Tables for the zoomed main plot, kept apart so the two grids do not evict each other's state. */
+    private final EigenstateCache viewBasis;
+    /** Tables for the 2D image, on a grid of its own size. */
+    private final EigenstateCache planeBasis;
+    private final ExpectationEngine expectation;
+    private final DensityPyramid heatmap;
+    private final DensityImage2D plane;
+    private final MomentumSpace momentumSpace = new MomentumSpace(4096);
+    private final int heatmapWidth, heatmapHeight;
+    private final HeatmapWindow heatmapWindow;
+    private double[] potential;
+    private String potentialKey;
+    private double potentialL;
+
+    // Secondary views of the last frame that computed them, carried over at Quality.MINIMAL
+    // while the state stays the same; any change of system, n, L, weights or definition drops them
+    private QuantumSystem secondarySystem;
+    private final double[] secondaryMomentum = new double[FrameData.SAMPLES];
+    private double secondaryPeak, secondaryPhaseRe, secondaryPhaseIm;
+    private double[] secondaryExpectation;
+    private int[] secondaryHeatmap;
+    private double secondaryHeatmapFrom, secondaryHeatmapTo;
+    private int framesSinceSecondary;
+    private String configuredName;
+    private int configuredN;
+    private double configuredL;
+    private double[] configuredWeights = {};
+
+    /**
+     * @param grid        pool for the heatmap and ⟨x⟩(t); may be shared between instances
+     * @param heatmapTime the heatmap covers t in [0, heatmapTime) unless a frame asks for another window
+     */
+    public FrameComputer(GridEvaluator grid, int heatmapWidth, int heatmapHeight, double heatmapTime) {
+        this(grid, heatmapWidth, heatmapHeight, heatmapTime, CACHE_BYTES);
+    }
+
+    /**
+     * @param cacheBytes budget of all caches together: two fifths for the
+     *                   main basis tables, one fifth each for the zoomed view,
+     *                   the 2D image and the heatmap tiles
+     */
+    public FrameComputer(GridEvaluator grid, int heatmapWidth, int heatmapHeight, double heatmapTime, long cacheBytes) {
+        long fifth = cacheBytes / 5;
+        this.basis = new EigenstateCache(2 * fifth);
+        this.viewBasis = new EigenstateCache(fifth);
+        this.planeBasis = new EigenstateCache(fifth);
+        this.expectation = new ExpectationEngine(basis, grid);
+        this.heatmap = new DensityPyramid(basis, grid, fifth);
+        this.plane = new DensityImage2D(planeBasis, grid);
+        this.heatmapWidth = heatmapWidth;
+        this.heatmapHeight = heatmapHeight;
+        this.heatmapWindow = HeatmapWindow.first(heatmapTime);
+        for (QuantumSystem s : ServiceLoader.load(QuantumSystem.class)) {
+            systems.put(s.getName(), s);
+        }
+    }
+
+    /** This instance's copy of the named system, configured for n, L and weights; null if unknown. */
+    public QuantumSystem configure(String name, int n, double L, double[] weights) {
+        if (!name.equals(configuredName) || n != configuredN || L != configuredL || !Arrays.equals(weights, configuredWeights)) {
+            configuredName = name;
+            configuredN = n;
+            configuredL = L;
+            configuredWeights = weights.clone();
+            secondarySystem = null;
+        }
+        QuantumSystem s = systems.get(name);
+        if (s != null) {
+            s.configure(n, L, weights);
+        }
+        return s;
+    }
+
+    /** Switches this instance's copy of the custom potential to {@code definition}. */
+    public void define(CustomPotential.Definition definition) {
+        if (systems.get(CustomPotential.NAME) instanceof CustomPotential custom) {
+            custom.define(definition);
+            secondarySystem = null;
+        }
+    }
+
+    /**
+     * Puts this instance's copy of the snapshot's system into the saved state,
+     * first adding a fixed superposition it does not know yet.
+     *
+     * @return the restored system, or null if neither it nor its basis is known
+     */
+    public QuantumSystem restore(StateSnapshot snapshot) {
+        QuantumSystem s = systems.get(snapshot.getSystem());
+        if (s == null) {
+            Superposition custom = snapshot.superposition(systems);
+            if (custom == null) return null;
+            systems.put(custom.getName(), custom);
+            s = custom;
+        }
+        snapshot.applyTo(s);
+        secondarySystem = null;
+        return s;
+    }
+
+    /** The configured state of the named system at {@code time}; see {@link StateSnapshot#capture}. */
+    public StateSnapshot snapshot(String name, int n, double L, double[] weights, double time, int gridSize) {
+        QuantumSystem s = configure(name, n, L, weights);
+        if (s == null) {
+            throw new IllegalArgumentException("Unknown system '" + name + "'");
+        }
+        return StateSnapshot.capture(s, n, L, weights, time, gridSize);
+    }
+
+    /** {@link #compute(QuantumSystem, double, double, PlotView, HeatmapWindow, Quality, FrameData, BooleanSupplier)} with the heatmap over [0, heatmapTime). */
+    public boolean compute(QuantumSystem s, double L, double time, PlotView view, Quality quality,
+                           FrameData frame, BooleanSupplier abandoned) {
+        return compute(s, L, time, view, heatmapWindow, quality, frame, abandoned);
+    }
+
+    /**
+     * Computes everything but the generation of {@code frame} for the configured
+     * state of {@code s} at {@code time}, sampling the main plot for {@code view}
+     * and the heatmap for {@code window} at {@code quality}.
+     *
+     * @param abandoned polled between the expensive steps
+     * @return false if {@code abandoned} asked to stop; {@code frame} is then incomplete
+     */
+    public boolean compute(QuantumSystem s, double L, double time, PlotView view, HeatmapWindow window, Quality quality,
+                           FrameData frame, BooleanSupplier abandoned) {
+        frame.time = time;
+        frame.L = L;
+        frame.stationary = s.isStationaryExpansion();
+        frame.quality = quality;
+        frame.potential = potential(s, L);
+        frame.occupiedLevels = 0;
+        for (int i = 0; i < FrameData.ENERGY_LEVELS; i++) {
+            frame.energies[i] = s.getEnergy(i + 1);
+            if (s.isLevelOccupied(i + 1)) frame.occupiedLevels |= 1 << i;
+        }
+
+        basis.evolve(s, L, FrameData.SAMPLES, time, frame.psiRe, frame.psiIm);
+        Kernels.active().density(frame.psiRe, frame.psiIm, frame.density, FrameData.SAMPLES);
+        computeView(s, L, time, view, quality, frame);
+
+        framesSinceSecondary++;
+        if (s == secondarySystem && framesSinceSecondary < quality.secondaryInterval()) {
+            carrySecondary(frame);
+            return !abandoned.getAsBoolean();
+        }
+        framesSinceSecondary = 0;
+        secondarySystem = null;
+
+        momentumSpace.transform(frame.psiRe, frame.psiIm, FrameData.SAMPLES, 2 * L / (FrameData.SAMPLES - 1));
+        double peak = 0;
+        int mid = (FrameData.SAMPLES - 1) / 2;
+        for (int i = 0; i < FrameData.SAMPLES; i++) {
+            frame.momentum[i] = momentumSpace.densityAt((i - mid) * FrameData.MOMENTUM_RANGE / mid);
+            peak = Math.max(peak, frame.momentum[i]);
+        }
+        frame.momentumPeak = peak;
+
+        // ψ(0, t) is the centre sample: the grid is symmetric with an odd number of points
+        frame.phaseRe = frame.psiRe[FrameData.SAMPLES / 2];
+        frame.phaseIm = frame.psiIm[FrameData.SAMPLES / 2];
+
+        if (frame.stationary) {
+            frame.expectation = expectation.positionCurve(s, L, FrameData.SAMPLES, 0, 0.1, FrameData.SAMPLES);
+            if (abandoned.getAsBoolean()) return false;
+            frame.heatmap = heatmap.render(s, L, heatmapWidth, heatmapHeight, window.from(), window.to());
+            frame.heatmapFrom = window.from();
+            frame.heatmapTo = window.to();
+        } else {
+            frame.expectation = null;
+            frame.heatmap = null;
+        }
+        if (abandoned.getAsBoolean()) return false;
+        keepSecondary(s, frame);
+        return true;
+    }
+
+    /**
+     * Renders the 2D counterpart of the configured state of {@code s} into
+     * {@code frame} on {@code size} points per axis, half as many at
+     * {@link Quality#MINIMAL}. A size of 0, or a system without a stationary
+     * expansion, leaves the frame one-dimensional.
+     *
+     * @param weights the weights {@code s} was configured with; see {@link ProductState2D#of}
+     */
+    public void computeImage(QuantumSystem s, double L, double[] weights, double time, int size, Quality quality, FrameData frame) {
+        size = Math.min(Math.min(size, DensityImage2D.MAX_SIZE), quality.maxSamples(size));
+        ProductState2D state = size >= 2 ? plane.state(s, L, weights, size) : null;
+        if (state == null) {
+            frame.imageSize = 0;
+            frame.imageName = null;
+            return;
+        }
+        if (frame.image.length < size * size) frame.image = new int[size * size];
+        plane.render(state, time, frame.image);
+        frame.imageSize = size;
+        frame.imageName = state.getName();
+    }
+
+    /** V for the plots, sampled again only when the basis or L changes. */
+    private double[] potential(QuantumSystem s, double L) {
+        String key = s.getBasisKey();
+        if (potential != null && L == potentialL && key.equals(potentialKey)) return potential;
+        double[] x = EigenstateCache.grid(FrameData.SAMPLES, L);
+        double[] v = new double[FrameData.POTENTIAL_SAMPLES];
+        for (int i = 0; i < FrameData.SAMPLES; i++) {
+            v[i] = s.potential(x[i]);
+        }
+        v[FrameData.SAMPLES] = s.potential(-L - L / 100);
+        v[FrameData.SAMPLES + 1] = s.potential(L + L / 100);
+        potential = v;
+        potentialKey = key;
+        potentialL = L;
+        return v;
+    }
+
+    private void keepSecondary(QuantumSystem s, FrameData frame) {
+        secondarySystem = s;
+        System.arraycopy(frame.momentum, 0, secondaryMomentum, 0, FrameData.SAMPLES);
+        secondaryPeak = frame.momentumPeak;
+        secondaryPhaseRe = frame.phaseRe;
+        secondaryPhaseIm = frame.phaseIm;
+        secondaryExpectation = frame.expectation;
+        secondaryHeatmap = frame.heatmap;
+        secondaryHeatmapFrom = frame.heatmapFrom;
+        secondaryHeatmapTo = frame.heatmapTo;
+    }
+
+    /** Fills the secondary views of {@code frame} from the last frame that computed them. */
+    private void carrySecondary(FrameData frame) {
+        System.arraycopy(secondaryMomentum, 0, frame.momentum, 0, FrameData.SAMPLES);
+        frame.momentumPeak = secondaryPeak;
+        frame.phaseRe = secondaryPhaseRe;
+        frame.phaseIm = secondaryPhaseIm;
+        frame.expectation = secondaryExpectation;
+        frame.heatmap = secondaryHeatmap;
+        frame.heatmapFrom = secondaryHeatmapFrom;
+        frame.heatmapTo = secondaryHeatmapTo;
+    }
+
+    /**
+     * ψ over the visible part of [-L, L], sampled for its width in pixels and the
+     * state's wavelength, but no finer than {@code quality} allows.
+     */
+    private void computeView(QuantumSystem s, double L, double time, PlotView view, Quality quality, FrameData frame) {
+        double from = Math.max(-L, view.from()), to = Math.min(L, view.to());
+        int count = to > from
+                ? ViewSampler.sampleCount(to - from, view.pixels(), ViewSampler.wavenumber(s, from, to, FrameData.SAMPLES))
+                : 0;
+        if (count > 2) count = Math.max(2, Math.min(count, quality.maxSamples(view.pixels())));
+        frame.viewFrom = from;
+        frame.viewTo = to;
+        frame.viewCount = count;
+        frame.viewPixels = view.pixels();
+        if (count == 0) return;
+        if (frame.viewRe.length < count) {
+            frame.viewRe = new double[count];
+            frame.viewIm = new double[count];
+            frame.viewDensity = new double[count];
+        }
+        viewBasis.evolve(s, L, from, to, count, time, frame.viewRe, frame.viewIm);
+        Kernels.active().density(frame.viewRe, frame.viewIm, frame.viewDensity, count);
+    }
+}
@@ -0,0 +1,81 @@
+package quantumbloom.ui;
+
+import quantumbloom.core.EigenstateCache;
+
+/**
+ * Everything the plots need for one instant, computed off the FX thread by
+ * {@link ComputePipeline}.
+ *
+ * Instances are recycled through a {@link TripleBuffer}: the worker fills one
+ * while the FX thread draws from another, so a frame is read-only from the
+ * moment it is published until the FX thread acquires a newer one.
+ */
+public final class FrameData {
+
+    /** Position samples on {@link EigenstateCache#grid}(SAMPLES, L). */
+    public static final int SAMPLES = 201;
+    /** Entries of {@link #potential}: the SAMPLES positions, then just outside -L and L. */
+    public static final int POTENTIAL_SAMPLES = SAMPLES + 2;
+    /** Levels shown in the energy panel. */
+    public static final int ENERGY_LEVELS = 5;
+    /** Momentum samples cover p in [-MOMENTUM_RANGE, MOMENTUM_RANGE]. */
+    public static final double MOMENTUM_RANGE = 10.0;
+
+    /** Parameter generation this frame was computed for; -1 before the first frame. */
+    long generation = -1;
+    double time;
+    double L;
+    boolean stationary;
+    /** How much of this frame was computed; secondary views may be carried over from an earlier frame. */
+    Quality quality = Quality.FULL;
+
+    final double[] psiRe = new double[SAMPLES];
+    final double[] psiIm = new double[SAMPLES];
+    final double[] density = new double[SAMPLES];
+    final double[] momentum = new double[SAMPLES];
+    /**
+     * ψ and |ψ|² on {@link EigenstateCache#grid(int, double, double)}(viewCount, viewFrom, viewTo),
+     * the visible part of the main plot across viewPixels pixels. The arrays only
+     * grow, so they can be longer than viewCount.
+     */
+    double viewFrom, viewTo;
+    int viewCount, viewPixels;
+    double[] viewRe = {}, viewIm = {}, viewDensity = {};
+    /**
+     * V(x) on {@link EigenstateCache#grid}(SAMPLES, L), then at L/100 beyond -L and
+     * beyond L, where {@link Double#POSITIVE_INFINITY} marks a hard wall. Shared
+     * between frames of the same basis and L, never modified.
+     */
+    double[] potential;
+    /** E_1 … E_ENERGY_LEVELS, and the levels the state occupies as bits 0 … ENERGY_LEVELS - 1. */
+    final double[] energies = new double[ENERGY_LEVELS];
+    int occupiedLevels;
+    double momentumPeak;
+    /** ψ(0, t), for the phase plot. */
+    double phaseRe, phaseIm;
+    /** ⟨x⟩ curve and heatmap pixels; shared between frames, never modified, null without a stationary expansion. */
+    double[] expectation;
+    int[] heatmap;
+    /** The heatmap covers t in [heatmapFrom, heatmapTo) from top to bottom. */
+    double heatmapFrom, heatmapTo;
+    /**
+     * |ψ(x, y)|² of the 2D counterpart as imageSize² ARGB pixels, y = L in the
+     * top row; imageSize is 0 for a one-dimensional frame. The array only grows.
+     */
+    int imageSize;
+    int[] image = {};
+    String imageName;
+    /** Worker time spent computing this frame. */
+    long computeNanos;
+
+    /** |ψ(x)| linearly interpolated from the samples; 0 outside [-L, L]. */
+    double magnitudeAt(double x) {
+        double pos = (x + L) * (SAMPLES - 1) / (2 * L);
+        if (!(pos >= 0 && pos <= SAMPLES - 1)) return 0.0;
+        int i = Math.min((int) pos, SAMPLES - 2);
+        double frac = pos - i;
+        double re = psiRe[i] * (1 - frac) + psiRe[i + 1] * frac;
+        double im = psiIm[i] * (1 - frac) + psiIm[i + 1] * frac;
+        return Math.sqrt(re * re + im * im);
+    }
+}
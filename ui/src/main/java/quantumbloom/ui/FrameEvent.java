@@ -0,0 +1,45 @@
+package quantumbloom.ui;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * JFR event for one rendered pulse; its duration is the time spent drawing.
+ * Record with {@code -XX:StartFlightRecording} and look for
+ * {@code quantumbloom.Frame}.
+ */
+@Name("quantumbloom.Frame")
+@Label("Frame")
+@Category("Quantum Bloom")
+@Description("One JavaFX pulse that redrew at least one view")
+@StackTrace(false)
+final class FrameEvent extends Event {
+
+    @Label("Frame Time")
+    @Description("Time since the previous rendered pulse")
+    @Timespan
+    long frameTime;
+
+    @Label("Views Drawn")
+    int viewsDrawn;
+
+    @Label("Skipped Pulses")
+    @Description("Display refreshes missed before this pulse")
+    int skipped;
+
+    @Label("Compute Time")
+    @Description("Worker time for the newest frame shown")
+    @Timespan
+    long computeTime;
+
+    @Label("Allocated")
+    @Description("Bytes allocated by the FX thread while drawing the pulse")
+    @DataAmount
+    long allocated;
+}
@@ -0,0 +1,140 @@
+package quantumbloom.ui;
+
+import quantumbloom.core.QuantumSystem;
+import quantumbloom.core.ViewSampler;
+
+import java.awt.BasicStroke;
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.GradientPaint;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.geom.Line2D;
+import java.awt.image.BufferedImage;
+
+/**
+ * Draws the main wavefunction plot and the density heatmap of a
+ * {@link FrameData} into offscreen AWT images, with the layout and colours of
+ * the Studio's canvases. Needs no display, so it works with
+ * {@code java.awt.headless=true}.
+ */
+public final class FramePainter {
+
+    public static final int MAIN_WIDTH = 800, MAIN_HEIGHT = 300;
+    /** Pixels between the plot's left and right edges, x = 50 and x = 750. */
+    public static final int PLOT_WIDTH = 700;
+
+    private static final Color BACKGROUND = new Color(240, 230, 255);
+    private static final Color PANEL = new Color(255, 245, 230, 204);
+    private static final Color LABEL = new Color(178, 102, 255);
+
+    private FramePainter() { }
+
+    /**
+     * The main canvas at zoom 1 and no pan: V(x), Re ψ, Im ψ and |ψ|² over [-L, L],
+     * from the view samples of a frame computed for {@link PlotView#full}.
+     */
+    public static BufferedImage mainPlot(QuantumSystem s, FrameData frame) {
+        return mainPlot(s, frame, new BufferedImage(MAIN_WIDTH, MAIN_HEIGHT, BufferedImage.TYPE_INT_ARGB));
+    }
+
+    /** {@link #mainPlot(QuantumSystem, FrameData)} drawn over all of {@code image}, which must be MAIN_WIDTH × MAIN_HEIGHT. */
+    public static BufferedImage mainPlot(QuantumSystem s, FrameData frame, BufferedImage image) {
+        Graphics2D g = image.createGraphics();
+        try {
+            g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+            g.setRenderingHint(RenderingHints.KEY_STROKE_CONTROL, RenderingHints.VALUE_STROKE_PURE);
+            g.setColor(BACKGROUND);
+            g.fillRect(0, 0, MAIN_WIDTH, MAIN_HEIGHT);
+            g.setStroke(new BasicStroke(2));
+
+            g.setPaint(gradient(new Color(178, 102, 255), new Color(255, 128, 191)));
+            drawPotential(g, frame);
+
+            double yScale = 50;
+            double[] min = new double[frame.viewPixels], max = new double[frame.viewPixels];
+            g.setPaint(gradient(new Color(102, 204, 204), new Color(51, 153, 153)));
+            drawCurve(g, frame, frame.viewRe, yScale, min, max);
+            g.setPaint(gradient(new Color(204, 153, 255), new Color(153, 102, 204)));
+            drawCurve(g, frame, frame.viewIm, yScale, min, max);
+            g.setPaint(gradient(new Color(255, 128, 191), new Color(204, 102, 153)));
+            drawCurve(g, frame, frame.viewDensity, yScale, min, max);
+
+            g.setColor(LABEL);
+            g.setFont(new Font("Verdana", Font.PLAIN, 12));
+            g.drawString("Real(ψ)", 50, 30);
+            g.drawString("Imag(ψ)", 100, 30);
+            g.drawString("Probability", 150, 30);
+            g.drawString(String.format("%s  t = %.2f", s.getName(), frame.time), 550, 30);
+        } finally {
+            g.dispose();
+        }
+        return image;
+    }
+
+    /** The heatmap pixels of {@code frame}, or a blank panel for systems without one. */
+    public static BufferedImage heatmap(FrameData frame, int width, int height) {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+        if (frame.heatmap != null) {
+            image.setRGB(0, 0, width, height, frame.heatmap, 0, width);
+        } else {
+            Graphics2D g = image.createGraphics();
+            g.setColor(PANEL);
+            g.fillRect(0, 0, width, height);
+            g.dispose();
+        }
+        return image;
+    }
+
+    private static GradientPaint gradient(Color from, Color to) {
+        return new GradientPaint(0, 0, from, MAIN_WIDTH, MAIN_HEIGHT, to);
+    }
+
+    /** One series of the view samples; min/max columns once there is more than one sample per pixel. */
+    private static void drawCurve(Graphics2D g, FrameData frame, double[] values, double yScale, double[] min, double[] max) {
+        int count = frame.viewCount, columns = frame.viewPixels;
+        if (count < 2) return;
+        double xScale = (750 - 50) / (2 * frame.L);
+        double left = 50 + (frame.viewFrom + frame.L) * xScale, width = (frame.viewTo - frame.viewFrom) * xScale;
+        Line2D.Double line = new Line2D.Double();
+        if (count > columns) {
+            ViewSampler.decimate(values, count, columns, min, max);
+            for (int c = 0; c < columns; c++) {
+                double x = left + (c + 0.5) * width / columns;
+                line.setLine(x, 150 - yScale * min[c], x, 150 - yScale * max[c]);
+                g.draw(line);
+            }
+            return;
+        }
+        double dx = width / (count - 1);
+        for (int i = 0; i < count - 1; i++) {
+            line.setLine(left + i * dx, 150 - yScale * values[i], left + (i + 1) * dx, 150 - yScale * values[i + 1]);
+            g.draw(line);
+        }
+    }
+
+    /** Same scaling as the Studio: the largest finite |V| rises 61 px, hard walls are vertical lines. */
+    private static void drawPotential(Graphics2D g, FrameData frame) {
+        double[] v = frame.potential;
+        if (v == null) return;
+        double vMax = 0;
+        for (int i = 0; i < FrameData.SAMPLES; i++) {
+            if (Double.isFinite(v[i])) vMax = Math.max(vMax, Math.abs(v[i]));
+        }
+        double vScale = vMax > 0 ? 61.25 / vMax : 0;
+        double dx = (750 - 50) / (FrameData.SAMPLES - 1.0);
+        Line2D.Double line = new Line2D.Double();
+        for (int i = 0; i < FrameData.SAMPLES - 1; i++) {
+            double y1 = Math.max(50, 250 - vScale * v[i]);
+            double y2 = Math.max(50, 250 - vScale * v[i + 1]);
+            line.setLine(50 + i * dx, y1, 50 + (i + 1) * dx, y2);
+            g.draw(line);
+        }
+        if (Double.isInfinite(v[FrameData.SAMPLES])) {
+            g.draw(new Line2D.Double(50, 250, 50, 50));
+        }
+        if (Double.isInfinite(v[FrameData.SAMPLES + 1])) {
+            g.draw(new Line2D.Double(750, 250, 750, 50));
+        }
+    }
+}
@@ -0,0 +1,178 @@
+package quantumbloom.ui;
+
+import quantumbloom.core.Kernels;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Frame-time instrumentation for the JavaFX side: pulse-to-pulse frame time,
+ * draw time per view, compute time of the frames shown, skipped pulses,
+ * dropped frames, allocation rate and bytes allocated by the FX thread per
+ * rendered pulse, with p50/p99 from
+ * {@link LatencyHistogram}s. Every rendered pulse also emits a
+ * {@link FrameEvent} and every view draw a {@link ViewDrawEvent} for JFR.
+ *
+ * FX thread only. The worker's compute time reaches it through
+ * {@link FrameData}, so nothing here is shared between threads.
+ */
+public final class FrameStats {
+
+    /** One display refresh at 60 Hz. */
+    private static final long REFRESH_NANOS = 16_666_667L;
+    /** Gaps longer than this are idle time between interactions, not slow frames. */
+    private static final long IDLE_NANOS = 1_000_000_000L;
+    private static final long ALLOCATION_SAMPLE_NANOS = 500_000_000L;
+
+    private final LatencyHistogram frameTimes = new LatencyHistogram();
+    private final LatencyHistogram computeTimes = new LatencyHistogram();
+    private final Map<String, LatencyHistogram> drawTimes = new LinkedHashMap<>();
+    private final com.sun.management.ThreadMXBean threads;
+
+    private long lastPulse = 0;
+    private FrameEvent event;
+    private long pulseAllocatedStart;
+    private long frameTime;
+    private int viewsDrawn;
+    private int skippedThisPulse;
+    private long skipped;
+    private long lastComputeNanos;
+    private Quality quality = Quality.FULL;
+    private long droppedFrames, droppedAtReset;
+
+    private long pulseAllocated, maxPulseAllocated;
+    private long allocationSampleTime, allocationSampleBytes = -1;
+    private double allocationRate = Double.NaN;
+
+    public FrameStats() {
+        ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        threads = bean instanceof com.sun.management.ThreadMXBean sun && sun.isThreadAllocatedMemorySupported()
+                ? sun : null;
+        if (threads != null) threads.setThreadAllocatedMemoryEnabled(true);
+    }
+
+    /** Called by the {@link RenderScheduler} before it draws the dirty views of a pulse. */
+    void pulseStarted() {
+        long now = System.nanoTime();
+        frameTime = lastPulse == 0 ? 0 : now - lastPulse;
+        skippedThisPulse = 0;
+        if (frameTime > 0 && frameTime < IDLE_NANOS) {
+            frameTimes.record(frameTime);
+            if (frameTime > REFRESH_NANOS * 3 / 2) {
+                skippedThisPulse = (int) Math.round((double) frameTime / REFRESH_NANOS) - 1;
+                skipped += skippedThisPulse;
+            }
+        }
+        lastPulse = now;
+        viewsDrawn = 0;
+        pulseAllocatedStart = currentThreadAllocated();
+        // The event's duration is the draw time of the pulse
+        event = new FrameEvent();
+        event.begin();
+    }
+
+    /** Runs one view's draw method, timing it. */
+    void drawView(String name, Runnable draw) {
+        ViewDrawEvent event = new ViewDrawEvent();
+        event.begin();
+        long start = System.nanoTime();
+        draw.run();
+        long elapsed = System.nanoTime() - start;
+        event.end();
+        if (event.shouldCommit()) {
+            event.view = name;
+            event.commit();
+        }
+        drawTimes.computeIfAbsent(name, k -> new LatencyHistogram()).record(elapsed);
+        viewsDrawn++;
+    }
+
+    /** Called by the {@link RenderScheduler} after the last view of a pulse. */
+    void pulseFinished() {
+        event.end();
+        pulseAllocated = currentThreadAllocated() - pulseAllocatedStart;
+        maxPulseAllocated = Math.max(maxPulseAllocated, pulseAllocated);
+        if (event.shouldCommit()) {
+            event.frameTime = frameTime;
+            event.viewsDrawn = viewsDrawn;
+            event.skipped = skippedThisPulse;
+            event.computeTime = lastComputeNanos;
+            event.allocated = pulseAllocated;
+            event.commit();
+        }
+        event = null;
+        long now = System.nanoTime();
+        if (now - allocationSampleTime >= ALLOCATION_SAMPLE_NANOS) {
+            sampleAllocationRate(now);
+        }
+    }
+
+    /**
+     * Records a newly shown frame.
+     *
+     * @param droppedTotal frames the pipeline has dropped as stale so far
+     * @param quality      how much of the frame was computed
+     */
+    public void frameShown(long computeNanos, long droppedTotal, Quality quality) {
+        lastComputeNanos = computeNanos;
+        this.quality = quality;
+        computeTimes.record(computeNanos);
+        droppedFrames = droppedTotal;
+    }
+
+    /** Starts a new measurement window, e.g. when the overlay is opened. */
+    public void reset() {
+        frameTimes.reset();
+        computeTimes.reset();
+        drawTimes.values().forEach(LatencyHistogram::reset);
+        skipped = 0;
+        maxPulseAllocated = 0;
+        droppedAtReset = droppedFrames;
+        lastPulse = 0;
+    }
+
+    /** Human-readable lines for the overlay, covering the window since the last reset. */
+    public List<String> summary() {
+        List<String> lines = new ArrayList<>();
+        lines.add(line("frame", frameTimes));
+        lines.add(line("compute", computeTimes));
+        for (Map.Entry<String, LatencyHistogram> entry : drawTimes.entrySet()) {
+            lines.add(line("  " + entry.getKey(), entry.getValue()));
+        }
+        lines.add(String.format("skipped %d  dropped %d", skipped, droppedFrames - droppedAtReset));
+        lines.add(Double.isNaN(allocationRate) ? "alloc n/a"
+                : String.format("alloc %.1f MB/s", allocationRate / (1 << 20)));
+        if (threads != null) {
+            lines.add(String.format("pulse alloc %d B  max %d B", pulseAllocated, maxPulseAllocated));
+        }
+        lines.add("kernels " + Kernels.active().getName() + "  quality " + quality.getLabel());
+        return lines;
+    }
+
+    private static String line(String name, LatencyHistogram h) {
+        return String.format("%-12s p50 %6.2f  p99 %6.2f ms", name,
+                h.percentileNanos(0.50) / 1e6, h.percentileNanos(0.99) / 1e6);
+    }
+
+    private long currentThreadAllocated() {
+        return threads == null ? 0 : threads.getCurrentThreadAllocatedBytes();
+    }
+
+    /** Bytes per second allocated by all threads, compute worker included. */
+    private void sampleAllocationRate(long now) {
+        if (threads == null) return;
+        long total = 0;
+        for (long bytes : threads.getThreadAllocatedBytes(threads.getAllThreadIds())) {
+            if (bytes > 0) total += bytes;
+        }
+        if (allocationSampleBytes >= 0 && total >= allocationSampleBytes) {
+            allocationRate = (total - allocationSampleBytes) * 1e9 / (now - allocationSampleTime);
+        }
+        allocationSampleTime = now;
+        allocationSampleBytes = total;
+    }
+}
@@ -0,0 +1,41 @@
+package quantumbloom.ui;
+
+/**
+ * The span of time the heatmap shows, [from, to) from top to bottom. The
+ * Studio zooms and pans it; {@link FrameComputer} renders it from a
+ * {@link quantumbloom.core.DensityPyramid}, so any span costs about the same.
+ */
+public record HeatmapWindow(double from, double to) {
+
+    public static final double MIN_SPAN = 0.5;
+    public static final double MAX_SPAN = 1e7;
+
+    /** [0, span), as the heatmap opens. */
+    public static HeatmapWindow first(double span) {
+        return new HeatmapWindow(0, span);
+    }
+
+    public double span() {
+        return to - from;
+    }
+
+    /**
+     * Scaled by {@code factor} around the time {@code anchor}, which stays at the
+     * same place on screen, within [{@link #MIN_SPAN}, {@link #MAX_SPAN}] and t ≥ 0.
+     */
+    public HeatmapWindow zoom(double factor, double anchor) {
+        double span = Math.max(MIN_SPAN, Math.min(span() * factor, MAX_SPAN));
+        double start = anchor - (anchor - from) * span / span();
+        return at(start, span);
+    }
+
+    /** Moved later by {@code dt}, or earlier for negative values, but not before t = 0. */
+    public HeatmapWindow pan(double dt) {
+        return at(from + dt, span());
+    }
+
+    private static HeatmapWindow at(double from, double span) {
+        from = Math.max(0, from);
+        return new HeatmapWindow(from, from + span);
+    }
+}
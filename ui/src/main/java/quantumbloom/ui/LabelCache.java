@@ -0,0 +1,41 @@
+package quantumbloom.ui;
+
+import java.util.Locale;
+
+/**
+ * Text for a number shown with a fixed format, such as "ψ: %.2f". Labels for
+ * values in [-range, range] at the format's resolution are built once and
+ * reused, so redrawing an animated readout stops allocating after warm-up.
+ * FX thread only.
+ */
+final class LabelCache {
+
+    private final String format;
+    private final double resolution;
+    private final String[] labels;
+    private final int offset;
+
+    /**
+     * @param decimals decimal places of {@code format}; sets the cache resolution
+     */
+    LabelCache(String format, int decimals, double range) {
+        this.format = format;
+        this.resolution = Math.pow(10, decimals);
+        this.offset = (int) Math.ceil(range * resolution);
+        this.labels = new String[2 * offset + 1];
+    }
+
+    String of(double value) {
+        double scaled = Math.rint(value * resolution);
+        if (!(Math.abs(scaled) <= offset)) {
+            return String.format(Locale.getDefault(), format, value);
+        }
+        int index = (int) scaled + offset;
+        String label = labels[index];
+        if (label == null) {
+            label = String.format(Locale.getDefault(), format, (index - offset) / resolution);
+            labels[index] = label;
+        }
+        return label;
+    }
+}
@@ -0,0 +1,35 @@
+package quantumbloom.ui;
+
+import javafx.scene.paint.Color;
+import javafx.scene.paint.CycleMethod;
+import javafx.scene.paint.LinearGradient;
+import javafx.scene.paint.Paint;
+import javafx.scene.paint.Stop;
+import javafx.scene.text.Font;
+
+/**
+ * Colours, gradients and fonts of the Studio's canvases. Paints are immutable,
+ * so they are built once here instead of on every draw.
+ */
+final class Palette {
+
+    static final Color MAIN_BACKGROUND = Color.rgb(240, 230, 255);
+    static final Color PANEL = Color.rgb(255, 245, 230, 0.8);
+    static final Color OVERLAY = Color.rgb(255, 245, 230, 0.85);
+    static final Color GRID = Color.rgb(178, 102, 255, 0.2);
+    static final Color LABEL = Color.rgb(178, 102, 255);
+
+    static final Paint POTENTIAL = gradient(Color.rgb(178, 102, 255), Color.rgb(255, 128, 191));
+    static final Paint REAL = gradient(Color.rgb(102, 204, 204), Color.rgb(51, 153, 153));
+    static final Paint IMAGINARY = gradient(Color.rgb(204, 153, 255), Color.rgb(153, 102, 204));
+    static final Paint DENSITY = gradient(Color.rgb(255, 128, 191), Color.rgb(204, 102, 153));
+
+    static final Font LABEL_FONT = new Font("Verdana", 12);
+    static final Font STATS_FONT = Font.font("Monospaced", 11);
+
+    private Palette() { }
+
+    private static LinearGradient gradient(Color from, Color to) {
+        return new LinearGradient(0, 0, 1, 1, true, CycleMethod.NO_CYCLE, new Stop(0, from), new Stop(1, to));
+    }
+}
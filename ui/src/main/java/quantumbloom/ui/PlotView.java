@@ -0,0 +1,14 @@
+package quantumbloom.ui;
+
+/**
+ * The part of the x axis the main plot shows, [from, to], and how many screen
+ * pixels it spans. {@link FrameComputer} samples ψ for it with
+ * {@link quantumbloom.core.ViewSampler}.
+ */
+public record PlotView(double from, double to, int pixels) {
+
+    /** All of [-L, L] across {@code pixels}, as the plot shows it unzoomed. */
+    public static PlotView full(double L, int pixels) {
+        return new PlotView(-L, L, pixels);
+    }
+}
@@ -0,0 +1,35 @@
+package quantumbloom.ui;
+
+import javafx.scene.canvas.GraphicsContext;
+
+import java.util.Arrays;
+
+/**
+ * Reusable coordinate arrays for {@link GraphicsContext#strokePolyline}, so a
+ * curve is one draw call and, once the arrays have grown to the longest
+ * curve, no allocation. FX thread only.
+ */
+final class PolylineBuffer {
+
+    private double[] xs = new double[256], ys = new double[256];
+    private int size;
+
+    void clear() {
+        size = 0;
+    }
+
+    void add(double x, double y) {
+        if (size == xs.length) {
+            xs = Arrays.copyOf(xs, 2 * size);
+            ys = Arrays.copyOf(ys, 2 * size);
+        }
+        xs[size] = x;
+        ys[size] = y;
+        size++;
+    }
+
+    /** Strokes the points added since the last {@link #clear()} as one polyline. */
+    void stroke(GraphicsContext gc) {
+        if (size > 1) gc.strokePolyline(xs, ys, size);
+    }
+}
@@ -0,0 +1,54 @@
+package quantumbloom.ui;
+
+/**
+ * How much of a frame {@link FrameComputer} works out, from everything down to
+ * a coarse main plot. {@link QualityGovernor} steps between the levels as the
+ * compute time per frame rises and falls.
+ */
+public enum Quality {
+
+    /** Main plot at the sampling {@link quantumbloom.core.ViewSampler} asks for, every view every frame. */
+    FULL("full", Integer.MAX_VALUE, 1),
+    /** Main plot at most one sample per pixel. */
+    REDUCED("reduced", 1, 1),
+    /**
+     * Main plot one sample every two pixels; momentum, phase, ⟨x⟩ and heatmap
+     * only every {@link #secondaryInterval} frames, carried over in between.
+     */
+    MINIMAL("minimal", 0, 4);
+
+    private final String label;
+    private final int samplesPerPixel;
+    private final int secondaryInterval;
+
+    Quality(String label, int samplesPerPixel, int secondaryInterval) {
+        this.label = label;
+        this.samplesPerPixel = samplesPerPixel;
+        this.secondaryInterval = secondaryInterval;
+    }
+
+    public String getLabel() {
+        return label;
+    }
+
+    /** Upper bound on main-plot samples across {@code pixels} pixels. */
+    int maxSamples(int pixels) {
+        if (samplesPerPixel == Integer.MAX_VALUE) return Integer.MAX_VALUE;
+        return samplesPerPixel > 0 ? samplesPerPixel * pixels + 1 : pixels / 2 + 1;
+    }
+
+    /** Frames between recomputations of the secondary views; 1 means every frame. */
+    int secondaryInterval() {
+        return secondaryInterval;
+    }
+
+    /** One step cheaper, or this level if it is the cheapest. */
+    Quality lower() {
+        return this == FULL ? REDUCED : MINIMAL;
+    }
+
+    /** One step better, or this level if it is the best. */
+    Quality higher() {
+        return this == MINIMAL ? REDUCED : FULL;
+    }
+}
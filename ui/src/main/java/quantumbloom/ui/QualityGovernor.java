@@ -0,0 +1,67 @@
+package quantumbloom.ui;
+
+/**
+ * Picks the {@link Quality} of the next frame from the compute times of the
+ * previous ones.
+ *
+ * Compute times are smoothed per level. When the average over at least
+ * {@link #MIN_SAMPLES} frames exceeds the budget, quality drops one level;
+ * when it stays under {@link #RESTORE_FRACTION} of the budget for the hold
+ * time, quality goes back up one level. A level that proves too slow right
+ * after being restored doubles the hold, up to {@link #MAX_HOLD_NANOS}, so a
+ * machine that sits on the edge does not flip every few frames.
+ *
+ * Not thread-safe; {@link ComputePipeline} keeps one on its worker.
+ */
+final class QualityGovernor {
+
+    static final int MIN_SAMPLES = 5;
+    static final double SMOOTHING = 0.2;
+    static final double RESTORE_FRACTION = 0.5;
+    static final long MIN_HOLD_NANOS = 1_000_000_000L;
+    static final long MAX_HOLD_NANOS = 16_000_000_000L;
+
+    private final long budgetNanos;
+    private Quality level = Quality.FULL;
+    private double average;
+    private int samples;
+    private long changedAt;
+    private long hold = MIN_HOLD_NANOS;
+    private boolean restored;
+
+    /** @param budgetNanos compute time per frame above which quality is lowered */
+    QualityGovernor(long budgetNanos) {
+        this.budgetNanos = budgetNanos;
+    }
+
+    Quality level() {
+        return level;
+    }
+
+    /** Records the compute time of a frame made at {@link #level()}, finished at {@code now}. */
+    void record(long computeNanos, long now) {
+        average = samples == 0 ? computeNanos : average + SMOOTHING * (computeNanos - average);
+        samples++;
+        if (samples < MIN_SAMPLES) return;
+        if (average > budgetNanos && level != Quality.MINIMAL) {
+            if (restored && now - changedAt < 2 * hold) {
+                hold = Math.min(2 * hold, MAX_HOLD_NANOS);
+            }
+            change(level.lower(), now, false);
+        } else if (average < RESTORE_FRACTION * budgetNanos && level != Quality.FULL && now - changedAt >= hold) {
+            change(level.higher(), now, true);
+        } else if (restored && now - changedAt >= 4 * hold) {
+            // The restored level has held up; forget the back-off
+            hold = MIN_HOLD_NANOS;
+            restored = false;
+        }
+    }
+
+    private void change(Quality to, long now, boolean restoring) {
+        level = to;
+        changedAt = now;
+        restored = restoring;
+        average = 0;
+        samples = 0;
+    }
+}
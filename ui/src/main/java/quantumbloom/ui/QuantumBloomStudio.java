@@ -0,0 +1,1373 @@
+package quantumbloom.ui;
+
+import quantumbloom.core.CustomPotential;
+import quantumbloom.core.DensityImage2D;
+import quantumbloom.core.Kernels;
+import quantumbloom.core.QuantumSystem;
+import quantumbloom.core.StateSnapshot;
+import quantumbloom.core.Superposition;
+import quantumbloom.core.ViewSampler;
+
+import javafx.application.Application;
+import javafx.application.Platform;
+import javafx.geometry.Insets;
+import javafx.geometry.Pos;
+import javafx.scene.Scene;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.control.*;
+import javafx.scene.effect.DropShadow;
+import javafx.scene.image.PixelFormat;
+import javafx.scene.image.WritableImage;
+import javafx.scene.layout.*;
+import javafx.scene.paint.Color;
+import javafx.scene.text.Font;
+import javafx.stage.Stage;
+import javafx.animation.AnimationTimer;
+import javafx.animation.FadeTransition;
+import javafx.animation.KeyFrame;
+import javafx.animation.Timeline;
+import javafx.util.Duration;
+import javafx.stage.DirectoryChooser;
+import javafx.stage.FileChooser;
+import java.io.*;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.ServiceLoader;
+import java.util.Set;
+
+public class QuantumBloomStudio extends Application {
+
+    /** Length and frame rate of an export started from the Studio. */
+    private static final int EXPORT_SECONDS = 10, EXPORT_FPS = 30;
+    /** Grid points of ψ and V in a snapshot of a stationary state. */
+    private static final int SNAPSHOT_SAMPLES = 4096;
+    /** Largest trajectory recording, in bytes. */
+    private static final long MAX_RECORDING_BYTES = 4L << 30;
+    /** Time span of the heatmap when it opens or is reset. */
+    private static final double HEATMAP_TIME = 25.0;
+    /** Side of the 2D density image on the unzoomed main canvas, in canvas pixels. */
+    private static final int IMAGE_EXTENT = 280;
+
+    private Canvas mainCanvas, probCanvas, energyCanvas, momentumCanvas, phaseCanvas, expectationCanvas, heatmapCanvas;
+    private GraphicsContext mainGc, probGc, energyGc, momentumGc, phaseGc, expectationGc, heatmapGc;
+    private TextArea info, knowledgePanel, projectInfo;
+    private Slider nSlider, lengthSlider, weightSlider, speedSlider;
+    private Button playPauseButton, learnMoreButton, aboutButton, saveButton, loadButton, exportButton;
+    private ComboBox<String> systemComboBox;
+    private CheckBox gridToggle, statsToggle, simdToggle, recordToggle, planeToggle;
+    private Slider timelineSlider;
+    private Label timelineLabel;
+    /** Formula fields and parameter sliders, shown while the custom potential is selected. */
+    private VBox customControls, parameterSliders;
+    private TextField potentialField, initialStateField;
+    /** Parameter slider values not yet handed to the custom potential; applied once per pulse. */
+    private CustomPotential.Definition pendingDefinition;
+    private boolean isAnimating = false, showGrid = false, showPlane = false;
+    private final SimulationClock clock = new SimulationClock();
+    private AnimationTimer timer;
+    /** Frames recorded for the timeline, or null before the first recording. */
+    private TrajectoryRecorder recorder;
+    /** While scrubbing, {@link #frame} is this recorded frame and pipeline frames are ignored. */
+    private final FrameData replayFrame = new FrameData();
+    private boolean replaying = false, updatingTimeline = false;
+    /** The animation export in progress, or null; set and cleared on the FX thread. */
+    private AnimationExporter exporter;
+
+    // Quantum parameters
+    private int n = 1;
+    private double L = 10.0;
+    private final Map<String, QuantumSystem> systems = new LinkedHashMap<>();
+    private QuantumSystem system;
+    private double[] superpositionWeights = {1.0 / Math.sqrt(2), 1.0 / Math.sqrt(2)};
+    private final RenderScheduler scheduler = new RenderScheduler();
+    private ComputePipeline pipeline;
+    private FrameData frame;
+    private long shownGeneration = -1;
+    private double shownTime = Double.NaN;
+    private WritableImage heatmapImage, planeImage;
+    private int[] shownHeatmap;
+    private final FrameStats stats = new FrameStats();
+    private Canvas statsCanvas;
+    private Timeline statsRefresh;
+
+    // Interactive features
+    private double zoomFactor = 1.0;
+    private double panX = 0, panY = 0;
+    /** Per-column minima and maxima of the decimated main plot; grown to the plot width. */
+    private double[] columnMin = {}, columnMax = {};
+    private final PolylineBuffer polyline = new PolylineBuffer();
+    private PlotView view;
+    private final LabelCache markerLabels = new LabelCache("ψ: %.2f", 2, 10);
+    private double markerX = 0;
+    private boolean isDraggingMarker = false;
+    private HeatmapWindow heatmapWindow = HeatmapWindow.first(HEATMAP_TIME);
+    private double heatmapDragY;
+    private Label wavefunctionLabel;
+
+    @Override
+    public void start(Stage primaryStage) {
+        primaryStage.setTitle("Quantum Bloom Studio 🌟");
+
+        for (QuantumSystem s : ServiceLoader.load(QuantumSystem.class)) {
+            systems.put(s.getName(), s);
+        }
+        system = systems.values().iterator().next();
+
+        // Sidebar (Controls)
+        VBox sidebar = new VBox(10);
+        sidebar.setStyle("-fx-background-color: linear-gradient(#ff80bf, #cc99ff); -fx-padding: 15; -fx-border-color: #b266ff; -fx-border-width: 2; -fx-effect: dropshadow(gaussian, #b266ff, 15, 0.5, 0, 0); -fx-background-radius: 10; -fx-border-radius: 10;");
+        sidebar.setPrefWidth(250);
+
+        Label title = new Label("✨ Quantum Controls");
+        title.setFont(new Font("Verdana", 18));
+        title.setStyle("-fx-text-fill: #fff5e6; -fx-effect: dropshadow(gaussian, #66cccc, 10, 0, 0, 0);");
+
+        systemComboBox = new ComboBox<>();
+        systemComboBox.getItems().addAll(systems.keySet());
+        systemComboBox.setValue(system.getName());
+        styleComboBox(systemComboBox);
+        systemComboBox.setOnAction(e -> {
+            system = systems.getOrDefault(systemComboBox.getValue(), system);
+            setQuantumNumberRange(system.getMaxQuantumNumber());
+            nSlider.setDisable(!system.usesQuantumNumber());
+            weightSlider.setDisable(!usesWeights());
+            showCustomControls();
+            FadeTransition fade = new FadeTransition(Duration.millis(300), mainCanvas);
+            fade.setFromValue(0.1);
+            fade.setToValue(1.0);
+            fade.play();
+            scheduler.invalidate(RenderDependency.SYSTEM);
+            requestFrame();
+            info.appendText("\n🔄 Switched to " + system.getName());
+        });
+
+        Label nLabel = new Label("Quantum Number (n): 1");
+        nSlider = new Slider(1, 10, 1);
+        styleSlider(nSlider);
+        nSlider.valueProperty().addListener((obs, oldVal, newVal) -> {
+            n = newVal.intValue();
+            nLabel.setText("Quantum Number (n): " + n);
+            scheduler.invalidate(RenderDependency.QUANTUM_NUMBER);
+            requestFrame();
+            info.appendText("\n✨ Set n to " + n);
+        });
+
+        Label lengthLabel = new Label("Parameter (L/Scale): 10.0");
+        lengthSlider = new Slider(5, 20, 10);
+        styleSlider(lengthSlider);
+        lengthSlider.valueProperty().addListener((obs, oldVal, newVal) -> {
+            L = newVal.doubleValue();
+            lengthLabel.setText("Parameter (L/Scale): " + String.format("%.1f", L));
+            scheduler.invalidate(RenderDependency.LENGTH);
+            requestFrame();
+            info.appendText("\n📏 Set L/Scale to " + String.format("%.1f", L));
+        });
+
+        Label weightLabel = new Label("Superposition Weight: 0.5");
+        weightSlider = new Slider(0, 1, 0.5);
+        styleSlider(weightSlider);
+        weightSlider.setDisable(true);
+        weightSlider.valueProperty().addListener((obs, oldVal, newVal) -> {
+            double w = newVal.doubleValue();
+            superpositionWeights[0] = Math.sqrt(w);
+            superpositionWeights[1] = Math.sqrt(1 - w);
+            weightLabel.setText("Superposition Weight: " + String.format("%.2f", w));
+            scheduler.invalidate(RenderDependency.WEIGHTS);
+            requestFrame();
+            info.appendText("\n⚖️ Set superposition weights to " + String.format("%.2f, %.2f", superpositionWeights[0], superpositionWeights[1]));
+        });
+
+        potentialField = new TextField(CustomPotential.DEFAULT_POTENTIAL);
+        potentialField.setTooltip(new Tooltip("V(x) in x and named parameters; press Enter to apply"));
+        potentialField.setOnAction(e -> applyFormulas());
+        initialStateField = new TextField(CustomPotential.DEFAULT_INITIAL_STATE);
+        initialStateField.setTooltip(new Tooltip("ψ₀(x) at t = 0, normalised for you; press Enter to apply"));
+        initialStateField.setOnAction(e -> applyFormulas());
+        parameterSliders = new VBox(4);
+        customControls = new VBox(6, new Label("Potential V(x) ="), potentialField, new Label("Initial State ψ₀(x) ="), initialStateField, parameterSliders);
+        if (systems.get(CustomPotential.NAME) instanceof CustomPotential custom) buildParameterSliders(custom);
+        showCustomControls();
+
+        Label speedLabel = new Label("Simulation Speed: 1.00×");
+        speedSlider = new Slider(0.1, 5, 1);
+        styleSlider(speedSlider);
+        speedSlider.valueProperty().addListener((obs, oldVal, newVal) -> {
+            clock.setSpeed(newVal.doubleValue());
+            speedLabel.setText("Simulation Speed: " + String.format("%.2f×", clock.speed()));
+        });
+
+        recordToggle = new CheckBox("Record Trajectory");
+        recordToggle.setStyle("-fx-font-family: 'Verdana'; -fx-text-fill: #fff5e6;");
+        recordToggle.setTooltip(new Tooltip("Keep every shown frame so the timeline can scrub back through it"));
+        recordToggle.setOnAction(e -> toggleRecording(recordToggle.isSelected()));
+
+        timelineLabel = new Label("Timeline: nothing recorded");
+        timelineSlider = new Slider(0, 1, 0);
+        styleSlider(timelineSlider);
+        timelineSlider.setDisable(true);
+        timelineSlider.valueProperty().addListener((obs, oldVal, newVal) -> {
+            if (!updatingTimeline) scrubTo(newVal.doubleValue());
+        });
+
+        playPauseButton = new Button("Play Time Evolution");
+        styleButton(playPauseButton);
+        playPauseButton.setTooltip(new Tooltip("Animate the wavefunction over time"));
+        playPauseButton.setOnAction(e -> toggleAnimation());
+
+        gridToggle = new CheckBox("Show Gridlines");
+        gridToggle.setStyle("-fx-font-family: 'Verdana'; -fx-text-fill: #fff5e6;");
+        gridToggle.setOnAction(e -> {
+            showGrid = gridToggle.isSelected();
+            scheduler.invalidate(RenderDependency.GRID);
+            info.appendText(showGrid ? "\n📐 Enabled gridlines" : "\n📐 Disabled gridlines");
+        });
+
+        planeToggle = new CheckBox("2D View");
+        planeToggle.setStyle("-fx-font-family: 'Verdana'; -fx-text-fill: #fff5e6;");
+        planeToggle.setTooltip(new Tooltip("|ψ(x, y)|² of the system's two-dimensional counterpart"));
+        planeToggle.setOnAction(e -> {
+            showPlane = planeToggle.isSelected();
+            weightSlider.setDisable(!usesWeights());
+            scheduler.invalidate(RenderDependency.VIEW);
+            requestFrame();
+            if (!showPlane) {
+                info.appendText("\n📈 Back to the 1D plot");
+            } else if (system.isStationaryExpansion()) {
+                info.appendText("\n🟪 2D view: single levels show a degenerate pair, move the weight slider to turn its nodal lines");
+            } else {
+                info.appendText("\n🟪 " + system.getName() + " has no 2D counterpart; showing the 1D plot");
+            }
+        });
+
+        statsToggle = new CheckBox("Show Frame Stats");
+        statsToggle.setStyle("-fx-font-family: 'Verdana'; -fx-text-fill: #fff5e6;");
+        statsToggle.setOnAction(e -> toggleStats(statsToggle.isSelected()));
+
+        simdToggle = new CheckBox("SIMD Kernels");
+        simdToggle.setStyle("-fx-font-family: 'Verdana'; -fx-text-fill: #fff5e6;");
+        simdToggle.setSelected(Kernels.active() != Kernels.scalar());
+        simdToggle.setDisable(!Kernels.isVectorAvailable());
+        simdToggle.setTooltip(new Tooltip(Kernels.isVectorAvailable()
+                ? "Vector API kernels for the per-point loops"
+                : "Start with --add-modules jdk.incubator.vector to enable"));
+        simdToggle.setOnAction(e -> {
+            Kernels.setVectorEnabled(simdToggle.isSelected());
+            info.appendText("\n🧮 Using " + Kernels.active().getName() + " kernels");
+        });
+
+        learnMoreButton = new Button("Learn More! 📚");
+        styleButton(learnMoreButton);
+        learnMoreButton.setTooltip(new Tooltip("Discover quantum facts!"));
+        learnMoreButton.setOnAction(e -> displayQuantumKnowledge());
+
+        aboutButton = new Button("About Project 🌸");
+        styleButton(aboutButton);
+        aboutButton.setTooltip(new Tooltip("Learn about Quantum Bloom Studio"));
+        aboutButton.setOnAction(e -> displayProjectInfo());
+
+        saveButton = new Button("Save State 💾");
+        styleButton(saveButton);
+        saveButton.setTooltip(new Tooltip("Save current quantum state"));
+        saveButton.setOnAction(e -> saveQuantumState(primaryStage));
+
+        loadButton = new Button("Load State 📂");
+        styleButton(loadButton);
+        loadButton.setTooltip(new Tooltip("Load a saved quantum state"));
+        loadButton.setOnAction(e -> loadQuantumState(primaryStage));
+
+        exportButton = new Button("Export Animation 🎬");
+        styleButton(exportButton);
+        exportButton.setTooltip(new Tooltip("Render the next seconds of time evolution to image files"));
+        exportButton.setOnAction(e -> exportAnimation(primaryStage));
+
+        Button resetButton = new Button("Reset 🌟");
+        styleButton(resetButton);
+        resetButton.setTooltip(new Tooltip("Reset all parameters"));
+        resetButton.setOnAction(e -> {
+            systemComboBox.getSelectionModel().selectFirst();
+            nSlider.setValue(1);
+            lengthSlider.setValue(10);
+            weightSlider.setValue(0.5);
+            speedSlider.setValue(1);
+            zoomFactor = 1.0;
+            panX = 0;
+            panY = 0;
+            markerX = 0;
+            if (isAnimating) toggleAnimation();
+            clock.setTime(0);
+            scheduler.invalidateAll();
+            requestFrame();
+            info.appendText("\n🧹 Reset all parameters");
+        });
+
+        sidebar.getChildren().addAll(title, systemComboBox, nLabel, nSlider, lengthLabel, lengthSlider, weightLabel, weightSlider, customControls, speedLabel, speedSlider, playPauseButton, recordToggle, timelineLabel, timelineSlider, gridToggle, planeToggle, statsToggle, simdToggle, learnMoreButton, aboutButton, saveButton, loadButton, exportButton, resetButton);
+
+        // Main Canvas (Wavefunction)
+        mainCanvas = new Canvas(800, 300);
+        mainGc = mainCanvas.getGraphicsContext2D();
+        StackPane mainCanvasPane = new StackPane(mainCanvas);
+        mainCanvasPane.setStyle("-fx-background-color: #f0e6ff; -fx-border-color: #b266ff; -fx-border-width: 2; -fx-effect: dropshadow(gaussian, #b266ff, 15, 0.5, 0, 0); -fx-background-radius: 10; -fx-border-radius: 10;");
+
+        // Wavefunction value display
+        wavefunctionLabel = new Label("");
+        wavefunctionLabel.setStyle("-fx-font-family: 'Verdana'; -fx-text-fill: #66cccc; -fx-background-color: rgba(255, 245, 230, 0.8); -fx-padding: 5; -fx-background-radius: 5;");
+        StackPane.setAlignment(wavefunctionLabel, Pos.TOP_LEFT);
+        mainCanvasPane.getChildren().add(wavefunctionLabel);
+
+        // Frame stats overlay, refreshed four times a second while shown
+        statsCanvas = new Canvas(800, 300);
+        statsCanvas.setMouseTransparent(true);
+        statsCanvas.setVisible(false);
+        mainCanvasPane.getChildren().add(statsCanvas);
+        statsRefresh = new Timeline(new KeyFrame(Duration.millis(250), e -> drawStats()));
+        statsRefresh.setCycleCount(Timeline.INDEFINITE);
+
+        // Zoom and pan controls
+        mainCanvas.setOnScroll(e -> {
+            double delta = e.getDeltaY() > 0 ? 1.1 : 0.9;
+            zoomFactor *= delta;
+            zoomFactor = Math.max(0.5, Math.min(zoomFactor, 5.0));
+            scheduler.invalidate(RenderDependency.VIEW);
+            requestFrame();
+            info.appendText("\n🔎 Zoomed to " + String.format("%.2f", zoomFactor));
+        });
+
+        mainCanvas.setOnMousePressed(e -> {
+            if (e.isSecondaryButtonDown()) {
+                panX += e.getX();
+                panY += e.getY();
+            } else if (Math.abs(e.getX() - (50 + (markerX + L) * (750 - 50) / (2 * L))) < 10) {
+                isDraggingMarker = true;
+            }
+        });
+
+        mainCanvas.setOnMouseDragged(e -> {
+            if (e.isSecondaryButtonDown()) {
+                panX = e.getX() - panX;
+                panY = e.getY() - panY;
+                scheduler.invalidate(RenderDependency.VIEW);
+                requestFrame();
+                info.appendText("\n📍 Panned to (" + String.format("%.2f", panX) + ", " + String.format("%.2f", panY) + ")");
+            } else if (isDraggingMarker) {
+                markerX = (e.getX() - 50) * 2 * L / (750 - 50) - L;
+                markerX = Math.max(-L, Math.min(markerX, L));
+                scheduler.invalidate(RenderDependency.VIEW);
+            }
+        });
+
+        mainCanvas.setOnMouseReleased(e -> {
+            if (e.isSecondaryButtonDown()) {
+                panX = e.getX();
+                panY = e.getY();
+            }
+            isDraggingMarker = false;
+        });
+
+        mainCanvas.setOnMouseMoved(e -> {
+            double x = (e.getX() - 50) * 2 * L / (750 - 50) / zoomFactor - L + panX / zoomFactor;
+            double psi = computeWavefunctionAtX(x);
+            wavefunctionLabel.setText("x: " + String.format("%.2f", x) + ", ψ: " + String.format("%.2f", psi));
+            wavefunctionLabel.setVisible(true);
+        });
+        mainCanvas.setOnMouseExited(e -> wavefunctionLabel.setVisible(false));
+
+        // Right Panel (Graphs and Knowledge)
+        VBox rightPanel = new VBox(10);
+        rightPanel.setPrefWidth(250);
+        rightPanel.setStyle("-fx-background-color: linear-gradient(#cc99ff, #ff80bf); -fx-padding: 15; -fx-border-color: #b266ff; -fx-border-width: 2; -fx-background-radius: 10; -fx-border-radius: 10;");
+
+        Label energyLabel = new Label("⚡ Energy Levels");
+        styleLabel(energyLabel);
+
+        energyCanvas = new Canvas(200, 100);
+        energyGc = energyCanvas.getGraphicsContext2D();
+        StackPane energyPane = new StackPane(energyCanvas);
+        styleCanvasPane(energyPane);
+        energyCanvas.setOnMouseClicked(e -> {
+            if (!hasFrame()) return;
+            double y = e.getY();
+            for (int i = 1; i <= FrameData.ENERGY_LEVELS; i++) {
+                double energy = frame.energies[i - 1];
+                double ey = 90 - (energy * 20);
+                if (y >= ey && y <= ey + 10 && system.usesQuantumNumber()) {
+                    nSlider.setValue(i);
+                    info.appendText("\n⚡ Selected n=" + i);
+                }
+            }
+        });
+
+        Label probLabel = new Label("🌊 Probability Density");
+        styleLabel(probLabel);
+
+        probCanvas = new Canvas(200, 100);
+        probGc = probCanvas.getGraphicsContext2D();
+        StackPane probPane = new StackPane(probCanvas);
+        styleCanvasPane(probPane);
+
+        Label momentumLabel = new Label("🚀 Momentum Space");
+        styleLabel(momentumLabel);
+
+        momentumCanvas = new Canvas(200, 100);
+        momentumGc = momentumCanvas.getGraphicsContext2D();
+        StackPane momentumPane = new StackPane(momentumCanvas);
+        styleCanvasPane(momentumPane);
+
+        Label phaseLabel = new Label("🌐 Phase Plot");
+        styleLabel(phaseLabel);
+
+        phaseCanvas = new Canvas(200, 100);
+        phaseGc = phaseCanvas.getGraphicsContext2D();
+        StackPane phasePane = new StackPane(phaseCanvas);
+        styleCanvasPane(phasePane);
+
+        Label expectationLabel = new Label("📏 Expectation Value");
+        styleLabel(expectationLabel);
+
+        expectationCanvas = new Canvas(200, 100);
+        expectationGc = expectationCanvas.getGraphicsContext2D();
+        StackPane expectationPane = new StackPane(expectationCanvas);
+        styleCanvasPane(expectationPane);
+
+        Label heatmapLabel = new Label("🔥 Probability Heatmap");
+        styleLabel(heatmapLabel);
+
+        heatmapCanvas = new Canvas(200, 100);
+        heatmapGc = heatmapCanvas.getGraphicsContext2D();
+        StackPane heatmapPane = new StackPane(heatmapCanvas);
+        styleCanvasPane(heatmapPane);
+        // Scrolling zooms the time window around the pointer, dragging pans it, a double click resets it
+        heatmapCanvas.setOnScroll(e -> {
+            double anchor = heatmapWindow.from() + e.getY() / heatmapCanvas.getHeight() * heatmapWindow.span();
+            heatmapWindow = heatmapWindow.zoom(e.getDeltaY() > 0 ? 0.8 : 1.25, anchor);
+            requestFrame();
+            info.appendText(String.format("\n🔥 Heatmap over t = %.4g to %.4g", heatmapWindow.from(), heatmapWindow.to()));
+        });
+        heatmapCanvas.setOnMousePressed(e -> heatmapDragY = e.getY());
+        heatmapCanvas.setOnMouseDragged(e -> {
+            heatmapWindow = heatmapWindow.pan((heatmapDragY - e.getY()) / heatmapCanvas.getHeight() * heatmapWindow.span());
+            heatmapDragY = e.getY();
+            requestFrame();
+        });
+        heatmapCanvas.setOnMouseClicked(e -> {
+            if (e.getClickCount() == 2) {
+                heatmapWindow = HeatmapWindow.first(HEATMAP_TIME);
+                requestFrame();
+            }
+        });
+
+        info = new TextArea("Welcome to Quantum Bloom Studio 🌟\nExplore quantum wonders!");
+        info.setWrapText(true);
+        info.setPrefHeight(80);
+        info.setEditable(false);
+        info.setStyle("-fx-control-inner-background: rgba(255, 245, 230, 0.8); -fx-font-family: 'Verdana'; -fx-text-fill: #b266ff; -fx-background-radius: 5;");
+
+        Label knowledgeLabel = new Label("📖 Quantum Insights");
+        styleLabel(knowledgeLabel);
+
+        knowledgePanel = new TextArea("Click 'Learn More!' to see quantum facts in a dialog! 🌟");
+        knowledgePanel.setWrapText(true);
+        knowledgePanel.setPrefHeight(120);
+        knowledgePanel.setEditable(false);
+        knowledgePanel.setStyle("-fx-control-inner-background: rgba(255, 245, 230, 0.8); -fx-font-family: 'Verdana'; -fx-text-fill: #b266ff; -fx-background-radius: 5;");
+
+        Label projectLabel = new Label("ℹ️ About This Project");
+        styleLabel(projectLabel);
+
+        projectInfo = new TextArea("Click 'About Project' to see details in a dialog! 🌸");
+        projectInfo.setWrapText(true);
+        projectInfo.setPrefHeight(100);
+        projectInfo.setEditable(false);
+        projectInfo.setStyle("-fx-control-inner-background: rgba(255, 245, 230, 0.8); -fx-font-family: 'Verdana'; -fx-text-fill: #b266ff; -fx-background-radius: 5;");
+
+        rightPanel.getChildren().addAll(energyLabel, energyPane, probLabel, probPane, momentumLabel, momentumPane, phaseLabel, phasePane, expectationLabel, expectationPane, heatmapLabel, heatmapPane, info, knowledgeLabel, knowledgePanel, projectLabel, projectInfo);
+
+        // Layout
+        BorderPane layout = new BorderPane();
+        layout.setLeft(sidebar);
+        layout.setCenter(mainCanvasPane);
+        layout.setRight(rightPanel);
+        layout.setStyle("-fx-background-color: #f0e6ff;");
+
+        // Physics runs on a worker thread; finished frames are picked up in showFrame()
+        pipeline = new ComputePipeline((int) heatmapCanvas.getWidth(), (int) heatmapCanvas.getHeight(), Platform::runLater, this::showFrame);
+        registerViews();
+        requestFrame();
+
+        // Animation timer; simulated time follows the pulse timestamps, not the pulse count
+        timer = new AnimationTimer() {
+            @Override
+            public void handle(long now) {
+                clock.advance(now);
+                requestFrame();
+            }
+        };
+
+        Scene scene = new Scene(layout, 1300, 900);
+        scheduler.setStats(stats);
+        scene.addPreLayoutPulseListener(this::applyPendingDefinition);
+        scheduler.attach(scene);
+        primaryStage.setScene(scene);
+        primaryStage.show();
+    }
+
+    @Override
+    public void stop() {
+        if (pipeline != null) pipeline.shutdown();
+        closeRecorder();
+    }
+
+    private void styleButton(Button button) {
+        button.setStyle("-fx-font-family: 'Verdana'; -fx-background-color: linear-gradient(#ff80bf, #66cccc); -fx-text-fill: #fff5e6; -fx-border-color: #b266ff; -fx-border-width: 1; -fx-background-radius: 15; -fx-border-radius: 15; -fx-effect: dropshadow(gaussian, #b266ff, 10, 0, 0, 0);");
+        button.setOnMouseEntered(e -> button.setStyle("-fx-font-family: 'Verdana'; -fx-background-color: linear-gradient(#ff99cc, #80d4d4); -fx-text-fill: #fff5e6; -fx-border-color: #b266ff; -fx-border-width: 1; -fx-background-radius: 15; -fx-border-radius: 15; -fx-effect: dropshadow(gaussian, #b266ff, 15, 0, 0, 0);"));
+        button.setOnMouseExited(e -> button.setStyle("-fx-font-family: 'Verdana'; -fx-background-color: linear-gradient(#ff80bf, #66cccc); -fx-text-fill: #fff5e6; -fx-border-color: #b266ff; -fx-border-width: 1; -fx-background-radius: 15; -fx-border-radius: 15; -fx-effect: dropshadow(gaussian, #b266ff, 10, 0, 0, 0);"));
+    }
+
+    private void styleSlider(Slider slider) {
+        slider.setShowTickLabels(true);
+        slider.setShowTickMarks(true);
+        slider.setMajorTickUnit(slider.getMax() == 10 ? 1 : 5);
+        slider.setMinorTickCount(0);
+        slider.setSnapToTicks(slider.getMax() == 10);
+        slider.setStyle("-fx-control-inner-background: #fff5e6; -fx-accent: #b266ff;");
+    }
+
+    /** Rescales the n slider; past 10 levels it drops the per-level ticks and snapping. */
+    private void setQuantumNumberRange(int max) {
+        if (nSlider.getMax() == max) return;
+        nSlider.setMax(max);
+        nSlider.setMajorTickUnit(max <= 10 ? 1 : max / 4.0);
+        nSlider.setSnapToTicks(max <= 10);
+        nSlider.setBlockIncrement(1);
+    }
+
+    private void styleComboBox(ComboBox<String> comboBox) {
+        comboBox.setStyle("-fx-font-family: 'Verdana'; -fx-background-color: #fff5e6; -fx-border-color: #b266ff; -fx-background-radius: 10; -fx-border-radius: 10;");
+    }
+
+    private void styleLabel(Label label) {
+        label.setFont(new Font("Verdana", 14));
+        label.setStyle("-fx-text-fill: #fff5e6;");
+    }
+
+    private void styleCanvasPane(StackPane pane) {
+        pane.setStyle("-fx-background-color: rgba(255, 245, 230, 0.8); -fx-border-color: #b266ff; -fx-border-width: 1; -fx-background-radius: 5; -fx-border-radius: 5;");
+    }
+
+    private void toggleStats(boolean show) {
+        statsCanvas.setVisible(show);
+        if (show) {
+            stats.reset();
+            drawStats();
+            statsRefresh.play();
+        } else {
+            statsRefresh.stop();
+        }
+    }
+
+    private void drawStats() {
+        GraphicsContext gc = statsCanvas.getGraphicsContext2D();
+        List<String> lines = stats.summary();
+        gc.clearRect(0, 0, statsCanvas.getWidth(), statsCanvas.getHeight());
+        double width = 290, height = 14 * lines.size() + 12;
+        double x = statsCanvas.getWidth() - width - 10, y = 10;
+        gc.setFill(Palette.OVERLAY);
+        gc.fillRoundRect(x, y, width, height, 10, 10);
+        gc.setStroke(Palette.LABEL);
+        gc.setLineWidth(1);
+        gc.strokeRoundRect(x, y, width, height, 10, 10);
+        gc.setFill(Palette.LABEL);
+        gc.setFont(Palette.STATS_FONT);
+        for (int i = 0; i < lines.size(); i++) {
+            gc.fillText(lines.get(i), x + 8, y + 18 + 14 * i);
+        }
+    }
+
+    private void toggleAnimation() {
+        if (isAnimating) {
+            timer.stop();
+            clock.pause();
+            playPauseButton.setText("Play Time Evolution");
+            info.appendText("\n⏸ Paused animation");
+        } else {
+            timer.start();
+            playPauseButton.setText("Pause Time Evolution");
+            info.appendText("\n▶️ Started animation");
+        }
+        isAnimating = !isAnimating;
+    }
+
+    private void saveQuantumState(Stage stage) {
+        FileChooser fileChooser = new FileChooser();
+        fileChooser.setTitle("Save Quantum State");
+        FileChooser.ExtensionFilter snapshots = new FileChooser.ExtensionFilter("State Snapshots", "*" + StateSnapshot.EXTENSION);
+        fileChooser.getExtensionFilters().addAll(snapshots,
+                new FileChooser.ExtensionFilter("Properties Files", "*.properties"));
+        File file = fileChooser.showSaveDialog(stage);
+        if (file == null) return;
+        // The name decides the format; without a known extension the chosen filter does
+        String name = file.getName();
+        if (name.endsWith(StateSnapshot.EXTENSION)) {
+            saveSnapshot(file);
+        } else if (!name.endsWith(".properties") && fileChooser.getSelectedExtensionFilter() == snapshots) {
+            saveSnapshot(new File(file.getPath() + StateSnapshot.EXTENSION));
+        } else {
+            Properties props = new Properties();
+            props.setProperty("system", system.getName());
+            props.setProperty("n", String.valueOf(n));
+            props.setProperty("L", String.valueOf(L));
+            props.setProperty("weight", String.valueOf(weightSlider.getValue()));
+            props.setProperty("time", String.valueOf(clock.time()));
+            props.setProperty("speed", String.valueOf(clock.speed()));
+            props.setProperty("showGrid", String.valueOf(showGrid));
+            if (system instanceof CustomPotential custom) {
+                props.setProperty("potential", custom.getDefinition().potential());
+                props.setProperty("initialState", custom.getDefinition().initialState());
+                for (String parameter : custom.getParameters()) {
+                    props.setProperty("parameter." + parameter, String.valueOf(custom.getParameter(parameter)));
+                }
+            }
+            try (FileOutputStream out = new FileOutputStream(file)) {
+                props.store(out, "Quantum Bloom Studio State");
+                info.appendText("\n💾 Saved state to " + file.getName());
+            } catch (IOException ex) {
+                info.appendText("\n❌ Error saving state: " + ex.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Saves the full state, ψ included, as a binary snapshot. The worker captures
+     * its own copy of the system, which for a wave packet holds the propagated ψ.
+     */
+    private void saveSnapshot(File file) {
+        pipeline.snapshot(system.getName(), n, L, superpositionWeights, clock.time(), SNAPSHOT_SAMPLES)
+                .thenAcceptAsync(snapshot -> {
+                    try {
+                        snapshot.write(file.toPath());
+                    } catch (IOException ex) {
+                        throw new UncheckedIOException(ex);
+                    }
+                })
+                .whenComplete((done, ex) -> Platform.runLater(() -> info.appendText(ex == null
+                        ? "\n💾 Saved snapshot to " + file.getName()
+                        : "\n❌ Error saving snapshot: " + (ex.getCause() != null ? ex.getCause() : ex).getMessage())));
+    }
+
+    private void loadQuantumState(Stage stage) {
+        FileChooser fileChooser = new FileChooser();
+        fileChooser.setTitle("Load Quantum State");
+        fileChooser.getExtensionFilters().addAll(
+                new FileChooser.ExtensionFilter("Saved States", "*" + StateSnapshot.EXTENSION, "*.properties"),
+                new FileChooser.ExtensionFilter("State Snapshots", "*" + StateSnapshot.EXTENSION),
+                new FileChooser.ExtensionFilter("Properties Files", "*.properties"));
+        File file = fileChooser.showOpenDialog(stage);
+        if (file != null && StateSnapshot.isSnapshot(file.toPath())) {
+            loadSnapshot(file);
+        } else if (file != null) {
+            Properties props = new Properties();
+            try (FileInputStream in = new FileInputStream(file)) {
+                props.load(in);
+                String name = props.getProperty("system");
+                if (name != null && systems.containsKey(name)) {
+                    systemComboBox.setValue(name);
+                } else {
+                    systemComboBox.getSelectionModel().selectFirst();
+                }
+                nSlider.setValue(Double.parseDouble(props.getProperty("n", "1")));
+                lengthSlider.setValue(Double.parseDouble(props.getProperty("L", "10")));
+                weightSlider.setValue(Double.parseDouble(props.getProperty("weight", "0.5")));
+                clock.setTime(Double.parseDouble(props.getProperty("time", "0")));
+                speedSlider.setValue(Double.parseDouble(props.getProperty("speed", "1")));
+                showGrid = Boolean.parseBoolean(props.getProperty("showGrid", "false"));
+                gridToggle.setSelected(showGrid);
+                if (props.getProperty("potential") != null && systems.get(CustomPotential.NAME) instanceof CustomPotential custom) {
+                    Map<String, Double> values = new HashMap<>();
+                    for (String key : props.stringPropertyNames()) {
+                        if (key.startsWith("parameter.")) {
+                            values.put(key.substring("parameter.".length()), Double.parseDouble(props.getProperty(key)));
+                        }
+                    }
+                    applyDefinition(custom, new CustomPotential.Definition(props.getProperty("potential"),
+                            props.getProperty("initialState", CustomPotential.DEFAULT_INITIAL_STATE), values));
+                }
+                scheduler.invalidateAll();
+                requestFrame();
+                info.appendText("\n📂 Loaded state from " + file.getName());
+            } catch (IOException ex) {
+                info.appendText("\n❌ Error loading state: " + ex.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Loads a binary snapshot: a custom potential's formulas, parameters and time through the controls, then
+     * the saved ψ into both the FX thread's and the worker's copy of the system.
+     * A fixed superposition the Studio does not list yet is added to the list.
+     */
+    private void loadSnapshot(File file) {
+        try {
+            StateSnapshot snapshot = StateSnapshot.read(file.toPath());
+            QuantumSystem target = systems.get(snapshot.getSystem());
+            if (target == null) {
+                Superposition custom = snapshot.superposition(systems);
+                if (custom == null) {
+                    throw new IOException("unknown system '" + snapshot.getSystem() + "'");
+                }
+                systems.put(custom.getName(), custom);
+                systemComboBox.getItems().add(custom.getName());
+                target = custom;
+            }
+            if (target instanceof CustomPotential custom) {
+                if (snapshot.getDefinition() == null) {
+                    throw new IOException("it was saved without the custom potential's formulas");
+                }
+                if (!applyDefinition(custom, snapshot.getDefinition())) return;
+            }
+            systemComboBox.setValue(target.getName());
+            nSlider.setValue(snapshot.getN());
+            lengthSlider.setValue(snapshot.getL());
+            double[] weights = snapshot.getWeights();
+            if (weights.length > 0) weightSlider.setValue(weights[0] * weights[0]);
+            clock.setTime(snapshot.getTime());
+            snapshot.applyTo(system);
+            pipeline.restore(snapshot);
+            scheduler.invalidateAll();
+            requestFrame();
+            info.appendText("\n📂 Loaded snapshot from " + file.getName());
+        } catch (IOException | IllegalArgumentException ex) {
+            info.appendText("\n❌ Error loading snapshot: " + ex.getMessage());
+        }
+    }
+
+    /**
+     * Exports {@link #EXPORT_SECONDS} of animation from the current time and speed
+     * on a background thread; pressing the button again cancels it.
+     */
+    private void exportAnimation(Stage stage) {
+        if (exporter != null) {
+            exporter.cancel();
+            return;
+        }
+        ChoiceDialog<String> choice = new ChoiceDialog<>("PNG sequence", "PNG sequence", "Raw RGBA stream");
+        choice.setTitle("Export Animation");
+        choice.setHeaderText("Export " + EXPORT_SECONDS + " s at " + EXPORT_FPS + " fps from t = " + String.format("%.2f", clock.time()));
+        choice.setContentText("Format:");
+        String picked = choice.showAndWait().orElse(null);
+        if (picked == null) return;
+        DirectoryChooser chooser = new DirectoryChooser();
+        chooser.setTitle("Export Animation To");
+        File dir = chooser.showDialog(stage);
+        if (dir == null) return;
+
+        int frames = EXPORT_SECONDS * EXPORT_FPS;
+        AnimationExporter export = new AnimationExporter(system.getName(), n, L, superpositionWeights, clock.time(),
+                AnimationExporter.timeStep(clock.speed(), EXPORT_FPS), frames, EXPORT_FPS,
+                picked.startsWith("PNG") ? AnimationExporter.Format.PNG : AnimationExporter.Format.RGBA, dir.toPath());
+        if (system instanceof CustomPotential custom) export.define(custom.getDefinition());
+        exporter = export;
+        exportButton.setText("Cancel Export ⏹");
+        info.appendText("\n🎬 Exporting " + frames + " frames to " + dir.getName());
+        Thread thread = new Thread(() -> {
+            String result;
+            try {
+                int written = export.run(done -> {
+                    if (done % EXPORT_FPS == 0) {
+                        Platform.runLater(() -> exportButton.setText("Cancel Export ⏹ " + (100 * done / frames) + "%"));
+                    }
+                });
+                result = "\n🎬 Exported " + written + " frames to " + dir.getName();
+            } catch (IOException ex) {
+                result = "\n❌ Export failed: " + ex.getMessage();
+            } catch (InterruptedException ex) {
+                result = "\n❌ Export interrupted";
+            }
+            String message = result;
+            Platform.runLater(() -> {
+                exporter = null;
+                exportButton.setText("Export Animation 🎬");
+                info.appendText(message);
+            });
+        }, "animation-export");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    private void displayQuantumKnowledge() {
+        configureSystem();
+        String knowledge = system.getKnowledge();
+        Alert alert = new Alert(Alert.AlertType.INFORMATION);
+        alert.setTitle("Quantum Insights 📚");
+        alert.setHeaderText("Learn More About " + system.getName());
+        alert.setContentText(knowledge);
+        alert.getDialogPane().setStyle("-fx-font-family: 'Verdana'; -fx-background-color: #f0e6ff; -fx-text-fill: #b266ff;");
+        alert.showAndWait();
+        info.appendText("\n📚 Displayed quantum knowledge!");
+    }
+
+    private void displayProjectInfo() {
+        String projectDetails = "🌸 Quantum Bloom Studio 🌸\n" +
+                "Created on: June 13, 2025\n" +
+                "Purpose: A modern, interactive GUI to visualize quantum systems like the Particle in a Box, Quantum Harmonic Oscillator, and Superposition.\n" +
+                "Features:\n- Interactive wavefunction and probability plots\n- Multiple quantum systems\n- Educational insights with equations\n- Zoom and pan canvas\n- Save/load quantum states\n- Draggable marker for wavefunction values\n- Sleek, aesthetic design for all users\n" +
+                "Explore quantum mechanics with a touch of magic! ✨";
+        Alert alert = new Alert(Alert.AlertType.INFORMATION);
+        alert.setTitle("About Quantum Bloom Studio 🌸");
+        alert.setHeaderText("Project Information");
+        alert.setContentText(projectDetails);
+        alert.getDialogPane().setStyle("-fx-font-family: 'Verdana'; -fx-background-color: #f0e6ff; -fx-text-fill: #b266ff;");
+        alert.showAndWait();
+        info.appendText("\nℹ️ Displayed project info!");
+    }
+
+    /**
+     * Configures the FX thread's copy of the system, which only the Learn More
+     * text reads: everything drawn comes from the worker's frames, so the
+     * controls never solve a spectrum on the FX thread.
+     */
+    private void configureSystem() {
+        system.configure(n, L, superpositionWeights);
+    }
+
+    private void showCustomControls() {
+        boolean custom = system instanceof CustomPotential;
+        customControls.setVisible(custom);
+        customControls.setManaged(custom);
+    }
+
+    /** Compiles the typed formulas, keeping the values of parameters that are still used. */
+    private void applyFormulas() {
+        if (!(systems.get(CustomPotential.NAME) instanceof CustomPotential custom)) return;
+        CustomPotential.Definition definition = new CustomPotential.Definition(potentialField.getText(),
+                initialStateField.getText(), custom.getDefinition().values());
+        if (applyDefinition(custom, definition)) {
+            info.appendText("\n🧪 V(x) = " + definition.potential() + ", ψ₀(x) ∝ " + definition.initialState());
+        }
+    }
+
+    /**
+     * Switches the FX thread's custom potential to {@code definition}, then the
+     * fields, sliders and worker; a formula that does not parse is reported and
+     * changes nothing.
+     */
+    private boolean applyDefinition(CustomPotential custom, CustomPotential.Definition definition) {
+        pendingDefinition = null;
+        try {
+            custom.define(definition);
+        } catch (IllegalArgumentException ex) {
+            info.appendText("\n❌ " + ex.getMessage());
+            return false;
+        }
+        potentialField.setText(definition.potential());
+        initialStateField.setText(definition.initialState());
+        buildParameterSliders(custom);
+        definitionChanged(custom);
+        return true;
+    }
+
+    /** One slider per parameter of the formulas, symmetric around zero and wide enough for its value. */
+    private void buildParameterSliders(CustomPotential custom) {
+        parameterSliders.getChildren().clear();
+        for (String parameter : custom.getParameters()) {
+            double value = custom.getParameter(parameter);
+            double range = Math.max(5, Math.ceil(2 * Math.abs(value)));
+            Label label = new Label(String.format("%s = %.2f", parameter, value));
+            Slider slider = new Slider(-range, range, value);
+            styleSlider(slider);
+            slider.setMajorTickUnit(range);
+            slider.setSnapToTicks(false);
+            slider.valueProperty().addListener((obs, oldVal, newVal) -> {
+                label.setText(String.format("%s = %.2f", parameter, newVal.doubleValue()));
+                CustomPotential.Definition base = pendingDefinition != null ? pendingDefinition : custom.getDefinition();
+                pendingDefinition = base.with(parameter, newVal.doubleValue());
+                Platform.requestNextPulse();
+            });
+            parameterSliders.getChildren().addAll(label, slider);
+        }
+    }
+
+    /**
+     * Defines the slider values of the last pulse in one go, however many ticks
+     * the sliders made; compiling takes microseconds, the worker solves.
+     */
+    private void applyPendingDefinition() {
+        if (pendingDefinition == null || !(systems.get(CustomPotential.NAME) instanceof CustomPotential custom)) return;
+        custom.define(pendingDefinition);
+        pendingDefinition = null;
+        definitionChanged(custom);
+    }
+
+    /** Hands the definition to the worker and redraws everything that depends on V or ψ₀. */
+    private void definitionChanged(CustomPotential custom) {
+        pipeline.define(custom.getDefinition());
+        scheduler.invalidate(RenderDependency.SYSTEM);
+        requestFrame();
+    }
+
+    private double computeWavefunctionAtX(double x) {
+        return hasFrame() ? frame.magnitudeAt(x) : 0.0;
+    }
+
+    private void requestFrame() {
+        // Any live change leaves the recorded timeline
+        replaying = false;
+        // The 2D image gets about one point per screen pixel, up to the largest grid
+        int imageSize = showPlane ? (int) Math.min(DensityImage2D.MAX_SIZE, Math.ceil(IMAGE_EXTENT * zoomFactor)) : 0;
+        pipeline.submit(system.getName(), n, L, superpositionWeights, clock.time(), visibleView(), heatmapWindow, imageSize);
+    }
+
+    /**
+     * The part of [-L, L] visible through the current zoom and pan, and its width
+     * in screen pixels. While the view stays put the previous instance is reused.
+     */
+    private PlotView visibleView() {
+        // Canvas x of the screen edges, undoing translate(panX, panY) and scale(zoomFactor)
+        double left = Math.max(50, -panX / zoomFactor);
+        double right = Math.min(750, (mainCanvas.getWidth() - panX) / zoomFactor);
+        double from = -L, to = L;
+        int pixels = 0;
+        if (right > left) {
+            double scale = 2 * L / (750 - 50);
+            from = (left - 50) * scale - L;
+            to = (right - 50) * scale - L;
+            pixels = (int) Math.ceil((right - left) * zoomFactor);
+        }
+        if (view == null || view.from() != from || view.to() != to || view.pixels() != pixels) {
+            view = new PlotView(from, to, pixels);
+        }
+        return view;
+    }
+
+    /** Takes the newest computed frame and marks the views that show something new. */
+    private void showFrame() {
+        if (replaying) return;
+        frame = pipeline.latest();
+        if (frame.generation >= 0 && (frame.generation != shownGeneration || frame.time != shownTime)) {
+            stats.frameShown(frame.computeNanos, pipeline.droppedFrames(), frame.quality);
+        }
+        if (frame.generation != shownGeneration) {
+            scheduler.invalidate(RenderDependency.FRAME);
+        } else if (frame.time != shownTime) {
+            scheduler.invalidate(RenderDependency.TIME);
+        }
+        if (frame.heatmap != shownHeatmap) {
+            scheduler.invalidate(RenderDependency.HEATMAP);
+        }
+        shownGeneration = frame.generation;
+        shownTime = frame.time;
+        shownHeatmap = frame.heatmap;
+        if (recorder != null && recordToggle.isSelected() && frame.generation >= 0) {
+            record(frame);
+        }
+    }
+
+    /**
+     * Starts a new recording, dropping the previous one, or stops the current
+     * one: its file is deleted, but the recorded frames stay on the timeline.
+     */
+    private void toggleRecording(boolean on) {
+        if (!on) {
+            finishRecording();
+            info.appendText("\n⏹ Stopped recording");
+            return;
+        }
+        closeRecorder();
+        try {
+            recorder = new TrajectoryRecorder(Files.createTempFile("quantumbloom-trajectory", ".bin"), MAX_RECORDING_BYTES);
+            updateTimeline();
+            info.appendText("\n⏺ Recording trajectory");
+        } catch (IOException ex) {
+            recordToggle.setSelected(false);
+            info.appendText("\n❌ Cannot record: " + ex.getMessage());
+        }
+    }
+
+    private void record(FrameData shown) {
+        try {
+            if (recorder.append(shown)) updateTimeline();
+        } catch (IOException ex) {
+            recordToggle.setSelected(false);
+            finishRecording();
+            info.appendText("\n❌ Recording stopped: " + ex.getMessage());
+        }
+    }
+
+    private void finishRecording() {
+        if (recorder == null) return;
+        try {
+            recorder.finish();
+        } catch (IOException ex) {
+            // Only closing the channel failed; the file is deleted regardless
+        }
+    }
+
+    private void closeRecorder() {
+        if (recorder == null) return;
+        try {
+            recorder.close();
+        } catch (IOException ex) {
+            // Only a temporary file; it is removed on exit at the latest
+        }
+        recorder = null;
+        replaying = false;
+    }
+
+    /** Fits the timeline slider to the recorded range without scrubbing. */
+    private void updateTimeline() {
+        int frames = recorder == null ? 0 : recorder.size();
+        updatingTimeline = true;
+        if (frames > 0) {
+            double first = recorder.timeAt(0), last = recorder.timeAt(frames - 1);
+            timelineSlider.setMin(first);
+            timelineSlider.setMax(Math.max(last, first + 1e-9));
+            if (!replaying) timelineSlider.setValue(last);
+        }
+        updatingTimeline = false;
+        timelineSlider.setDisable(frames < 2);
+        timelineLabel.setText(frames == 0 ? "Timeline: nothing recorded"
+                : String.format("Timeline: %d frames, %.1f MB", frames, recorder.bytes() / 1e6));
+    }
+
+    /**
+     * Shows the recorded frame at or before {@code t}, read from the recording
+     * instead of computed. Play or any control change returns to live frames
+     * from that time.
+     */
+    private void scrubTo(double t) {
+        if (recorder == null || recorder.size() == 0) return;
+        if (isAnimating) toggleAnimation();
+        recorder.load(recorder.indexAt(t), replayFrame);
+        replaying = true;
+        frame = replayFrame;
+        clock.setTime(replayFrame.time);
+        scheduler.invalidate(RenderDependency.FRAME);
+        timelineLabel.setText(String.format("Timeline: t = %.2f of %d frames", replayFrame.time, recorder.size()));
+    }
+
+    private boolean hasFrame() {
+        return frame != null && frame.generation >= 0;
+    }
+
+    /** Whether the weight slider applies: to weighted systems, and in 2D to the degenerate pair of a single level. */
+    private boolean usesWeights() {
+        return system.usesWeights() || showPlane && system.isStationaryExpansion();
+    }
+
+    /** Declares what each canvas depends on; the scheduler redraws only the affected ones. */
+    private void registerViews() {
+        Set<RenderDependency> frameAndGrid = EnumSet.of(RenderDependency.FRAME, RenderDependency.GRID);
+        Set<RenderDependency> animated = EnumSet.of(RenderDependency.FRAME, RenderDependency.TIME, RenderDependency.GRID);
+        Set<RenderDependency> main = EnumSet.copyOf(animated);
+        main.add(RenderDependency.VIEW);
+
+        scheduler.register("main", main, this::drawMainCanvas);
+        scheduler.register("energy", frameAndGrid, this::drawEnergyLevels);
+        scheduler.register("probability", animated, this::drawProbabilityDensity);
+        scheduler.register("momentum", animated, this::drawMomentumSpace);
+        scheduler.register("phase", animated, this::drawPhasePlot);
+        scheduler.register("expectation", frameAndGrid, this::drawExpectationValue);
+        scheduler.register("heatmap", EnumSet.of(RenderDependency.FRAME, RenderDependency.HEATMAP), this::drawHeatmap);
+    }
+
+
+    private void drawMainCanvas() {
+        mainGc.setFill(Palette.MAIN_BACKGROUND);
+        mainGc.fillRect(0, 0, mainCanvas.getWidth(), mainCanvas.getHeight());
+
+        // Apply zoom and pan
+        mainGc.save();
+        mainGc.translate(panX, panY);
+        mainGc.scale(zoomFactor, zoomFactor);
+
+        // Gridlines
+        if (showGrid) {
+            mainGc.setStroke(Palette.GRID);
+            for (int x = 50; x <= 750; x += 50) {
+                mainGc.strokeLine(x, 50, x, 250);
+            }
+            for (int y = 50; y <= 250; y += 50) {
+                mainGc.strokeLine(50, y, 750, y);
+            }
+        }
+
+        if (hasFrame() && frame.imageSize > 0) {
+            drawPlane();
+            mainGc.restore();
+            return;
+        }
+
+        if (!hasFrame()) {
+            mainGc.restore();
+            return;
+        }
+
+        // Draw potential
+        mainGc.setStroke(Palette.POTENTIAL);
+        mainGc.setLineWidth(2);
+        drawPotential();
+
+        // Wavefunction from the latest computed frame, sampled for the visible range
+        double yScale = 50;
+
+        // Wavefunction (Real: Teal, Imag: Violet)
+        mainGc.setStroke(Palette.REAL);
+        mainGc.setLineWidth(2 / zoomFactor);
+        drawViewCurve(frame.viewRe, yScale);
+        mainGc.setStroke(Palette.IMAGINARY);
+        drawViewCurve(frame.viewIm, yScale);
+
+        // Probability density (Magenta)
+        mainGc.setStroke(Palette.DENSITY);
+        drawViewCurve(frame.viewDensity, yScale);
+        mainGc.setLineWidth(2);
+
+        // Draw draggable marker
+        double markerCanvasX = 50 + (markerX + L) * (750 - 50) / (2 * L);
+        mainGc.setStroke(Color.RED);
+        mainGc.setLineWidth(2);
+        mainGc.strokeLine(markerCanvasX, 50, markerCanvasX, 250);
+        mainGc.setFill(Color.RED);
+        mainGc.fillOval(markerCanvasX - 5, 145, 10, 10);
+        double psiAtMarker = computeWavefunctionAtX(markerX);
+        mainGc.fillText(markerLabels.of(psiAtMarker), markerCanvasX + 5, 140);
+
+        // Labels
+        mainGc.setFill(Palette.LABEL);
+        mainGc.setFont(Palette.LABEL_FONT);
+        mainGc.fillText("Real(ψ)", 50, 30);
+        mainGc.fillText("Imag(ψ)", 100, 30);
+        mainGc.fillText("Probability", 150, 30);
+
+        mainGc.restore();
+    }
+
+    /**
+     * Draws one series of the frame's view samples in canvas coordinates as a
+     * single polyline. With more samples than screen pixels each pixel column
+     * becomes a vertical min-max stroke of the same polyline instead, so dense
+     * oscillations show as a solid envelope.
+     */
+    private void drawViewCurve(double[] values, double yScale) {
+        int count = frame.viewCount, columns = frame.viewPixels;
+        if (count < 2) return;
+        double xScale = (750 - 50) / (2 * frame.L);
+        double left = 50 + (frame.viewFrom + frame.L) * xScale, width = (frame.viewTo - frame.viewFrom) * xScale;
+        polyline.clear();
+        if (count > columns) {
+            if (columnMin.length < columns) {
+                columnMin = new double[columns];
+                columnMax = new double[columns];
+            }
+            ViewSampler.decimate(values, count, columns, columnMin, columnMax);
+            // Alternate up and down strokes so consecutive columns join without long diagonals
+            for (int c = 0; c < columns; c++) {
+                double x = left + (c + 0.5) * width / columns;
+                double first = (c & 1) == 0 ? columnMin[c] : columnMax[c];
+                double second = (c & 1) == 0 ? columnMax[c] : columnMin[c];
+                polyline.add(x, 150 - yScale * first);
+                polyline.add(x, 150 - yScale * second);
+            }
+        } else {
+            double dx = width / (count - 1);
+            for (int i = 0; i < count; i++) {
+                polyline.add(left + i * dx, 150 - yScale * values[i]);
+            }
+        }
+        polyline.stroke(mainGc);
+    }
+
+    /**
+     * Draws the frame's V(x) samples over the plotted range [-L, L], scaled so the
+     * largest finite value rises 61 px; hard walls just outside the range are
+     * drawn as vertical lines. Nothing is evaluated here: the worker samples V
+     * once per basis and L.
+     */
+    private void drawPotential() {
+        double[] v = frame.potential;
+        if (v == null) return;
+        double vMax = 0;
+        for (int i = 0; i < FrameData.SAMPLES; i++) {
+            if (Double.isFinite(v[i])) vMax = Math.max(vMax, Math.abs(v[i]));
+        }
+        double vScale = vMax > 0 ? 61.25 / vMax : 0;
+        double dx = (750 - 50) / (FrameData.SAMPLES - 1.0);
+        polyline.clear();
+        for (int i = 0; i < FrameData.SAMPLES; i++) {
+            polyline.add(50 + i * dx, Math.max(50, 250 - vScale * v[i]));
+        }
+        polyline.stroke(mainGc);
+        if (Double.isInfinite(v[FrameData.SAMPLES])) {
+            mainGc.strokeLine(50, 250, 50, 50);
+        }
+        if (Double.isInfinite(v[FrameData.SAMPLES + 1])) {
+            mainGc.strokeLine(750, 250, 750, 50);
+        }
+    }
+
+    private void drawEnergyLevels() {
+        energyGc.setFill(Palette.PANEL);
+        energyGc.fillRect(0, 0, energyCanvas.getWidth(), energyCanvas.getHeight());
+
+        if (showGrid) {
+            energyGc.setStroke(Palette.GRID);
+            for (int y = 10; y <= 90; y += 20) {
+                energyGc.strokeLine(40, y, 160, y);
+            }
+        }
+
+        if (!hasFrame()) return;
+        for (int i = 1; i <= FrameData.ENERGY_LEVELS; i++) {
+            double energy = frame.energies[i - 1];
+            double y = 90 - (energy * 20);
+            energyGc.setFill((frame.occupiedLevels & 1 << (i - 1)) != 0 ? Palette.DENSITY : Palette.REAL);
+            energyGc.fillRect(40, y, 120, 10);
+            energyGc.setFill(Palette.LABEL);
+            energyGc.fillText("n=" + i + " E=" + String.format("%.2f", energy), 10, y + 8);
+        }
+    }
+
+    /** Grid of a 200 × 100 side panel: vertical lines every 40 px, horizontal every 20 px. */
+    private void drawPanelGrid(GraphicsContext gc) {
+        gc.setStroke(Palette.GRID);
+        for (int x = 0; x <= 200; x += 40) {
+            gc.strokeLine(x, 0, x, 100);
+        }
+        for (int y = 0; y <= 100; y += 20) {
+            gc.strokeLine(0, y, 200, y);
+        }
+    }
+
+    /** {@code baseline - scale * values[i]} for the first {@link FrameData#SAMPLES} values, across {@code width}. */
+    private void strokeSamples(GraphicsContext gc, double[] values, double width, double baseline, double scale) {
+        double dx = width / (FrameData.SAMPLES - 1);
+        polyline.clear();
+        for (int i = 0; i < FrameData.SAMPLES; i++) {
+            polyline.add(i * dx, baseline - scale * values[i]);
+        }
+        polyline.stroke(gc);
+    }
+
+    private void drawProbabilityDensity() {
+        probGc.setFill(Palette.PANEL);
+        probGc.fillRect(0, 0, probCanvas.getWidth(), probCanvas.getHeight());
+
+        if (showGrid) {
+            drawPanelGrid(probGc);
+        }
+
+        if (!hasFrame()) return;
+        probGc.setStroke(Palette.DENSITY);
+        probGc.setLineWidth(2);
+        strokeSamples(probGc, frame.density, probCanvas.getWidth(), 80, 50);
+    }
+
+    private void drawMomentumSpace() {
+        momentumGc.setFill(Palette.PANEL);
+        momentumGc.fillRect(0, 0, momentumCanvas.getWidth(), momentumCanvas.getHeight());
+
+        if (showGrid) {
+            drawPanelGrid(momentumGc);
+        }
+
+        // |φ(p, t)|² for p in [-10, 10], scaled to its peak
+        if (!hasFrame()) return;
+        double peak = Math.max(frame.momentumPeak, 1e-12);
+        momentumGc.setStroke(Palette.REAL);
+        momentumGc.setLineWidth(2);
+        strokeSamples(momentumGc, frame.momentum, momentumCanvas.getWidth(), 90, 80 / peak);
+    }
+
+    private void drawPhasePlot() {
+        phaseGc.setFill(Palette.PANEL);
+        phaseGc.fillRect(0, 0, phaseCanvas.getWidth(), phaseCanvas.getHeight());
+
+        if (showGrid) {
+            drawPanelGrid(phaseGc);
+        }
+
+        phaseGc.setStroke(Palette.LABEL);
+        phaseGc.strokeLine(100, 10, 100, 90);
+        phaseGc.strokeLine(10, 50, 190, 50);
+
+        if (!hasFrame()) return;
+        double psiRealVal = frame.phaseRe, psiImagVal = frame.phaseIm;
+
+        double xPos = 100 + 50 * psiRealVal;
+        double yPos = 50 - 50 * psiImagVal;
+        phaseGc.setFill(Palette.IMAGINARY);
+        phaseGc.fillOval(xPos - 5, yPos - 5, 10, 10);
+    }
+
+    private void drawExpectationValue() {
+        expectationGc.setFill(Palette.PANEL);
+        expectationGc.fillRect(0, 0, expectationCanvas.getWidth(), expectationCanvas.getHeight());
+
+        if (showGrid) {
+            drawPanelGrid(expectationGc);
+        }
+
+        // The curve runs ahead of the current time, which needs a stationary expansion
+        if (!hasFrame() || frame.expectation == null) return;
+        expectationGc.setStroke(Palette.REAL);
+        expectationGc.setLineWidth(2);
+        strokeSamples(expectationGc, frame.expectation, expectationCanvas.getWidth(), 50, 10);
+    }
+
+    /** The frame's 2D density image, centred on the main canvas under the zoom and pan. */
+    private void drawPlane() {
+        int size = frame.imageSize;
+        if (planeImage == null || planeImage.getWidth() != size) {
+            planeImage = new WritableImage(size, size);
+        }
+        planeImage.getPixelWriter().setPixels(0, 0, size, size, PixelFormat.getIntArgbInstance(), frame.image, 0, size);
+        double left = (mainCanvas.getWidth() - IMAGE_EXTENT) / 2, top = (mainCanvas.getHeight() - IMAGE_EXTENT) / 2;
+        mainGc.drawImage(planeImage, left, top, IMAGE_EXTENT, IMAGE_EXTENT);
+        mainGc.setStroke(Palette.POTENTIAL);
+        mainGc.setLineWidth(2 / zoomFactor);
+        mainGc.strokeRect(left, top, IMAGE_EXTENT, IMAGE_EXTENT);
+        mainGc.setFill(Palette.LABEL);
+        mainGc.setFont(Palette.LABEL_FONT);
+        mainGc.fillText(frame.imageName, 50, 30);
+    }
+
+    private void drawHeatmap() {
+        int width = (int) heatmapCanvas.getWidth();
+        int height = (int) heatmapCanvas.getHeight();
+        if (!hasFrame() || frame.heatmap == null) {
+            heatmapGc.clearRect(0, 0, width, height);
+            heatmapGc.setFill(Palette.PANEL);
+            heatmapGc.fillRect(0, 0, width, height);
+            return;
+        }
+        if (heatmapImage == null || heatmapImage.getWidth() != width || heatmapImage.getHeight() != height) {
+            heatmapImage = new WritableImage(width, height);
+        }
+        // One pixel per (x, t) cell over the frame's time window, computed by the pipeline
+        int[] pixels = frame.heatmap;
+        heatmapImage.getPixelWriter().setPixels(0, 0, width, height, PixelFormat.getIntArgbInstance(), pixels, 0, width);
+        heatmapGc.clearRect(0, 0, width, height);
+        heatmapGc.drawImage(heatmapImage, 0, 0);
+        heatmapGc.setFill(Palette.LABEL);
+        heatmapGc.setFont(Palette.STATS_FONT);
+        heatmapGc.fillText(String.format("t %.4g", frame.heatmapFrom), 4, 12);
+        heatmapGc.fillText(String.format("t %.4g", frame.heatmapTo), 4, height - 4);
+    }
+
+    public static void main(String[] args) {
+        if (args.length > 0 && args[0].equals("--batch")) {
+            BatchRenderer.main(Arrays.copyOfRange(args, 1, args.length));
+            return;
+        }
+        if (args.length > 0 && args[0].equals("--export")) {
+            AnimationExporter.main(Arrays.copyOfRange(args, 1, args.length));
+            return;
+        }
+        launch(args);
+    }
+}
@@ -0,0 +1,20 @@
+package quantumbloom.ui;
+
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Inputs a view registered with {@link RenderScheduler} can depend on.
+ *
+ * {@link #TIME} and {@link #FRAME} are raised when a computed frame for a new
+ * time or a new set of parameters arrives from the {@link ComputePipeline},
+ * {@link #HEATMAP} when one brings a heatmap for another time window; the
+ * state inputs are raised directly by the controls.
+ */
+public enum RenderDependency {
+    TIME, FRAME, HEATMAP, SYSTEM, QUANTUM_NUMBER, LENGTH, WEIGHTS, VIEW, GRID;
+
+    /** The inputs that define the quantum state itself. */
+    public static final Set<RenderDependency> STATE = Collections.unmodifiableSet(EnumSet.of(SYSTEM, QUANTUM_NUMBER, LENGTH, WEIGHTS));
+}
@@ -0,0 +1,101 @@
+package quantumbloom.ui;
+
+import javafx.application.Platform;
+import javafx.scene.Scene;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Coalesces redraw requests so each canvas repaints at most once per JavaFX pulse.
+ *
+ * Every view registers the inputs it depends on. {@link #invalidate} marks only
+ * the views that depend on the changed input as dirty and asks for a pulse; the
+ * dirty views are then drawn once from a pre-layout pulse listener, however
+ * many slider, scroll or timer callbacks fired in between.
+ */
+public class RenderScheduler {
+
+    private static final class View {
+        final String name;
+        final Set<RenderDependency> dependsOn;
+        final Runnable draw;
+        boolean dirty = true;
+
+        View(String name, Set<RenderDependency> dependsOn, Runnable draw) {
+            this.name = name;
+            this.dependsOn = dependsOn;
+            this.draw = draw;
+        }
+    }
+
+    private final List<View> views = new ArrayList<>();
+    private boolean pulseRequested = false;
+    private FrameStats stats;
+
+    /** Registers a view; it starts out dirty and is drawn on the next pulse. */
+    public void register(String name, Set<RenderDependency> dependsOn, Runnable draw) {
+        views.add(new View(name, EnumSet.copyOf(dependsOn), draw));
+        requestPulse();
+    }
+
+    /** Times every rendered pulse and view draw from now on; null turns it off. */
+    public void setStats(FrameStats stats) {
+        this.stats = stats;
+    }
+
+    /** Renders dirty views from {@code scene}'s pulses. */
+    public void attach(Scene scene) {
+        scene.addPreLayoutPulseListener(this::render);
+    }
+
+    /** Marks every view that depends on {@code changed} as dirty. */
+    public void invalidate(RenderDependency changed) {
+        boolean any = false;
+        for (View view : views) {
+            if (view.dependsOn.contains(changed)) {
+                view.dirty = true;
+                any = true;
+            }
+        }
+        if (any) requestPulse();
+    }
+
+    public void invalidateAll() {
+        for (View view : views) {
+            view.dirty = true;
+        }
+        requestPulse();
+    }
+
+    private void requestPulse() {
+        if (!pulseRequested) {
+            pulseRequested = true;
+            Platform.requestNextPulse();
+        }
+    }
+
+    private void render() {
+        if (!pulseRequested) return;
+        pulseRequested = false;
+        if (stats == null) {
+            for (View view : views) {
+                if (view.dirty) {
+                    view.dirty = false;
+                    view.draw.run();
+                }
+            }
+            return;
+        }
+        stats.pulseStarted();
+        for (View view : views) {
+            if (view.dirty) {
+                view.dirty = false;
+                stats.drawView(view.name, view.draw);
+            }
+        }
+        stats.pulseFinished();
+    }
+}
@@ -0,0 +1,57 @@
+package quantumbloom.ui;
+
+/**
+ * Simulated time driven by the pulse timestamps of an
+ * {@link javafx.animation.AnimationTimer}, so the animation runs at the same
+ * speed at 60 Hz, at 144 Hz and when frames are slow.
+ *
+ * At speed 1 the clock advances {@link #UNITS_PER_SECOND} time units per real
+ * second. A gap between pulses longer than {@link #MAX_STEP_NANOS}, such as a
+ * stall, only advances it by that much, and the first pulse after
+ * {@link #pause()} does not advance it at all. FX thread only.
+ */
+final class SimulationClock {
+
+    /** Time units per second at speed 1; the old fixed step of 0.05 per pulse at 60 Hz. */
+    static final double UNITS_PER_SECOND = 3.0;
+    static final long MAX_STEP_NANOS = 100_000_000L;
+
+    private double time;
+    private double speed = 1.0;
+    private long lastPulse = -1;
+
+    /** Advances the clock to the pulse at {@code now} nanoseconds and returns the simulated time. */
+    double advance(long now) {
+        if (lastPulse >= 0) {
+            long elapsed = Math.min(Math.max(now - lastPulse, 0), MAX_STEP_NANOS);
+            time += UNITS_PER_SECOND * speed * elapsed / 1e9;
+        }
+        lastPulse = now;
+        return time;
+    }
+
+    /** Stops counting until the next {@link #advance}, which then only starts the clock again. */
+    void pause() {
+        lastPulse = -1;
+    }
+
+    double time() {
+        return time;
+    }
+
+    void setTime(double time) {
+        this.time = time;
+    }
+
+    double speed() {
+        return speed;
+    }
+
+    /** Multiplier on {@link #UNITS_PER_SECOND}; must be positive. */
+    void setSpeed(double speed) {
+        if (!(speed > 0)) {
+            throw new IllegalArgumentException("Simulation speed must be positive, got " + speed);
+        }
+        this.speed = speed;
+    }
+}
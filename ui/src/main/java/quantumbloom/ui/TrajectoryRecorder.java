@@ -0,0 +1,315 @@
+package quantumbloom.ui;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Append-only recording of shown frames in a memory-mapped file, indexed by
+ * time, so a timeline can jump to any recorded instant and redraw it without
+ * computing anything.
+ *
+ * The file grows in mapped segments of {@link #SEGMENT_BYTES}; a record never
+ * straddles two. Each record holds one {@link FrameData}'s time, energy levels,
+ * ψ, |ψ|², momentum density, phase probe and main-plot view samples, little-endian.
+ * The ⟨x⟩ curve, heatmap and V(x) only change with the state, so they are written
+ * again only when they differ from the previous record's, and every index
+ * entry points at the record that holds its current ones.
+ *
+ * {@link #load} fills a frame with bulk copies straight out of the mapping: no
+ * parsing and no system calls, so scrubbing costs what the memory copy does,
+ * even for states that took seconds to propagate. {@link #finish} removes the
+ * file once recording stops; the mapping keeps the frames readable. FX thread only.
+ */
+final class TrajectoryRecorder implements Closeable {
+
+    static final long SEGMENT_BYTES = 64L << 20;
+
+    private static final int HEADER_BYTES = 104 + FrameData.ENERGY_LEVELS * Double.BYTES;
+    private static final int STATIONARY = 1, HAS_EXPECTATION = 2, HAS_HEATMAP = 4, HAS_POTENTIAL = 8;
+
+    private final Path file;
+    private final FileChannel channel;
+    private final long maxBytes;
+    private final List<MappedByteBuffer> segments = new ArrayList<>();
+    /** Write position inside the last segment. */
+    private int position;
+
+    private double[] times = new double[1024];
+    private long[] offsets = new long[1024];
+    /** Offset of the record holding the ⟨x⟩ curve, heatmap and V(x) of each entry, -1 if it has none. */
+    private long[] secondaryOffsets = new long[1024];
+    private int size;
+    private boolean finished;
+
+    private double[] lastExpectation;
+    private int[] lastHeatmap;
+    private double[] lastPotential;
+    private long lastSecondary = -1;
+
+    // The secondary arrays of the record loaded last, shared by the frames that use them
+    private long loadedSecondary = -1;
+    private double[] loadedExpectation;
+    private int[] loadedHeatmap;
+    private double[] loadedPotential;
+
+    /**
+     * Creates or truncates {@code file}.
+     *
+     * @param maxBytes the recording stops growing at this size
+     */
+    TrajectoryRecorder(Path file, long maxBytes) throws IOException {
+        this.file = file;
+        this.maxBytes = maxBytes;
+        this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+    }
+
+    /** Recorded frames. */
+    int size() {
+        return size;
+    }
+
+    double timeAt(int index) {
+        return times[index];
+    }
+
+    /** Bytes of the file in use. */
+    long bytes() {
+        return segments.isEmpty() ? 0 : (segments.size() - 1) * SEGMENT_BYTES + position;
+    }
+
+    /**
+     * Appends {@code frame} if its time is after the last recorded one; frames
+     * for the same or an earlier time, such as a paused view being adjusted,
+     * are skipped so the index stays sorted.
+     *
+     * @return whether the frame was recorded
+     * @throws IOException if the file cannot grow or has reached its size limit
+     */
+    boolean append(FrameData frame) throws IOException {
+        if (finished) throw new IOException("The trajectory recording has finished");
+        if (size > 0 && !(frame.time > times[size - 1])) return false;
+        boolean secondary = frame.expectation != lastExpectation || frame.heatmap != lastHeatmap
+                || frame.potential != lastPotential;
+        int flags = (frame.stationary ? STATIONARY : 0);
+        int heatmapLength = 0;
+        long bytes = HEADER_BYTES + 4L * FrameData.SAMPLES * Double.BYTES + 3L * frame.viewCount * Double.BYTES;
+        if (secondary && frame.expectation != null) {
+            flags |= HAS_EXPECTATION;
+            bytes += (long) frame.expectation.length * Double.BYTES;
+        }
+        if (secondary && frame.heatmap != null) {
+            flags |= HAS_HEATMAP;
+            heatmapLength = frame.heatmap.length;
+            bytes += pad((long) heatmapLength * Integer.BYTES);
+        }
+        if (secondary && frame.potential != null) {
+            flags |= HAS_POTENTIAL;
+            bytes += (long) FrameData.POTENTIAL_SAMPLES * Double.BYTES;
+        }
+        if (bytes > SEGMENT_BYTES) {
+            throw new IOException("A frame of " + bytes + " bytes does not fit a trajectory segment");
+        }
+        long offset = reserve((int) bytes);
+        ByteBuffer record = segments.get(segments.size() - 1).slice(position, (int) bytes).order(ByteOrder.LITTLE_ENDIAN);
+        record.putDouble(frame.time).putDouble(frame.L).putDouble(frame.momentumPeak)
+                .putDouble(frame.phaseRe).putDouble(frame.phaseIm)
+                .putDouble(frame.viewFrom).putDouble(frame.viewTo)
+                .putDouble(frame.heatmapFrom).putDouble(frame.heatmapTo)
+                .putLong(frame.generation)
+                .putInt(frame.viewCount).putInt(frame.viewPixels).putInt(flags).putInt(heatmapLength)
+                .putInt(frame.expectation != null && secondary ? frame.expectation.length : 0).putInt(frame.occupiedLevels);
+        putDoubles(record, frame.energies, FrameData.ENERGY_LEVELS);
+        putDoubles(record, frame.psiRe, FrameData.SAMPLES);
+        putDoubles(record, frame.psiIm, FrameData.SAMPLES);
+        putDoubles(record, frame.density, FrameData.SAMPLES);
+        putDoubles(record, frame.momentum, FrameData.SAMPLES);
+        putDoubles(record, frame.viewRe, frame.viewCount);
+        putDoubles(record, frame.viewIm, frame.viewCount);
+        putDoubles(record, frame.viewDensity, frame.viewCount);
+        if ((flags & HAS_EXPECTATION) != 0) {
+            putDoubles(record, frame.expectation, frame.expectation.length);
+        }
+        if ((flags & HAS_HEATMAP) != 0) {
+            record.asIntBuffer().put(frame.heatmap);
+            record.position(record.position() + (int) pad((long) heatmapLength * Integer.BYTES));
+        }
+        if ((flags & HAS_POTENTIAL) != 0) {
+            putDoubles(record, frame.potential, FrameData.POTENTIAL_SAMPLES);
+        }
+        position += (int) bytes;
+
+        if (secondary) {
+            lastExpectation = frame.expectation;
+            lastHeatmap = frame.heatmap;
+            lastPotential = frame.potential;
+            lastSecondary = frame.expectation == null && frame.heatmap == null && frame.potential == null ? -1 : offset;
+        }
+        if (size == times.length) {
+            times = Arrays.copyOf(times, 2 * size);
+            offsets = Arrays.copyOf(offsets, 2 * size);
+            secondaryOffsets = Arrays.copyOf(secondaryOffsets, 2 * size);
+        }
+        times[size] = frame.time;
+        offsets[size] = offset;
+        secondaryOffsets[size] = lastSecondary;
+        size++;
+        return true;
+    }
+
+    /** The last frame recorded at or before {@code time}, or the first frame if all are later. */
+    int indexAt(double time) {
+        int index = Arrays.binarySearch(times, 0, size, time);
+        if (index >= 0) return index;
+        return Math.max(0, -index - 2);
+    }
+
+    /**
+     * Fills {@code frame} from record {@code index}. Its ⟨x⟩ curve, heatmap and V(x)
+     * arrays are shared with other loaded frames and must not be modified.
+     */
+    void load(int index, FrameData frame) {
+        ByteBuffer record = record(offsets[index]);
+        frame.time = record.getDouble();
+        frame.L = record.getDouble();
+        frame.momentumPeak = record.getDouble();
+        frame.phaseRe = record.getDouble();
+        frame.phaseIm = record.getDouble();
+        frame.viewFrom = record.getDouble();
+        frame.viewTo = record.getDouble();
+        frame.heatmapFrom = record.getDouble();
+        frame.heatmapTo = record.getDouble();
+        frame.generation = record.getLong();
+        int count = record.getInt();
+        frame.viewPixels = record.getInt();
+        int flags = record.getInt();
+        frame.occupiedLevels = record.getInt(100);
+        record.position(104);
+        getDoubles(record, frame.energies, FrameData.ENERGY_LEVELS);
+        frame.stationary = (flags & STATIONARY) != 0;
+        frame.quality = Quality.FULL;
+        frame.computeNanos = 0;
+        // 2D images are not recorded; the timeline replays the plots
+        frame.imageSize = 0;
+        getDoubles(record, frame.psiRe, FrameData.SAMPLES);
+        getDoubles(record, frame.psiIm, FrameData.SAMPLES);
+        getDoubles(record, frame.density, FrameData.SAMPLES);
+        getDoubles(record, frame.momentum, FrameData.SAMPLES);
+        if (frame.viewRe.length < count) {
+            frame.viewRe = new double[count];
+            frame.viewIm = new double[count];
+            frame.viewDensity = new double[count];
+        }
+        frame.viewCount = count;
+        getDoubles(record, frame.viewRe, count);
+        getDoubles(record, frame.viewIm, count);
+        getDoubles(record, frame.viewDensity, count);
+        loadSecondary(secondaryOffsets[index]);
+        frame.expectation = loadedExpectation;
+        frame.heatmap = loadedHeatmap;
+        frame.potential = loadedPotential;
+    }
+
+    /**
+     * Stops appending and deletes the file. The mapped segments outlive it, so
+     * {@link #load} keeps working until {@link #close}.
+     */
+    void finish() throws IOException {
+        if (finished) return;
+        finished = true;
+        try {
+            channel.close();
+        } finally {
+            delete();
+        }
+    }
+
+    /** Finishes the recording if needed and drops the mapping; the recorder cannot be used afterwards. */
+    @Override
+    public void close() throws IOException {
+        segments.clear();
+        finish();
+    }
+
+    private void delete() {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException ex) {
+            // Mapped files cannot be deleted on some platforms until the buffers are collected
+            file.toFile().deleteOnExit();
+        }
+    }
+
+    private void loadSecondary(long offset) {
+        if (offset == loadedSecondary) return;
+        loadedSecondary = offset;
+        loadedExpectation = null;
+        loadedHeatmap = null;
+        loadedPotential = null;
+        if (offset < 0) return;
+        ByteBuffer record = record(offset);
+        int count = record.getInt(80);
+        int flags = record.getInt(88), heatmapLength = record.getInt(92), expectationLength = record.getInt(96);
+        int at = HEADER_BYTES + (4 * FrameData.SAMPLES + 3 * count) * Double.BYTES;
+        if ((flags & HAS_EXPECTATION) != 0) {
+            loadedExpectation = new double[expectationLength];
+            record.position(at);
+            getDoubles(record, loadedExpectation, expectationLength);
+            at += expectationLength * Double.BYTES;
+        }
+        if ((flags & HAS_HEATMAP) != 0) {
+            loadedHeatmap = new int[heatmapLength];
+            record.slice(at, heatmapLength * Integer.BYTES).order(ByteOrder.LITTLE_ENDIAN).asIntBuffer().get(loadedHeatmap);
+            at += (int) pad((long) heatmapLength * Integer.BYTES);
+        }
+        if ((flags & HAS_POTENTIAL) != 0) {
+            loadedPotential = new double[FrameData.POTENTIAL_SAMPLES];
+            record.position(at);
+            getDoubles(record, loadedPotential, FrameData.POTENTIAL_SAMPLES);
+        }
+    }
+
+    /** The mapped bytes from {@code offset} to the end of its segment. */
+    private ByteBuffer record(long offset) {
+        MappedByteBuffer segment = segments.get((int) (offset / SEGMENT_BYTES));
+        int at = (int) (offset % SEGMENT_BYTES);
+        return segment.slice(at, segment.capacity() - at).order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    /** Room for {@code bytes} at {@link #position}, mapping a new segment when the current one is full. */
+    private long reserve(int bytes) throws IOException {
+        if (segments.isEmpty() || position + bytes > SEGMENT_BYTES) {
+            long start = segments.size() * SEGMENT_BYTES;
+            if (start + SEGMENT_BYTES > maxBytes) {
+                throw new IOException("Trajectory recording reached its limit of " + (maxBytes >> 20) + " MiB");
+            }
+            segments.add(channel.map(FileChannel.MapMode.READ_WRITE, start, SEGMENT_BYTES));
+            position = 0;
+        }
+        return (segments.size() - 1) * SEGMENT_BYTES + position;
+    }
+
+    private static void putDoubles(ByteBuffer record, double[] values, int count) {
+        record.asDoubleBuffer().put(values, 0, count);
+        record.position(record.position() + count * Double.BYTES);
+    }
+
+    private static void getDoubles(ByteBuffer record, double[] values, int count) {
+        record.asDoubleBuffer().get(values, 0, count);
+        record.position(record.position() + count * Double.BYTES);
+    }
+
+    private static long pad(long bytes) {
+        return (bytes + 7) & ~7L;
+    }
+}
@@ -0,0 +1,54 @@
+package quantumbloom.ui;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Lock-free triple buffer handing frames from one producer thread to one
+ * consumer thread.
+ *
+ * The producer fills {@link #writeSlot()} and calls {@link #publish()}; the
+ * consumer calls {@link #acquire()} to take the most recently published slot,
+ * which it owns until its next acquire. Neither side ever waits for the other,
+ * and frames published faster than they are consumed are simply overwritten.
+ */
+final class TripleBuffer<T> {
+
+    private static final int FRESH = 4;
+
+    private final Object[] slots = new Object[3];
+    private final AtomicInteger middle = new AtomicInteger(2);
+    private int writeIndex = 0;
+    private int readIndex = 1;
+
+    TripleBuffer(Supplier<T> factory) {
+        for (int i = 0; i < 3; i++) {
+            slots[i] = factory.get();
+        }
+    }
+
+    /** The slot the producer may fill. */
+    @SuppressWarnings("unchecked")
+    T writeSlot() {
+        return (T) slots[writeIndex];
+    }
+
+    /** Makes the filled write slot the latest frame and hands the producer a free slot. */
+    void publish() {
+        writeIndex = middle.getAndSet(writeIndex | FRESH) & 3;
+    }
+
+    /** Whether a frame newer than the consumer's current slot has been published. */
+    boolean hasFresh() {
+        return (middle.get() & FRESH) != 0;
+    }
+
+    /** The latest published frame; stays valid until the next call. */
+    @SuppressWarnings("unchecked")
+    T acquire() {
+        if (hasFresh()) {
+            readIndex = middle.getAndSet(readIndex) & 3;
+        }
+        return (T) slots[readIndex];
+    }
+}
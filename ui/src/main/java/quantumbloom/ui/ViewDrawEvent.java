@@ -0,0 +1,18 @@
+package quantumbloom.ui;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/** JFR event spanning one view's draw method in a pulse. */
+@Name("quantumbloom.ViewDraw")
+@Label("View Draw")
+@Category("Quantum Bloom")
+@StackTrace(false)
+final class ViewDrawEvent extends Event {
+
+    @Label("View")
+    String view;
+}
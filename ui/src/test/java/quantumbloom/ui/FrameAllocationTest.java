@@ -0,0 +1,110 @@
+package quantumbloom.ui;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.lang.management.ManagementFactory;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.ServiceLoader;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import quantumbloom.core.GridEvaluator;
+import quantumbloom.core.QuantumSystem;
+
+/**
+ * Steady-state allocation of the per-frame path: a {@link FrameComputer}
+ * filling a recycled {@link FrameData}, then the polylines and labels the
+ * Studio builds from it. Counted with the JVM's per-thread allocation counter
+ * after a warm-up long enough for the JIT to compile the loops, and with the
+ * SIMD kernels to intrinsify them. The quietest of several rounds must
+ * allocate nothing: a one-off such as a deoptimisation passes, steady churn
+ * does not.
+ */
+class FrameAllocationTest {
+
+    private static final double L = 10;
+    private static final double DT = 1 / 60.0;
+    /** Frames before the first measurement, long enough for C2 to compile the shared kernels. */
+    private static final int JIT_FRAMES = 5000;
+    /** Frames per system and quality before measuring, for its own code and caches. */
+    private static final int WARM_UP_FRAMES = 1000;
+    private static final int ROUNDS = 5, ROUND_FRAMES = 200;
+
+    private com.sun.management.ThreadMXBean threads;
+    private GridEvaluator grid;
+    private FrameComputer computer;
+    private final FrameData frame = new FrameData();
+    private final PolylineBuffer polyline = new PolylineBuffer();
+    private final LabelCache labels = new LabelCache("ψ: %.2f", 2, 10);
+    private final PlotView view = PlotView.full(L, 700);
+    private double time;
+
+    @BeforeEach
+    void setUp() {
+        assumeTrue(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean,
+                "no per-thread allocation counter");
+        threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        assumeTrue(threads.isThreadAllocatedMemorySupported(), "no per-thread allocation counter");
+        threads.setThreadAllocatedMemoryEnabled(true);
+        // With one worker every row runs on the calling thread, where the counter looks
+        grid = new GridEvaluator(1);
+        computer = new FrameComputer(grid, 320, 160, 25.0);
+        for (int i = -1000; i <= 1000; i++) {
+            labels.of(i / 100.0);
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        grid.shutdown();
+    }
+
+    @Test
+    void steadyStateFramesDoNotAllocate() {
+        double[] weights = {Math.sqrt(0.5), Math.sqrt(0.5)};
+        Map<String, Long> allocating = new LinkedHashMap<>();
+        QuantumSystem first = ServiceLoader.load(QuantumSystem.class).iterator().next();
+        QuantumSystem warm = computer.configure(first.getName(), 3, L, weights);
+        for (int i = 0; i < JIT_FRAMES; i++) {
+            frame(warm, Quality.FULL);
+        }
+        for (QuantumSystem listed : ServiceLoader.load(QuantumSystem.class)) {
+            QuantumSystem s = computer.configure(listed.getName(), 3, L, weights);
+            for (Quality quality : Quality.values()) {
+                for (int i = 0; i < WARM_UP_FRAMES; i++) {
+                    frame(s, quality);
+                }
+                long least = Long.MAX_VALUE;
+                for (int round = 0; round < ROUNDS; round++) {
+                    long before = threads.getCurrentThreadAllocatedBytes();
+                    for (int i = 0; i < ROUND_FRAMES; i++) {
+                        frame(s, quality);
+                    }
+                    least = Math.min(least, threads.getCurrentThreadAllocatedBytes() - before);
+                }
+                if (least > 0) allocating.put(s.getName() + " at " + quality, least / ROUND_FRAMES);
+            }
+        }
+        assertEquals(Map.of(), allocating, "bytes per frame");
+    }
+
+    /** One animation frame: compute, then build the main curves and the marker label as the Studio does. */
+    private void frame(QuantumSystem s, Quality quality) {
+        time += DT;
+        computer.compute(s, L, time, view, quality, frame, () -> false);
+        double dx = 700.0 / (frame.viewCount - 1);
+        polyline.clear();
+        for (int i = 0; i < frame.viewCount; i++) {
+            polyline.add(50 + i * dx, 150 - 50 * frame.viewDensity[i]);
+        }
+        polyline.clear();
+        for (int i = 0; i < FrameData.POTENTIAL_SAMPLES - 2; i++) {
+            polyline.add(50 + i * 3.5, 250 - frame.potential[i]);
+        }
+        labels.of(frame.magnitudeAt(0.3 * L));
+    }
+}